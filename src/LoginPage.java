@@ -1,4 +1,6 @@
 import admin.DashboardPage;
+import admin.Navigator;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import finance.FinanceDashboardPage;
 import java.awt.*;
@@ -213,35 +215,19 @@ protected void initUI() {
         }
 
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             User user = dbHelper.validateUser(username, password);
             if (user != null) {
                 if (User.ROLE_ADMINISTRATOR.equals(user.getRole())) {
-                    dispose();
-                    SwingUtilities.invokeLater(() -> {
-                        DashboardPage dashboard = new DashboardPage(user);
-                        dashboard.setVisible(true);
-                    });
+                    Navigator.open(this, user, DashboardPage.class, DashboardPage::new);
                 } else if (User.ROLE_INVENTORY_MANAGER.equals(user.getRole())) {
-                    dispose();
-                    SwingUtilities.invokeLater(() -> {
-                        new inv.InventoryDashboardPage(user).setVisible(true);
-                    });
+                    Navigator.open(this, user, inv.InventoryDashboardPage.class, inv.InventoryDashboardPage::new);
                 } else if (User.ROLE_PURCHASE_MANAGER.equals(user.getRole())) {
-                    dispose();
-                    SwingUtilities.invokeLater(() -> {
-                        new PurchaseDashboardPage(user).setVisible(true);
-                    });
+                    Navigator.open(this, user, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
                 } else if (User.ROLE_FINANCE_MANAGER.equals(user.getRole())) {
-                    dispose();
-                    SwingUtilities.invokeLater(() -> {
-                        new FinanceDashboardPage(user).setVisible(true);
-                    });
+                    Navigator.open(this, user, FinanceDashboardPage.class, FinanceDashboardPage::new);
                 } else if (User.ROLE_SALES_MANAGER.equals(user.getRole())) {
-                    dispose();
-                    SwingUtilities.invokeLater(() -> {
-                        new SalesDashboardPage(user).setVisible(true);
-                    });
+                    Navigator.open(this, user, SalesDashboardPage.class, SalesDashboardPage::new);
                 } else {
                     JOptionPane.showMessageDialog(this,
                             "Welcome " + user.getUsername() + "!\nRole: " + user.getRole() + "\nThis role does not have a dashboard yet.",
@@ -334,6 +320,7 @@ private void showForgotPasswordDialog() {
 }
 
     public static void main(String[] args) {
+        DatabaseContext.open();
         SwingUtilities.invokeLater(LoginPage::new);
     }
 }
\ No newline at end of file
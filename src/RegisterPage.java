@@ -1,3 +1,4 @@
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.awt.event.FocusAdapter;
@@ -24,7 +25,7 @@ public class RegisterPage extends UIBase {
 
     public RegisterPage() {
         super(TITLE);
-        dbHelper = new DatabaseHelper();
+        dbHelper = DatabaseContext.db();
     }
 
     private static void addPlaceholderStyle(JTextComponent textComponent, String placeholder, Color placeholderColor, Color defaultForegroundColor) {
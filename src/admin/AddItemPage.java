@@ -2,6 +2,7 @@ package admin;
 
 import models.Item;
 import models.User;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 
 import javax.swing.*;
@@ -142,7 +143,7 @@ public class AddItemPage extends UIBase {
                 return;
             }
 
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             Item newItem = new Item();
             newItem.setItemName(itemName);
             newItem.setSupplierId(supplierId);
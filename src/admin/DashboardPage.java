@@ -160,6 +160,7 @@ public class DashboardPage extends UIBase {
             JOptionPane.QUESTION_MESSAGE
     );
     if (response == JOptionPane.YES_OPTION) {
+        Navigator.endSession();
         dispose();
         SwingUtilities.invokeLater(() -> {
             try {
@@ -348,83 +349,35 @@ public class DashboardPage extends UIBase {
     }
     
     private void navigateToManageUsers() {
-        setVisible(false);
-        
-        SwingUtilities.invokeLater(() -> {
-            ManageUsersPage manageUsersPage = new ManageUsersPage(currentUser);
-            manageUsersPage.setVisible(true);
-        });
-        
-        dispose();
+        Navigator.open(this, currentUser, ManageUsersPage.class, ManageUsersPage::new);
     }
     
     private void navigateToManageItems() {
-        setVisible(false);
-        
-        SwingUtilities.invokeLater(() -> {
-            ManageItemsPage manageItemsPage = new ManageItemsPage(currentUser);
-            manageItemsPage.setVisible(true);
-        });
-        
-        dispose();
+        Navigator.open(this, currentUser, ManageItemsPage.class, ManageItemsPage::new);
     }
 
     private void navigateToPurchaseRequisitions() {
-        setVisible(false);
-        
-        SwingUtilities.invokeLater(() -> {
-            PurchaseRequisitionsPage requisitionsPage = new PurchaseRequisitionsPage(currentUser);
-            requisitionsPage.setVisible(true);
-        });
-        
-        dispose();
+        Navigator.open(this, currentUser, PurchaseRequisitionsPage.class, PurchaseRequisitionsPage::new);
     }
 
     private void navigateToPurchaseOrders() {
-        setVisible(false);
-        
-        SwingUtilities.invokeLater(() -> {
-            PurchaseOrdersPage ordersPage = new PurchaseOrdersPage(currentUser);
-            ordersPage.setVisible(true);
-        });
-        
-        dispose();
+        Navigator.open(this, currentUser, PurchaseOrdersPage.class, PurchaseOrdersPage::new);
     }
     private void navigateToStockReports() {
-        setVisible(false);
-
-        SwingUtilities.invokeLater(() -> {
-            StockReportsPage stockReportsPage = new StockReportsPage(currentUser);
-            stockReportsPage.setVisible(true);
-        });
-
-        dispose();
+        Navigator.open(this, currentUser, StockReportsPage.class, StockReportsPage::new);
     }
 
     private void navigateToFinancialReports() {
-        setVisible(false);
-        SwingUtilities.invokeLater(() -> {
-            FinancialReportsPage financialReportsPage = new FinancialReportsPage(currentUser);
-            financialReportsPage.setVisible(true);
-        });
-        dispose();
+        Navigator.open(this, currentUser, FinancialReportsPage.class, FinancialReportsPage::new);
     }
 
 
     private void navigateToSystemLogs() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SystemLogsPage page = new SystemLogsPage(currentUser);
-            page.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SystemLogsPage.class, SystemLogsPage::new);
     }
 
     private void navigateToMyProfile() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            MyProfilePage profilePage = new MyProfilePage(currentUser);
-            profilePage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, MyProfilePage.class, MyProfilePage::new);
     }
 
     
@@ -2,6 +2,7 @@ package admin;
 
 import models.Item;
 import models.User;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 
 import javax.swing.*;
@@ -22,7 +23,7 @@ public class EditItemPage extends UIBase {
         
         try {
             if (itemToEdit != null) {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 Item freshItem = dbHelper.getItemByCode(itemToEdit.getItemCode());
                 
                 
@@ -169,7 +170,7 @@ public class EditItemPage extends UIBase {
                 return;
             }
 
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             Item updatedItem = new Item(itemCode, itemName, supplierId);
             dbHelper.updateItem(updatedItem);
 
@@ -1,6 +1,6 @@
 package admin;
 
-import database.DatabaseHelper;
+import database.DatabaseContext;
 import models.Financial;
 import models.User;
 
@@ -9,7 +9,6 @@ import javax.swing.border.TitledBorder;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.io.IOException;
 import java.util.List;
 import java.text.NumberFormat;
 import java.util.ArrayList;
@@ -21,7 +20,7 @@ public class FinancialReportsPage extends UIBase {
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private JPanel statsPanel;
-    private List<Financial> financialList;
+    private List<Financial> financialList = new ArrayList<>();
     private DefaultTableModel tableModel;
     private static final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("en", "US"));
     private static final String[] TABLE_COLUMNS = {
@@ -43,24 +42,11 @@ public class FinancialReportsPage extends UIBase {
     }
 
     private void loadFinancialData() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            financialList = dbHelper.getAllFinancialReports();
-
-            if (financialList == null) {
-                financialList = new ArrayList<>();
-            }
-
+        loader().load("financial data", () -> DatabaseContext.db().getAllFinancialReports(), rows -> {
+            financialList = rows != null ? rows : new ArrayList<>();
             updateTable(financialList);
             updateStats(financialList);
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading financial data: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        });
     }
 
     @Override
@@ -76,8 +62,7 @@ public class FinancialReportsPage extends UIBase {
         backButton.setFont(new Font("SansSerif", Font.BOLD, 12));
         backButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         backButton.addActionListener(e -> {
-            dispose();
-            new DashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
         });
         backButtonPanel.add(backButton);
         mainPanel.add(backButtonPanel, BorderLayout.NORTH);
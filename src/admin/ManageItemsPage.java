@@ -12,6 +12,7 @@ import java.util.List;
 import models.Item;
 import models.User;
 import models.SystemLog;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 
 public class ManageItemsPage extends UIBase {
@@ -19,7 +20,7 @@ public class ManageItemsPage extends UIBase {
     private final User currentUser;
     private JTable itemsTable;
     private DefaultTableModel tableModel;
-    private List<Item> itemsList;
+    private List<Item> itemsList = new ArrayList<>();
     
     public ManageItemsPage(User user) {
         super("Manage Items");
@@ -35,30 +36,10 @@ public class ManageItemsPage extends UIBase {
     }
 
     public void loadItems() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            itemsList = dbHelper.getAllItems();
-            
-            if (itemsList == null) {
-                itemsList = new ArrayList<>();
-            } else {
-                filterItems(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            itemsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading items: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            itemsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("items", () -> DatabaseContext.db().getAllItems(), rows -> {
+            itemsList = rows != null ? rows : new ArrayList<>();
+            filterItems(null);
+        });
     }
 
     private void filterItems(String supplierId) {
@@ -362,7 +343,7 @@ public class ManageItemsPage extends UIBase {
                     return;
                 }
 
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 List<Item> allItems = dbHelper.getAllItems();
                 
                 
@@ -379,7 +360,7 @@ public class ManageItemsPage extends UIBase {
                 }
 
                 
-                String newItemCode = "ITEM" + String.format("%03d", allItems.size() + 1);
+                String newItemCode = dbHelper.nextItemCode();
                 Item newItem = new Item(newItemCode, itemName, supplierId, stockQuantity, pricePerUnit);
                 dbHelper.addItem(newItem);
 
@@ -474,7 +455,7 @@ public class ManageItemsPage extends UIBase {
                     return;
                 }
 
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 Item updatedItem = new Item(itemCode, newItemName, newSupplierId, newStockQuantity, newPricePerUnit);
                 dbHelper.updateItem(updatedItem);
 
@@ -521,7 +502,7 @@ public class ManageItemsPage extends UIBase {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 dbHelper.deleteItem(itemCode);
 
                 tableModel.removeRow(selectedRow);
@@ -553,18 +534,14 @@ public class ManageItemsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            DashboardPage dashboard = new DashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
     }
 
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
@@ -11,6 +11,7 @@ import java.util.List;
 
 import models.User;
 import models.SystemLog;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 
 public class ManageUsersPage extends UIBase {
@@ -18,7 +19,7 @@ public class ManageUsersPage extends UIBase {
     private final User currentUser;
     private JTable usersTable;
     private DefaultTableModel tableModel;
-    private List<User> usersList;
+    private List<User> usersList = new ArrayList<>();
     
     public ManageUsersPage(User user) {
         super("Manage User");
@@ -34,30 +35,10 @@ public class ManageUsersPage extends UIBase {
     }
 
     public void loadUsers() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            usersList = dbHelper.getAllUsers();
-            
-            if (usersList == null) {
-                usersList = new ArrayList<>();
-            } else {
-                filterUsers(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            usersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading users: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            usersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("users", () -> DatabaseContext.db().getAllUsers(), rows -> {
+            usersList = rows != null ? rows : new ArrayList<>();
+            filterUsers(null);
+        });
     }
 
     private void filterUsers(String role) {
@@ -376,7 +357,7 @@ public class ManageUsersPage extends UIBase {
         }
 
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             User newUser = new User("testuser", "Test User", "password", "purchasing");
             newUser.setUsername(username);
             newUser.setPassword(password);
@@ -472,7 +453,7 @@ private void handleEditUser() {
         }
 
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             User updatedUser = new User(userId, newUsername, newPassword, newEmail, newRole);
             dbHelper.updateUser(updatedUser);
 
@@ -514,7 +495,7 @@ private void handleDeleteUser() {
 
     if (confirm == JOptionPane.YES_OPTION) {
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             dbHelper.deleteUser(userId);
 
             tableModel.removeRow(selectedRow);
@@ -548,18 +529,14 @@ private void handleDeleteUser() {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            DashboardPage dashboard = new DashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
     }
 
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
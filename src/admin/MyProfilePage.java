@@ -1,5 +1,6 @@
 package admin;
 
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -27,7 +28,7 @@ import javax.swing.SwingUtilities;
 import javax.swing.border.LineBorder;
 import models.User;
 
-public class MyProfilePage extends UIBase {
+public class MyProfilePage extends UIBase implements Navigator.Refreshable {
 
     private final User currentUser;
     private JTextField usernameField;
@@ -354,6 +355,16 @@ public class MyProfilePage extends UIBase {
         return contentPanel;
     }
 
+    /**
+     * Clears the password fields left over from the last visit.
+     */
+    @Override
+    public void refresh() {
+        currentPasswordField.setText("");
+        newPasswordField.setText("");
+        confirmPasswordField.setText("");
+    }
+
     private void saveProfileChanges() {
         if (currentUser == null) {
             JOptionPane.showMessageDialog(this,
@@ -406,7 +417,7 @@ public class MyProfilePage extends UIBase {
                     currentUser.getRole()
             );
 
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             dbHelper.updateUser(updatedUser);
 
             JOptionPane.showMessageDialog(this,
@@ -414,7 +425,8 @@ public class MyProfilePage extends UIBase {
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE);
 
-            goBackToDashboard();
+            // The cached pages still show the old username, so start over with the updated user.
+            goBackToDashboard(updatedUser);
 
         } catch (IOException ex) {
             JOptionPane.showMessageDialog(this,
@@ -425,28 +437,29 @@ public class MyProfilePage extends UIBase {
     }
 
     protected void goBackToDashboard() {
-    dispose();
-        SwingUtilities.invokeLater(() -> {
-            switch (currentUser.getRole()) {
-                case User.ROLE_ADMINISTRATOR:
-                    new admin.DashboardPage(currentUser).setVisible(true);
-                    break;
-                case User.ROLE_INVENTORY_MANAGER:
-                    new inv.InventoryDashboardPage(currentUser).setVisible(true);
-                    break;
-                case User.ROLE_PURCHASE_MANAGER:
-                    new purchase.PurchaseDashboardPage(currentUser).setVisible(true);
-                    break;
-                case User.ROLE_FINANCE_MANAGER:
-                    new finance.FinanceDashboardPage(currentUser).setVisible(true);
-                    break;
-                case User.ROLE_SALES_MANAGER:
-                    new sales.SalesDashboardPage(currentUser).setVisible(true);
-                    break;
-                default:
-                    JOptionPane.showMessageDialog(null, "Unrecognized role: " + currentUser.getRole());
-                    System.exit(1);
-            }
-        });
+        goBackToDashboard(currentUser);
+    }
+
+    private void goBackToDashboard(User user) {
+        switch (user.getRole()) {
+            case User.ROLE_ADMINISTRATOR:
+                Navigator.open(this, user, admin.DashboardPage.class, admin.DashboardPage::new);
+                break;
+            case User.ROLE_INVENTORY_MANAGER:
+                Navigator.open(this, user, inv.InventoryDashboardPage.class, inv.InventoryDashboardPage::new);
+                break;
+            case User.ROLE_PURCHASE_MANAGER:
+                Navigator.open(this, user, purchase.PurchaseDashboardPage.class, purchase.PurchaseDashboardPage::new);
+                break;
+            case User.ROLE_FINANCE_MANAGER:
+                Navigator.open(this, user, finance.FinanceDashboardPage.class, finance.FinanceDashboardPage::new);
+                break;
+            case User.ROLE_SALES_MANAGER:
+                Navigator.open(this, user, sales.SalesDashboardPage.class, sales.SalesDashboardPage::new);
+                break;
+            default:
+                JOptionPane.showMessageDialog(null, "Unrecognized role: " + user.getRole());
+                System.exit(1);
+        }
     }
-}
\ No newline at end of file
+}
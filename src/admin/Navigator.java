@@ -0,0 +1,122 @@
+package admin;
+
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import models.User;
+
+/**
+ * Moves between the pages of a session and keeps the pages already built, so going back to a
+ * page shows it again instead of constructing it.
+ * <p>
+ * Building a page runs its {@code initUI}, the window scaling and its first data load. The
+ * navigator does that once per page class and session: the page being left is hidden rather than
+ * disposed, and opening it again only makes it visible and reloads its data. Pages that load in
+ * {@code setVisible(true)} reload on their own; pages that load in {@code initUI} implement
+ * {@link Refreshable}. Only one page is visible at a time.
+ * <p>
+ * The cache holds {@link #DEFAULT_CAPACITY} pages and disposes the least recently shown one when
+ * it is full. It belongs to one logged-in user: opening a page for another user, or calling
+ * {@link #endSession}, disposes every cached page. Use from the EDT only.
+ */
+public final class Navigator {
+
+    /**
+     * A page that reloads its data when it is shown again.
+     */
+    public interface Refreshable {
+        void refresh();
+    }
+
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private static final Map<Class<?>, Window> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Class<?>, Window> eldest) {
+            if (size() <= DEFAULT_CAPACITY || eldest.getValue().isVisible()) {
+                return false;
+            }
+            eldest.getValue().dispose();
+            return true;
+        }
+    };
+
+    private static User sessionUser;
+
+    private Navigator() {
+    }
+
+    /**
+     * Shows the {@code type} page for {@code user} in place of {@code from}, building it with
+     * {@code factory} if it is not cached. {@code from} is hidden if it is a cached page and
+     * disposed otherwise (e.g. the login page); it may be {@code null}.
+     */
+    public static <T extends Window> T open(Window from, User user, Class<T> type, Function<User, T> factory) {
+        if (user != sessionUser) {
+            clear();
+            sessionUser = user;
+        }
+
+        T page = type.cast(pages.get(type));
+        if (page != null && page.isDisplayable()) {
+            if (from != null) {
+                page.setLocationRelativeTo(from);
+            }
+            page.setVisible(true);
+            if (page instanceof Refreshable) {
+                ((Refreshable) page).refresh();
+            }
+        } else {
+            // UIBase pages show themselves while they are constructed.
+            page = factory.apply(user);
+            if (!page.isVisible()) {
+                page.setVisible(true);
+            }
+            cache(type, page);
+        }
+
+        if (from != null && from != page) {
+            if (pages.containsValue(from)) {
+                from.setVisible(false);
+            } else {
+                from.dispose();
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Disposes every cached page, e.g. on logout. The next {@link #open} starts a new session.
+     */
+    public static void endSession() {
+        clear();
+        sessionUser = null;
+    }
+
+    private static void cache(Class<?> type, Window page) {
+        page.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                pages.remove(type, page);
+                // Closing the visible page must still end the app, not leave hidden pages running.
+                if (pages.values().stream().noneMatch(Window::isVisible)) {
+                    clear();
+                }
+            }
+        });
+        pages.put(type, page);
+    }
+
+    private static void clear() {
+        List<Window> cached = new ArrayList<>(pages.values());
+        pages.clear();
+        for (Window page : cached) {
+            page.dispose();
+        }
+    }
+}
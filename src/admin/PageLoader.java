@@ -0,0 +1,125 @@
+package admin;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.ExecutionException;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ * Runs a page's data loading on a background thread and hands the result back to the Event
+ * Dispatch Thread, so parsing data files never freezes the window.
+ * <p>
+ * Each page keeps one loader per thing it loads. Starting a new load cancels the one still
+ * running, and only the newest load is shown: a stale result that finishes late is dropped. The
+ * loader also cancels itself when its window is disposed. While a load runs the window shows
+ * the wait cursor and, if one is set, a status label says what is loading. Failures are shown
+ * in an error dialog.
+ * <p>
+ * Cancelling does not interrupt the background thread, so a load that is already reading or
+ * writing a file finishes that step; its result is just not shown.
+ */
+public class PageLoader {
+
+    public interface Task<T> {
+        T load() throws Exception;
+    }
+
+    public interface Callback<T> {
+        void loaded(T result);
+    }
+
+    private final Component owner;
+    private JLabel statusLabel;
+    private SwingWorker<?, ?> current;
+    private long generation;
+
+    public PageLoader(Component owner) {
+        this.owner = owner;
+        Window window = owner instanceof Window ? (Window) owner : SwingUtilities.getWindowAncestor(owner);
+        if (window != null) {
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    cancel();
+                }
+            });
+        }
+    }
+
+    /**
+     * Label that shows "Loading ..." while a load runs. It is cleared afterwards.
+     */
+    public PageLoader withStatusLabel(JLabel label) {
+        this.statusLabel = label;
+        return this;
+    }
+
+    /**
+     * Runs {@code task} in the background and passes its result to {@code callback} on the EDT.
+     * {@code what} names the data in the status label and in error messages. Call on the EDT.
+     */
+    public <T> void load(String what, Task<T> task, Callback<T> callback) {
+        cancel();
+        long loadGeneration = ++generation;
+        setLoading(what);
+
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.load();
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || loadGeneration != generation) {
+                    return;
+                }
+                current = null;
+                setLoading(null);
+                try {
+                    callback.loaded(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Error loading " + what + ": " + cause.getMessage());
+                    JOptionPane.showMessageDialog(owner,
+                            "Error loading " + what + ": " + cause.getMessage(),
+                            "Database Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        current = worker;
+        worker.execute();
+    }
+
+    /**
+     * Drops the running load, if any. Its result will not be shown.
+     */
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+            generation++;
+            setLoading(null);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    private void setLoading(String what) {
+        owner.setCursor(what != null ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        if (statusLabel != null) {
+            statusLabel.setText(what != null ? "Loading " + what + "..." : "");
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.awt.*;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.*;
-import java.io.IOException;
 import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -13,14 +12,14 @@ import java.util.List;
 
 import models.PurchaseOrder;
 import models.User;
-import database.DatabaseHelper;
+import database.DatabaseContext;
 
 public class PurchaseOrdersPage extends UIBase {
     
     private final User currentUser;
     private JTable ordersTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> ordersList;
+    private List<PurchaseOrder> ordersList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance();
     
@@ -38,30 +37,10 @@ public class PurchaseOrdersPage extends UIBase {
     }
 
     public void loadOrders() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            ordersList = dbHelper.getAllPurchaseOrders();
-            
-            if (ordersList == null) {
-                ordersList = new ArrayList<>();
-            } else {
-                filterOrders(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading orders: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("orders", () -> DatabaseContext.db().getAllPurchaseOrders(), rows -> {
+            ordersList = rows != null ? rows : new ArrayList<>();
+            filterOrders(null);
+        });
     }
 
 
@@ -453,11 +432,7 @@ public class PurchaseOrdersPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            DashboardPage dashboard = new DashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
     }
     
     public static void main(String[] args) {
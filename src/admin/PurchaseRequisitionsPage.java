@@ -4,7 +4,6 @@ import java.awt.*;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.*;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -13,6 +12,7 @@ import java.util.List;
 
 import models.PurchaseRequisition;
 import models.User;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 
 
@@ -21,7 +21,7 @@ public class PurchaseRequisitionsPage extends UIBase {
     private final User currentUser;
     private JTable requisitionsTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseRequisition> requisitionsList;
+    private List<PurchaseRequisition> requisitionsList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -39,30 +39,10 @@ public class PurchaseRequisitionsPage extends UIBase {
     }
 
     public void loadRequisitions() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            requisitionsList = dbHelper.getAllPurchaseRequisitions();
-            
-            if (requisitionsList == null) {
-                requisitionsList = new ArrayList<>();
-            } else {
-                filterRequisitions(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading requisitions: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("requisitions", () -> DatabaseContext.db().getAllPurchaseRequisitions(), rows -> {
+            requisitionsList = rows != null ? rows : new ArrayList<>();
+            filterRequisitions(null);
+        });
     }
 
     private void filterRequisitions(String status) {
@@ -406,7 +386,7 @@ public class PurchaseRequisitionsPage extends UIBase {
                     
                     if (choice == 0 || choice == 1) { 
                         try {
-                            DatabaseHelper dbHelper = new DatabaseHelper();
+                            DatabaseHelper dbHelper = DatabaseContext.db();
                             PurchaseRequisition requisition = dbHelper.getPurchaseRequisitionById(requisitionId);
                             
                             if (requisition != null) {
@@ -487,10 +467,6 @@ public class PurchaseRequisitionsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            DashboardPage dashboard = new DashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package admin;
+
+import database.DataChange;
+import database.DataChangeBus;
+import database.DatabaseHelper;
+import java.awt.Component;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+
+/**
+ * Read-only table model over a list of entity rows, for tables that can hold a very large
+ * number of records.
+ * <p>
+ * {@link #setRows} keeps the list it is given rather than copying every record into an
+ * {@code Object[]}, and fires one change event for the whole table. Showing a cached snapshot
+ * from {@code DatabaseHelper} therefore takes the same time and memory for a million rows as
+ * for ten. Cells are read from the row only when the table asks for them, which is for the
+ * rows on screen. A column with a {@link Format} holds the raw value (a number or a date, so it
+ * still sorts correctly) and formats it when the cell is painted.
+ * <p>
+ * The list is shown as it is, so it must not change while the model holds it. Pass a new list
+ * to {@link #setRows} instead.
+ * <p>
+ * A model that {@link #follow}s an entity applies the changes {@code DatabaseHelper} publishes
+ * row by row, so saving a record repaints that one row instead of reloading the file. It copies
+ * the list before its first change, leaving the caller's list untouched.
+ */
+public class RowTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    public interface Cell<T> {
+        Object value(T row);
+    }
+
+    public interface Format {
+        String format(Object value);
+    }
+
+    private final List<Column<T>> columns = new ArrayList<>();
+    private List<T> rows = Collections.emptyList();
+    private boolean ownsRows;
+    private Function<T, String> key;
+    private Predicate<T> include;
+
+    public RowTableModel<T> column(String name, Cell<T> cell) {
+        return column(name, Object.class, cell, null);
+    }
+
+    public RowTableModel<T> column(String name, Class<?> type, Cell<T> cell, Format format) {
+        columns.add(new Column<>(name, type, cell, format));
+        fireTableStructureChanged();
+        return this;
+    }
+
+    /**
+     * Shows {@code rows}, which the model keeps without copying. {@code null} clears the table.
+     */
+    public void setRows(List<T> rows) {
+        this.rows = rows != null ? rows : Collections.emptyList();
+        ownsRows = false;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Keeps the rows in step with changes to {@code entity} rows: an update replaces and repaints
+     * the row with the same {@code key}, an insert appends the row and a delete removes it.
+     * {@code include} says which rows belong in this table (e.g. only the user's own entries), so
+     * an update can also add or remove a row; {@code null} takes every row. Changes are applied on
+     * the EDT until {@code owner}'s window is disposed.
+     */
+    public RowTableModel<T> follow(Component owner, Class<T> entity, Function<T, String> key, Predicate<T> include) {
+        this.key = key;
+        this.include = include;
+        DataChangeBus.Subscription subscription = DatabaseHelper.getChangeBus().subscribe(entity,
+                change -> SwingUtilities.invokeLater(() -> apply(change)));
+
+        Window window = owner instanceof Window ? (Window) owner : SwingUtilities.getWindowAncestor(owner);
+        if (window != null) {
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    subscription.cancel();
+                }
+            });
+        }
+        return this;
+    }
+
+    public List<T> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns the row as shown, which may be the shared cached instance. Read it only; to edit
+     * a record, load a copy by its id from {@code DatabaseHelper}.
+     */
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    private void apply(DataChange<T> change) {
+        int row = indexOf(change.getKey());
+        T value = change.getNewValue();
+        boolean shown = value != null && (include == null || include.test(value));
+
+        if (row >= 0 && shown) {
+            editableRows().set(row, value);
+            fireTableRowsUpdated(row, row);
+        } else if (row >= 0) {
+            editableRows().remove(row);
+            fireTableRowsDeleted(row, row);
+        } else if (shown) {
+            editableRows().add(value);
+            fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+        }
+    }
+
+    private int indexOf(String rowKey) {
+        for (int row = 0; row < rows.size(); row++) {
+            T value = rows.get(row);
+            if (value != null && rowKey.equals(key.apply(value))) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private List<T> editableRows() {
+        if (!ownsRows) {
+            rows = new ArrayList<>(rows);
+            ownsRows = true;
+        }
+        return rows;
+    }
+
+    /**
+     * Puts the formatting renderers on the columns that have a {@link Format}. Call once the
+     * model is set on {@code table}. The formatted text is painted by the table's default
+     * renderer for {@code Object}, so a page-wide renderer such as status colouring still applies.
+     */
+    public void installRenderers(JTable table) {
+        for (int column = 0; column < columns.size(); column++) {
+            Format format = columns.get(column).format;
+            if (format != null) {
+                table.getColumnModel().getColumn(table.convertColumnIndexToView(column))
+                        .setCellRenderer(new FormattingRenderer(format));
+            }
+        }
+    }
+
+    /**
+     * Formats numbers with {@link String#format}, e.g. {@code "%.2f"}.
+     */
+    public static Format number(String pattern) {
+        return value -> String.format(pattern, value);
+    }
+
+    public static Format dateTime(String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        return value -> formatter.format((TemporalAccessor) value);
+    }
+
+    /**
+     * The cell as it is displayed, with the column's {@link Format} applied. {@code null} for
+     * an empty cell.
+     */
+    public String getText(int row, int column) {
+        Object value = getValueAt(row, column);
+        if (value == null) {
+            return null;
+        }
+        Format format = columns.get(column).format;
+        return format != null ? format.format(value) : value.toString();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).type;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        T value = rows.get(row);
+        return value != null ? columns.get(column).cell.value(value) : null;
+    }
+
+    private static final class Column<T> {
+        final String name;
+        final Class<?> type;
+        final Cell<T> cell;
+        final Format format;
+
+        Column(String name, Class<?> type, Cell<T> cell, Format format) {
+            this.name = name;
+            this.type = type;
+            this.cell = cell;
+            this.format = format;
+        }
+    }
+
+    private static final class FormattingRenderer implements TableCellRenderer {
+        private final Format format;
+
+        FormattingRenderer(Format format) {
+            this.format = format;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            Object text = value != null ? format.format(value) : "";
+            return table.getDefaultRenderer(Object.class)
+                    .getTableCellRendererComponent(table, text, isSelected, hasFocus, row, column);
+        }
+    }
+}
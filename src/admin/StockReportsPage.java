@@ -1,38 +1,38 @@
 package admin;
 
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.Stock;
 import models.User;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
+import javax.swing.event.RowSorterEvent;
 import java.awt.*;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
-public class StockReportsPage extends UIBase {
+public class StockReportsPage extends UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable stockTable;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private DatabaseHelper dbHelper;
     private JPanel statsPanel;  
-    private static final String[] TABLE_COLUMNS = {
-            "Item Code", "Item Name", "Quantity", "Location", "Last Updated", "Status"
-    };
+    private RowTableModel<Stock> tableModel;
+    private TableSearch search;
 
     public StockReportsPage(User currentUser) {
         super("Stock Reports");
         this.currentUser = currentUser;
-        this.dbHelper = new DatabaseHelper();
+        this.dbHelper = DatabaseContext.db();
     }
 
     @Override
     protected void initUI() {
         if (dbHelper == null) {
-            dbHelper = new DatabaseHelper();
+            dbHelper = DatabaseContext.db();
         }
 
         
@@ -47,8 +47,7 @@ public class StockReportsPage extends UIBase {
         backButton.setFont(new Font("SansSerif", Font.BOLD, 12));
         backButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         backButton.addActionListener(e -> {
-            dispose();
-            new DashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
         });
         backButtonPanel.add(backButton);
         mainPanel.add(backButtonPanel, BorderLayout.NORTH);
@@ -69,6 +68,15 @@ public class StockReportsPage extends UIBase {
         statsPanel = createStatsPanel();  
         contentPanel.add(statsPanel, BorderLayout.SOUTH);
 
+        // Searches item code, name and location of the loaded rows.
+        search = new TableSearch(stockTable, searchField, 0, 1, 3);
+        // Runs after every search, load and row change, once the visible rows are known.
+        stockTable.getRowSorter().addRowSorterListener(e -> {
+            if (e.getType() == RowSorterEvent.Type.SORTED) {
+                updateStats(visibleStock());
+            }
+        });
+
         mainPanel.add(contentPanel, BorderLayout.CENTER);
         setContentPane(mainPanel);
         loadStockData();
@@ -95,13 +103,12 @@ public class StockReportsPage extends UIBase {
         
         JLabel searchLabel = new JLabel("Search:");
         searchField = new JTextField(20);
-        searchField.addActionListener(e -> filterStock());
 
         
         JLabel filterLabel = new JLabel("Status:");
         String[] statusOptions = {"All", Stock.STATUS_IN_STOCK, Stock.STATUS_LOW_STOCK, Stock.STATUS_OUT_OF_STOCK};
         statusFilter = new JComboBox<>(statusOptions);
-        statusFilter.addActionListener(e -> filterStock());
+        statusFilter.addActionListener(e -> filterByStatus());
 
         
         JButton refreshButton = new JButton("Refresh");
@@ -127,14 +134,16 @@ public class StockReportsPage extends UIBase {
         tablePanel.setBackground(Color.WHITE);
         tablePanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
 
-        DefaultTableModel model = new DefaultTableModel(TABLE_COLUMNS, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new RowTableModel<Stock>()
+                .column("Item Code", String.class, Stock::getItemCode, null)
+                .column("Item Name", String.class, Stock::getItemName, null)
+                .column("Quantity", Integer.class, Stock::getQuantity, null)
+                .column("Location", String.class, Stock::getLocation, null)
+                .column("Last Updated", String.class, Stock::getLastUpdated, null)
+                .column("Status", String.class, Stock::getStatus, null)
+                .follow(this, Stock.class, Stock::getItemCode, null);
 
-        stockTable = new JTable(model);
+        stockTable = new JTable(tableModel);
         stockTable.setFillsViewportHeight(true);
         stockTable.setRowHeight(30);
         stockTable.getTableHeader().setReorderingAllowed(false);
@@ -147,10 +156,6 @@ public class StockReportsPage extends UIBase {
         stockTable.setGridColor(new Color(230, 230, 230));
 
         
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(model);
-        stockTable.setRowSorter(sorter);
-
-        
         stockTable.getColumnModel().getColumn(5).setCellRenderer((table, value, isSelected, hasFocus, row, column) -> {
             JLabel label = new JLabel(value.toString());
             label.setOpaque(true);
@@ -240,60 +245,27 @@ public class StockReportsPage extends UIBase {
         return separator;
     }
 
+    @Override
+    public void refresh() {
+        loadStockData();
+    }
+
     private void loadStockData() {
-        try {
-            List<Stock> stockList = dbHelper.getAllStock();
-            updateTable(stockList);
-            updateStats(stockList);
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading stock data: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        loader().load("stock data", () -> dbHelper.getAllStock(), tableModel::setRows);
     }
 
-    private void filterStock() {
-        String searchText = searchField.getText().toLowerCase();
+    private void filterByStatus() {
         String selectedStatus = (String) statusFilter.getSelectedItem();
-
-        try {
-            List<Stock> allStock = dbHelper.getAllStock();
-            List<Stock> filteredStock = allStock.stream()
-                    .filter(stock ->
-                            (searchText.isEmpty() ||
-                                    stock.getItemCode().toLowerCase().contains(searchText) ||
-                                    stock.getItemName().toLowerCase().contains(searchText) ||
-                                    stock.getLocation().toLowerCase().contains(searchText)) &&
-                                    ("All".equals(selectedStatus) || stock.getStatus().equals(selectedStatus)))
-                    .toList();
-
-            updateTable(filteredStock);
-            updateStats(filteredStock);
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error filtering stock data: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        search.setFilter("All".equals(selectedStatus) ? null
+                : RowFilter.regexFilter("^" + Pattern.quote(selectedStatus) + "$", 5));
     }
 
-    private void updateTable(List<Stock> stockList) {
-        DefaultTableModel model = (DefaultTableModel) stockTable.getModel();
-        model.setRowCount(0);
-
-        for (Stock stock : stockList) {
-            model.addRow(new Object[]{
-                    stock.getItemCode(),
-                    stock.getItemName(),
-                    stock.getQuantity(),
-                    stock.getLocation(),
-                    stock.getLastUpdated(),
-                    stock.getStatus()
-            });
+    private List<Stock> visibleStock() {
+        List<Stock> visible = new ArrayList<>(stockTable.getRowCount());
+        for (int row = 0; row < stockTable.getRowCount(); row++) {
+            visible.add(tableModel.getRow(stockTable.convertRowIndexToModel(row)));
         }
+        return visible;
     }
 
     private void updateStats(List<Stock> stockList) {
@@ -1,5 +1,6 @@
 package admin;
 
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.SystemLog;
 import models.User;
@@ -8,7 +9,6 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,12 +19,14 @@ public class SystemLogsPage extends UIBase {
     private JTextField searchField;
     private JComboBox<String> roleFilter;
     private JComboBox<String> actionFilter;
-    private List<SystemLog> logsList;
+    private List<SystemLog> logsList = new ArrayList<>();
     private DefaultTableModel tableModel;
     private static final DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String[] TABLE_COLUMNS = {
             "Log ID", "User ID", "Username", "Action", "Details", "Timestamp", "Role"
     };
+    private static final int RECENT_LOG_LIMIT = 500;
+    private int logLimit = RECENT_LOG_LIMIT;
 
     public SystemLogsPage(User currentUser) {
         super("System Logs");
@@ -41,23 +43,30 @@ public class SystemLogsPage extends UIBase {
     }
 
     private void loadLogs() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            logsList = dbHelper.getAllSystemLogs();
-
-            if (logsList == null) {
-                logsList = new ArrayList<>();
+        String selectedRole = roleFilter != null ? (String) roleFilter.getSelectedItem() : "All";
+        int limit = logLimit;
+        loader().load("system logs", () -> {
+            DatabaseHelper dbHelper = DatabaseContext.db();
+            if ("All".equals(selectedRole)) {
+                return dbHelper.getLatestSystemLogs(limit);
             }
-
-            updateTable(logsList);
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading system logs: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+            // Merge the partitions of that role's users instead of scanning everyone's logs.
+            List<String> userIds = new ArrayList<>();
+            for (User user : dbHelper.getAllUsers()) {
+                if (selectedRole.equals(user.getRole())) {
+                    userIds.add(user.getUserId());
+                }
+            }
+            return dbHelper.getLatestSystemLogsByUsers(userIds, limit,
+                    log -> selectedRole.equals(log.getUserRole()));
+        }, logs -> {
+            logsList = logs != null ? logs : new ArrayList<>();
+            if (searchField != null) {
+                filterLogs();
+            } else {
+                updateTable(logsList);
+            }
+        });
     }
 
     @Override
@@ -73,8 +82,7 @@ public class SystemLogsPage extends UIBase {
         backButton.setFont(new Font("SansSerif", Font.BOLD, 12));
         backButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         backButton.addActionListener(e -> {
-            dispose();
-            new DashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, DashboardPage.class, DashboardPage::new);
         });
         backButtonPanel.add(backButton);
         mainPanel.add(backButtonPanel, BorderLayout.NORTH);
@@ -131,7 +139,7 @@ public class SystemLogsPage extends UIBase {
                 User.ROLE_PURCHASE_MANAGER, User.ROLE_FINANCE_MANAGER,
                 User.ROLE_SALES_MANAGER};
         roleFilter = new JComboBox<>(roleOptions);
-        roleFilter.addActionListener(e -> filterLogs());
+        roleFilter.addActionListener(e -> loadLogs());
 
         
         JButton refreshButton = new JButton("Refresh");
@@ -140,6 +148,13 @@ public class SystemLogsPage extends UIBase {
         refreshButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         refreshButton.addActionListener(e -> loadLogs());
 
+        JButton olderButton = new JButton("Load Older");
+        olderButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        olderButton.addActionListener(e -> {
+            logLimit += RECENT_LOG_LIMIT;
+            loadLogs();
+        });
+
         filtersPanel.add(searchLabel);
         filtersPanel.add(searchField);
         filtersPanel.add(Box.createRigidArea(new Dimension(20, 0)));
@@ -150,6 +165,7 @@ public class SystemLogsPage extends UIBase {
         filtersPanel.add(roleFilter);
         filtersPanel.add(Box.createRigidArea(new Dimension(20, 0)));
         filtersPanel.add(refreshButton);
+        filtersPanel.add(olderButton);
 
         headerPanel.add(filtersPanel, BorderLayout.CENTER);
         return headerPanel;
@@ -237,25 +253,21 @@ public class SystemLogsPage extends UIBase {
         String selectedAction = (String) actionFilter.getSelectedItem();
         String selectedRole = (String) roleFilter.getSelectedItem();
 
-        try {
-            List<SystemLog> filteredList = logsList.stream()
-                    .filter(log ->
-                            (searchText.isEmpty() ||
-                                    log.getLogId().toLowerCase().contains(searchText) ||
-                                    log.getUsername().toLowerCase().contains(searchText) ||
-                                    log.getDetails().toLowerCase().contains(searchText)) &&
-                                    ("All".equals(selectedAction) || log.getAction().equals(selectedAction)) &&
-                                    ("All".equals(selectedRole) || log.getUserRole().equals(selectedRole)))
-                    .toList();
-
-            updateTable(filteredList);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error filtering logs: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
+        // Searches cover the whole history through the index; without one, filter what is loaded.
+        if (searchText.isBlank()) {
+            updateTable(filterByActionAndRole(logsList, selectedAction, selectedRole));
+            return;
         }
+        loader().load("matching logs", () -> DatabaseContext.db().searchSystemLogs(searchText),
+                matches -> updateTable(filterByActionAndRole(matches, selectedAction, selectedRole)));
+    }
+
+    private static List<SystemLog> filterByActionAndRole(List<SystemLog> logs, String selectedAction, String selectedRole) {
+        return logs.stream()
+                .filter(log ->
+                        ("All".equals(selectedAction) || log.getAction().equals(selectedAction)) &&
+                                ("All".equals(selectedRole) || log.getUserRole().equals(selectedRole)))
+                .toList();
     }
 
     private void updateTable(List<SystemLog> logs) {
@@ -0,0 +1,191 @@
+package admin;
+
+import java.util.BitSet;
+import java.util.Locale;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.RowFilter;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+
+/**
+ * Search box for a table that filters the rows the table already holds, through a
+ * {@link TableRowSorter}, so typing never reads the data files.
+ * <p>
+ * Keystrokes are debounced: the search runs once typing pauses for {@link #DEFAULT_DELAY_MS},
+ * or at once on Enter. A row matches when one of the searched columns contains the text as
+ * displayed, ignoring case. The matching model rows are remembered, so when the query is
+ * extended ("mil" to "milk") only the previous matches are tested again. Other conditions, such as a
+ * status combo box, are set with {@link #setFilter} and combined with the text.
+ */
+public class TableSearch {
+
+    public static final int DEFAULT_DELAY_MS = 250;
+
+    private final JTextField field;
+    private final TableModel model;
+    private final int[] columns;
+    private final TableRowSorter<TableModel> sorter;
+    private final Timer timer;
+
+    private RowFilter<TableModel, Integer> filter;
+    private String query = "";
+    private BitSet matches;
+
+    /**
+     * Searches {@code columns} of {@code table} (model indexes; all columns if none are given)
+     * for the text in {@code field}. Replaces the table's row sorter.
+     */
+    public TableSearch(JTable table, JTextField field, int... columns) {
+        this.field = field;
+        this.model = table.getModel();
+        this.columns = columns.length > 0 ? columns : allColumns(model);
+
+        sorter = new TableRowSorter<>(model);
+        // Without this an edited row keeps its place and visibility until the next search.
+        sorter.setSortsOnUpdates(true);
+        sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                if (matches != null && !matches.get(entry.getIdentifier())) {
+                    return false;
+                }
+                return filter == null || filter.include(entry);
+            }
+        });
+        table.setRowSorter(sorter);
+
+        timer = new Timer(DEFAULT_DELAY_MS, e -> apply());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+        field.addActionListener(e -> apply());
+
+        // Models notify the newest listener first, so this runs before the table's sorter and
+        // the new rows are filtered against up-to-date matches.
+        model.addTableModelListener(this::rowsChanged);
+    }
+
+    /**
+     * Extra condition rows must meet besides the text; {@code null} for none. Applied at once.
+     */
+    public void setFilter(RowFilter<TableModel, Integer> filter) {
+        this.filter = filter;
+        sorter.sort();
+    }
+
+    /**
+     * Searches for the current text now instead of waiting for the debounce delay.
+     */
+    public void apply() {
+        timer.stop();
+        String next = field.getText().trim().toLowerCase(Locale.ROOT);
+        if (next.isEmpty()) {
+            matches = null;
+        } else if (matches == null || !next.equals(query)) {
+            boolean narrower = matches != null && next.startsWith(query);
+            matches = match(next, narrower ? matches : null);
+        }
+        query = next;
+        sorter.sort();
+    }
+
+    /**
+     * Clears the search text and shows every row that passes the extra filter.
+     */
+    public void clear() {
+        field.setText("");
+        apply();
+    }
+
+    /**
+     * Number of rows currently shown.
+     */
+    public int getRowCount() {
+        return sorter.getViewRowCount();
+    }
+
+    private void rowsChanged(TableModelEvent e) {
+        if (matches == null) {
+            return;
+        }
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        if (e.getType() == TableModelEvent.UPDATE && first >= 0 && last != Integer.MAX_VALUE) {
+            for (int row = first; row <= last && row < model.getRowCount(); row++) {
+                matches.set(row, rowMatches(row, query));
+            }
+        } else {
+            matches = match(query, null);
+        }
+    }
+
+    /**
+     * Model rows containing {@code text}, testing only {@code candidates} if given.
+     */
+    private BitSet match(String text, BitSet candidates) {
+        int rowCount = model.getRowCount();
+        BitSet result = new BitSet(rowCount);
+        if (candidates == null) {
+            for (int row = 0; row < rowCount; row++) {
+                if (rowMatches(row, text)) {
+                    result.set(row);
+                }
+            }
+        } else {
+            for (int row = candidates.nextSetBit(0); row >= 0 && row < rowCount; row = candidates.nextSetBit(row + 1)) {
+                if (rowMatches(row, text)) {
+                    result.set(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean rowMatches(int row, String text) {
+        for (int column : columns) {
+            String value = cellText(row, column);
+            if (value != null && value.toLowerCase(Locale.ROOT).contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cell as the user sees it, so a formatted date or price matches what is on screen.
+     */
+    private String cellText(int row, int column) {
+        if (model instanceof RowTableModel<?> rows) {
+            return rows.getText(row, column);
+        }
+        Object value = model.getValueAt(row, column);
+        return value != null ? value.toString() : null;
+    }
+
+    private static int[] allColumns(TableModel model) {
+        int[] columns = new int[model.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = i;
+        }
+        return columns;
+    }
+}
@@ -37,6 +37,7 @@ public abstract class UIBase extends JFrame {
 
     protected WindowManager windowManager;
     protected String frameTitle;
+    private PageLoader pageLoader;
 
     public UIBase(String title) {
         super(title);
@@ -52,4 +53,15 @@ public abstract class UIBase extends JFrame {
     }
 
     protected abstract void initUI();
+
+    /**
+     * Background loader for this page's data. Created on first use, because the constructor
+     * already shows the window and may start loading before subclass fields are set.
+     */
+    protected PageLoader loader() {
+        if (pageLoader == null) {
+            pageLoader = new PageLoader(this);
+        }
+        return pageLoader;
+    }
 }
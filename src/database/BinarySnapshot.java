@@ -0,0 +1,195 @@
+package database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary copy of a parsed CSV data file, used to skip text parsing on cold start.
+ * <p>
+ * Layout: magic, format version, schema string, source file length and mtime, row count,
+ * payload length, CRC32 of the payload, then the rows. Strings are length-prefixed UTF-8,
+ * dates are epoch days, timestamps are epoch seconds and money is stored as long cents.
+ * The snapshot is only used while the recorded source length and mtime still match the CSV,
+ * which stays the source of truth; otherwise the caller re-parses and saves a new snapshot.
+ */
+public class BinarySnapshot<T> {
+
+    public interface Codec<T> {
+        void write(DataOutputStream out, T row) throws IOException;
+
+        T read(ByteBuffer in);
+    }
+
+    private static final int MAGIC = 0x4A41534E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private final File file;
+    private final String schema;
+    private final Codec<T> codec;
+
+    public BinarySnapshot(File file, String schema, Codec<T> codec) {
+        this.file = file;
+        this.schema = schema;
+        this.codec = codec;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public List<T> load(File source) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION || !schema.equals(readString(in))) {
+                return null;
+            }
+            if (in.getLong() != source.length() || in.getLong() != source.lastModified()) {
+                return null;
+            }
+
+            int rowCount = in.getInt();
+            int payloadLength = in.getInt();
+            long checksum = in.getLong();
+            if (payloadLength != in.remaining()) {
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(in.duplicate());
+            if (crc.getValue() != checksum) {
+                System.err.println("Ignoring corrupt snapshot " + file.getName());
+                return null;
+            }
+
+            List<T> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(codec.read(in));
+            }
+            return rows;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable snapshot " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void save(File source, long sourceLength, long sourceModified, List<T> rows) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(Math.max(1024, rows.size() * 64));
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            for (T row : rows) {
+                codec.write(payload, row);
+            }
+            payload.flush();
+            byte[] body = payloadBytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(128);
+            DataOutputStream header = new DataOutputStream(headerBytes);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            writeString(header, schema);
+            header.writeLong(sourceLength);
+            header.writeLong(sourceModified);
+            header.writeInt(rows.size());
+            header.writeInt(body.length);
+            header.writeLong(crc.getValue());
+            header.flush();
+
+            Path temp = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(), file.getName() + ".", ".tmp");
+            try {
+                try (var out = Files.newOutputStream(temp)) {
+                    headerBytes.writeTo(out);
+                    out.write(body);
+                }
+                try {
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving snapshot " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    public void discard() {
+        if (file.exists() && !file.delete()) {
+            System.err.println("Could not delete stale snapshot " + file.getName());
+        }
+    }
+
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Bad string length " + length);
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    public static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        out.writeInt(value != null ? (int) value.toEpochDay() : NULL_DATE);
+    }
+
+    public static LocalDate readDate(ByteBuffer in) {
+        int epochDay = in.getInt();
+        return epochDay != NULL_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    public static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : NULL_TIMESTAMP);
+    }
+
+    public static LocalDateTime readTimestamp(ByteBuffer in) {
+        long seconds = in.getLong();
+        return seconds != NULL_TIMESTAMP ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    public static void writeMoney(DataOutputStream out, double value) throws IOException {
+        out.writeLong(Math.round(value * 100));
+    }
+
+    public static double readMoney(ByteBuffer in) {
+        return in.getLong() / 100.0;
+    }
+}
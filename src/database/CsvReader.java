@@ -0,0 +1,314 @@
+package database;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming RFC 4180 tokenizer used by every DatabaseHelper parser.
+ * <p>
+ * Records are scanned once from a char buffer. Field contents (with quotes removed and
+ * doubled quotes collapsed) are kept as offsets into a reusable record buffer, so a field
+ * only becomes a {@code String} when {@link #get} is called, and {@link #getInt} parses
+ * straight from the buffer. Quoted fields may contain commas, quotes and line breaks.
+ */
+public class CsvReader implements Closeable {
+
+    public interface RowParser<T> {
+        T parse(CsvReader row);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+
+    private final StringBuilder raw = new StringBuilder(256);
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    public static CsvReader ofLine(String line) {
+        CsvReader reader = new CsvReader(new StringReader(line));
+        try {
+            reader.next();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected error reading from a string", e);
+        }
+        return reader;
+    }
+
+    /**
+     * Lazily parses the data rows of {@code file}, skipping the header line, blank records and
+     * rows the parser rejects with {@code null}. Only the current record is held in memory, and
+     * the file stays open until the stream is closed, so callers should use try-with-resources.
+     */
+    public static <T> Stream<T> stream(File file, RowParser<T> parser) throws IOException {
+        return stream(new FileReader(file), parser);
+    }
+
+    /**
+     * Same as {@link #stream(File, RowParser)} for CSV text from any reader, such as a
+     * decompressed log segment. The stream closes {@code in}.
+     */
+    public static <T> Stream<T> stream(Reader in, RowParser<T> parser) throws IOException {
+        CsvReader reader = new CsvReader(in);
+        try {
+            reader.next();
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (reader.next()) {
+                        if (reader.isBlank()) {
+                            continue;
+                        }
+                        T row = parser.parse(reader);
+                        if (row != null) {
+                            action.accept(row);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        raw.setLength(0);
+
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+
+        int fieldStart = 0;
+        boolean quoted = false;
+        boolean afterQuote = false;
+
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    break;
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        appendChar('"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    appendChar((char) c);
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                addField(fieldStart, recordLength);
+                if (c == '\r') {
+                    int peek = read();
+                    if (peek != '\n' && peek >= 0) {
+                        position--;
+                        raw.setLength(raw.length() - 1);
+                    }
+                }
+                break;
+            } else if (c == ',') {
+                addField(fieldStart, recordLength);
+                fieldStart = recordLength;
+                afterQuote = false;
+            } else if (c == '"' && recordLength == fieldStart && !afterQuote) {
+                quoted = true;
+            } else {
+                appendChar((char) c);
+            }
+            c = read();
+        }
+
+        if (quoted) {
+            addField(fieldStart, recordLength);
+        }
+        trimLineBreak();
+        return true;
+    }
+
+    public int size() {
+        return fieldCount;
+    }
+
+    public boolean isBlank() {
+        return fieldCount == 1 && ends[0] == starts[0];
+    }
+
+    public String get(int index) {
+        checkIndex(index);
+        return new String(record, starts[index], ends[index] - starts[index]);
+    }
+
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return ends[index] == starts[index];
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        int i = starts[index];
+        int end = ends[index];
+        while (i < end && record[i] == ' ') {
+            i++;
+        }
+        while (end > i && record[end - 1] == ' ') {
+            end--;
+        }
+        if (i == end) {
+            throw new NumberFormatException("Empty numeric field " + index);
+        }
+
+        boolean negative = false;
+        if (record[i] == '-' || record[i] == '+') {
+            negative = record[i] == '-';
+            i++;
+            if (i == end) {
+                throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+            }
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            char ch = record[i];
+            if (ch < '0' || ch > '9') {
+                throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+            }
+            value = value * 10 + (ch - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Value out of range: \"" + get(index) + "\"");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range: \"" + get(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    public double getDouble(int index) {
+        return Double.parseDouble(get(index).trim());
+    }
+
+    /**
+     * Joins fields {@code from} (inclusive) to {@code to} (exclusive) with commas. Used to
+     * recover free-text columns from legacy rows written before fields were quoted.
+     */
+    public String join(int from, int to) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                joined.append(',');
+            }
+            joined.append(record, starts[i], ends[i] - starts[i]);
+        }
+        return joined.toString();
+    }
+
+    public String line() {
+        return raw.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (position >= limit) {
+            if (eof) {
+                return -1;
+            }
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                eof = true;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        raw.append(c);
+        return c;
+    }
+
+    private void appendChar(char c) {
+        if (recordLength == record.length) {
+            char[] grown = new char[record.length * 2];
+            System.arraycopy(record, 0, grown, 0, recordLength);
+            record = grown;
+        }
+        record[recordLength++] = c;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == starts.length) {
+            int[] grownStarts = new int[starts.length * 2];
+            int[] grownEnds = new int[ends.length * 2];
+            System.arraycopy(starts, 0, grownStarts, 0, fieldCount);
+            System.arraycopy(ends, 0, grownEnds, 0, fieldCount);
+            starts = grownStarts;
+            ends = grownEnds;
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void trimLineBreak() {
+        int length = raw.length();
+        while (length > 0 && (raw.charAt(length - 1) == '\n' || raw.charAt(length - 1) == '\r')) {
+            length--;
+        }
+        raw.setLength(length);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+}
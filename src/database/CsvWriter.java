@@ -0,0 +1,75 @@
+package database;
+
+import java.util.Locale;
+
+/**
+ * Builds one RFC 4180 row at a time. Text fields are quoted only when they contain a comma,
+ * quote or line break, so rows without such characters are byte-for-byte what the old
+ * {@code String.format} writers produced.
+ */
+public class CsvWriter {
+
+    private final StringBuilder row = new StringBuilder(128);
+    private boolean first = true;
+
+    public CsvWriter field(String value) {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (needsQuoting(value)) {
+            row.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    row.append('"');
+                }
+                row.append(c);
+            }
+            row.append('"');
+        } else {
+            row.append(value);
+        }
+        return this;
+    }
+
+    public CsvWriter field(int value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    public CsvWriter money(double value) {
+        separator();
+        row.append(String.format(Locale.ROOT, "%.2f", value));
+        return this;
+    }
+
+    public String build() {
+        String result = row.toString();
+        row.setLength(0);
+        first = true;
+        return result;
+    }
+
+    public static String escape(String value) {
+        return new CsvWriter().field(value).build();
+    }
+
+    private void separator() {
+        if (!first) {
+            row.append(',');
+        }
+        first = false;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
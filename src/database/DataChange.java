@@ -0,0 +1,73 @@
+package database;
+
+/**
+ * One row inserted, updated or deleted through {@link DatabaseHelper}, as published on its
+ * {@link DataChangeBus}.
+ * <p>
+ * The values are copies taken when the change was committed, so listeners may keep them but
+ * should not modify them: several listeners receive the same instance. {@link #getOldValue} is
+ * {@code null} for an insert, and {@link #getNewValue} is {@code null} for a delete.
+ */
+public final class DataChange<T> {
+
+    public enum Kind {
+        INSERTED, UPDATED, DELETED
+    }
+
+    private final Class<T> entity;
+    private final Kind kind;
+    private final String key;
+    private final T oldValue;
+    private final T newValue;
+
+    private DataChange(Class<T> entity, Kind kind, String key, T oldValue, T newValue) {
+        if (entity == null || key == null) {
+            throw new IllegalArgumentException("Entity and key are required");
+        }
+        this.entity = entity;
+        this.kind = kind;
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public static <T> DataChange<T> inserted(Class<T> entity, String key, T newValue) {
+        return new DataChange<>(entity, Kind.INSERTED, key, null, newValue);
+    }
+
+    public static <T> DataChange<T> updated(Class<T> entity, String key, T oldValue, T newValue) {
+        return new DataChange<>(entity, Kind.UPDATED, key, oldValue, newValue);
+    }
+
+    public static <T> DataChange<T> deleted(Class<T> entity, String key, T oldValue) {
+        return new DataChange<>(entity, Kind.DELETED, key, oldValue, null);
+    }
+
+    public Class<T> getEntity() {
+        return entity;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Primary key of the row, e.g. the order id of a purchase order.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public T getOldValue() {
+        return oldValue;
+    }
+
+    public T getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + entity.getSimpleName() + " " + key;
+    }
+}
@@ -0,0 +1,132 @@
+package database;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * In-process publisher of {@link DataChange}s, built on a {@link SubmissionPublisher}.
+ * <p>
+ * {@link DatabaseHelper} publishes a change after each committed insert, update or delete, so
+ * an open view can patch the one row that changed instead of reloading the whole file, and
+ * views other than the one that made the change see it too. Each subscriber receives the changes
+ * of one entity class, in commit order, on the executor's threads; a Swing listener has to move
+ * to the EDT itself.
+ * <p>
+ * Log entries are not published: system and inventory logs share the {@link models.SystemLog}
+ * class and are only ever appended, so a log view reloads instead.
+ * <p>
+ * Publishing never waits for listeners to run. It only blocks when a subscriber has fallen a
+ * full buffer behind, so a listener should hand work off quickly.
+ */
+public class DataChangeBus implements AutoCloseable {
+
+    public interface Listener<T> {
+        void changed(DataChange<T> change);
+    }
+
+    public interface Subscription {
+        /**
+         * Stops delivery to the listener. Changes already being delivered may still arrive.
+         */
+        void cancel();
+    }
+
+    private final SubmissionPublisher<DataChange<?>> publisher;
+
+    public DataChangeBus() {
+        this(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public DataChangeBus(Executor executor, int bufferSize) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferSize);
+    }
+
+    /**
+     * Calls {@code listener} for every later change to {@code entity} rows until the returned
+     * subscription is cancelled or the bus is closed.
+     */
+    public <T> Subscription subscribe(Class<T> entity, Listener<T> listener) {
+        if (entity == null || listener == null) {
+            throw new IllegalArgumentException("Entity and listener are required");
+        }
+        EntitySubscriber<T> subscriber = new EntitySubscriber<>(entity, listener);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    public void publish(DataChange<?> change) {
+        if (publisher.isClosed() || !publisher.hasSubscribers()) {
+            return;
+        }
+        try {
+            publisher.submit(change);
+        } catch (IllegalStateException e) {
+            // Closed between the check and the submit; nobody is listening any more.
+        }
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    private static final class EntitySubscriber<T> implements Flow.Subscriber<DataChange<?>>, Subscription {
+        private final Class<T> entity;
+        private final Listener<T> listener;
+        private Flow.Subscription subscription;
+        private volatile boolean cancelled;
+
+        EntitySubscriber(Class<T> entity, Listener<T> listener) {
+            this.entity = entity;
+            this.listener = listener;
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(DataChange<?> change) {
+            if (cancelled || change.getEntity() != entity) {
+                return;
+            }
+            try {
+                listener.changed((DataChange<T>) change);
+            } catch (RuntimeException e) {
+                // Keep the subscription: one bad change must not stop later ones.
+                System.err.println("Error handling " + change + ": " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            System.err.println("Data change subscription for " + entity.getSimpleName() + " failed: "
+                    + error.getMessage());
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
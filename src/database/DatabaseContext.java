@@ -0,0 +1,85 @@
+package database;
+
+/**
+ * Application-scoped access to the data layer.
+ * <p>
+ * {@link #open()} is called once by {@code LoginPage} at startup; pages then look the shared
+ * {@link DatabaseHelper} up with {@link #db()} instead of constructing their own. The helper keeps
+ * no per-instance state, so one instance is safe to use from the EDT and from background
+ * threads. {@link #close()} runs on exit, either explicitly or from a shutdown hook, and flushes
+ * the log writer and the file committer before the JVM stops.
+ */
+public final class DatabaseContext implements AutoCloseable {
+
+    private static final Object LOCK = new Object();
+    private static volatile DatabaseContext current;
+
+    private final DatabaseHelper database;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    private DatabaseContext() {
+        this.database = new DatabaseHelper();
+        this.shutdownHook = new Thread(this::close, "database-context-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Returns the application context, creating it on first use.
+     *
+     * @throws IllegalStateException if the context has already been closed
+     */
+    public static DatabaseContext open() {
+        DatabaseContext context = current;
+        if (context == null) {
+            synchronized (LOCK) {
+                context = current;
+                if (context == null) {
+                    context = new DatabaseContext();
+                    current = context;
+                }
+            }
+        }
+        if (context.closed) {
+            throw new IllegalStateException("Database context is closed");
+        }
+        return context;
+    }
+
+    /**
+     * Shorthand for {@code DatabaseContext.open().getDatabase()}.
+     */
+    public static DatabaseHelper db() {
+        return open().database;
+    }
+
+    public DatabaseHelper getDatabase() {
+        if (closed) {
+            throw new IllegalStateException("Database context is closed");
+        }
+        return database;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        synchronized (LOCK) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        DatabaseHelper.shutdown();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook is running or has run.
+            }
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package database;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import models.Financial;
 import models.Item;
 import models.PurchaseOrder;
@@ -37,15 +51,159 @@ public class DatabaseHelper {
     private static final String SYSTEM_LOGS_FILE = DATA_DIRECTORY + "/system_logs.txt";
     private static final String SALES_ENTRY_FILE = DATA_DIRECTORY + "/sales_entry.txt";
     private static final String SUPPLIERS_FILE = DATA_DIRECTORY + "/supplier.txt";
-    private static final String PO_FILE = "/purchase_order.txt"; 
+    private static final String TRANSACTION_REDO_FILE = DATA_DIRECTORY + "/transaction.redo";
+    private static final String INVENTORY_LOG_FILE = DATA_DIRECTORY + "/inventory_log.txt";
+    private static final String SEQUENCES_FILE = DATA_DIRECTORY + "/sequences.txt";
 
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String LOG_HEADER = "logId,userId,username,action,details,timestamp,userRole";
     private static final DateTimeFormatter LOG_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-
+    private static final boolean FSYNC = !"false".equalsIgnoreCase(System.getProperty("database.commit.fsync"));
+
+    private static final MutationJournal USER_JOURNAL = new MutationJournal(new File(USERS_FILE + ".journal"), FSYNC);
+    private static final MutationJournal ITEM_JOURNAL = new MutationJournal(new File(ITEMS_FILE + ".journal"), FSYNC);
+    private static final MutationJournal PURCHASE_ORDER_JOURNAL = new MutationJournal(new File(PURCHASE_ORDERS_FILE + ".journal"), FSYNC);
+    private static final MutationJournal STOCK_JOURNAL = new MutationJournal(new File(STOCK_FILE + ".journal"), FSYNC);
+    private static final MutationJournal SUPPLIER_JOURNAL = new MutationJournal(new File(SUPPLIERS_FILE + ".journal"), FSYNC);
+
+    private static final BinarySnapshot<User> USER_SNAPSHOT = new BinarySnapshot<>(
+            new File(USERS_FILE + ".snap"), "user/1", SnapshotCodecs.USER);
+    private static final BinarySnapshot<Item> ITEM_SNAPSHOT = new BinarySnapshot<>(
+            new File(ITEMS_FILE + ".snap"), "item/1", SnapshotCodecs.ITEM);
+    private static final BinarySnapshot<PurchaseRequisition> REQUISITION_SNAPSHOT = new BinarySnapshot<>(
+            new File(REQUISITIONS_FILE + ".snap"), "requisition/1", SnapshotCodecs.REQUISITION);
+    private static final BinarySnapshot<PurchaseOrder> PURCHASE_ORDER_SNAPSHOT = new BinarySnapshot<>(
+            new File(PURCHASE_ORDERS_FILE + ".snap"), "purchaseOrder/2", SnapshotCodecs.PURCHASE_ORDER);
+    private static final BinarySnapshot<Stock> STOCK_SNAPSHOT = new BinarySnapshot<>(
+            new File(STOCK_FILE + ".snap"), "stock/2", SnapshotCodecs.STOCK);
+    private static final BinarySnapshot<Financial> FINANCIAL_SNAPSHOT = new BinarySnapshot<>(
+            new File(FINANCIAL_FILE + ".snap"), "financial/1", SnapshotCodecs.FINANCIAL);
+    private static final BinarySnapshot<SystemLog> SYSTEM_LOG_SNAPSHOT = new BinarySnapshot<>(
+            new File(SYSTEM_LOGS_FILE + ".snap"), "systemLog/1", SnapshotCodecs.SYSTEM_LOG);
+    private static final BinarySnapshot<SystemLog> INVENTORY_LOG_SNAPSHOT = new BinarySnapshot<>(
+            new File(INVENTORY_LOG_FILE + ".snap"), "systemLog/1", SnapshotCodecs.SYSTEM_LOG);
+    private static final BinarySnapshot<SalesEntry> SALES_ENTRY_SNAPSHOT = new BinarySnapshot<>(
+            new File(SALES_ENTRY_FILE + ".snap"), "salesEntry/1", SnapshotCodecs.SALES_ENTRY);
+    private static final BinarySnapshot<Supplier> SUPPLIER_SNAPSHOT = new BinarySnapshot<>(
+            new File(SUPPLIERS_FILE + ".snap"), "supplier/1", SnapshotCodecs.SUPPLIER);
+
+    private static final EntityCache<User> USER_CACHE = new EntityCache<>("users", User::getUserId,
+            u -> new User(u.getUserId(), u.getUsername(), u.getPassword(), u.getEmail(), u.getRole()))
+            .addUniqueIndex("username", User::getUsername)
+            .withJournal(USER_JOURNAL.getFile());
+    private static final EntityCache<Item> ITEM_CACHE = new EntityCache<>("items", Item::getItemCode,
+            i -> new Item(i.getItemCode(), i.getItemName(), i.getSupplierId(), i.getStockQuantity(), i.getPricePerUnit()))
+            .withJournal(ITEM_JOURNAL.getFile());
+    private static final EntityCache<PurchaseRequisition> REQUISITION_CACHE = new EntityCache<>("requisitions", PurchaseRequisition::getRequisitionId,
+            r -> new PurchaseRequisition(r.getRequisitionId(), r.getItemCode(), r.getItemName(), r.getQuantity(),
+                    r.getRequiredDate(), r.getSalesManagerId(), r.getStatus()))
+            .addIndex("status", r -> statusKey(r.getStatus()))
+            .addIndex("salesManagerId", PurchaseRequisition::getSalesManagerId);
+    private static final EntityCache<PurchaseOrder> PURCHASE_ORDER_CACHE = new EntityCache<>("purchaseOrders", PurchaseOrder::getOrderId,
+            DatabaseHelper::copyPurchaseOrder)
+            .addIndex("status", o -> statusKey(o.getStatus()))
+            .addIndex("supplierId", PurchaseOrder::getSupplierId)
+            .addIndex("requisitionId", PurchaseOrder::getRequisitionId)
+            .addRangeIndex("orderDate", o -> epochDay(o.getOrderDate()))
+            .withJournal(PURCHASE_ORDER_JOURNAL.getFile());
+    private static final EntityCache<Stock> STOCK_CACHE = new EntityCache<>("stock", Stock::getItemCode,
+            DatabaseHelper::copyStock)
+            .addIndex("status", s -> statusKey(s.getStatus()))
+            .withJournal(STOCK_JOURNAL.getFile());
+    private static final EntityCache<Financial> FINANCIAL_CACHE = new EntityCache<>("financial", Financial::getOrderId,
+            f -> new Financial(f.getOrderId(), f.getItemCode(), f.getItemName(), f.getQuantity(), f.getUnitPrice(),
+                    f.getTotalAmount(), f.getOrderDate(), f.getSupplierId(), f.getPurchaseManagerId(), f.getStatus()));
+    private static final EntityCache<SystemLog> SYSTEM_LOG_CACHE = new EntityCache<>("systemLogs", SystemLog::getLogId, DatabaseHelper::copyLog)
+            .addIndex("userId", SystemLog::getUserId)
+            .addIndex("action", SystemLog::getAction)
+            .addRangeIndex("timestamp", log -> epochSecond(log.getTimestamp()));
+    private static final EntityCache<SystemLog> INVENTORY_LOG_CACHE = new EntityCache<>("inventoryLogs", SystemLog::getLogId, DatabaseHelper::copyLog);
+    private static final EntityCache<SalesEntry> SALES_ENTRY_CACHE = new EntityCache<>("salesEntries", SalesEntry::getEntryId,
+            e -> new SalesEntry(e.getEntryId(), e.getDate(), e.getItemId(), e.getItemName(), e.getQuantity(),
+                    e.getCategory(), e.getPricePerUnit(), e.getTotalPrice(), e.getSalesManagerId()));
+    private static final EntityCache<Supplier> SUPPLIER_CACHE = new EntityCache<>("suppliers", Supplier::getSupplierId,
+            s -> new Supplier(s.getSupplierId(), s.getSupplierName(), s.getContactPerson(), s.getContactNumber(),
+                    s.getEmail(), s.getAddress(), s.getSuppliedItems(), s.getLastOrderDate(), s.getStatus()))
+            .withJournal(SUPPLIER_JOURNAL.getFile());
+
+    private static final EntityFileLock STOCK_LOCK = new EntityFileLock(new File(STOCK_FILE));
+    private static final EntityFileLock PURCHASE_ORDER_LOCK = new EntityFileLock(new File(PURCHASE_ORDERS_FILE));
+    private static final int MAX_CONFLICT_RETRIES = 5;
+
+    private static final FileCommitter FILE_COMMITTER = new FileCommitter(
+            Long.getLong("database.commit.window.ms", FileCommitter.DEFAULT_WINDOW_MILLIS), FSYNC);
+
+    private static final IdSequence ID_SEQUENCE = new IdSequence(new File(SEQUENCES_FILE), FILE_COMMITTER,
+            Integer.getInteger("database.sequence.block", IdSequence.DEFAULT_BLOCK_SIZE));
+
+    private static final LogSearchIndex SYSTEM_LOG_SEARCH = new LogSearchIndex();
+    private static final LogSearchIndex INVENTORY_LOG_SEARCH = new LogSearchIndex();
+
+    private static final LogSegments.Period LOG_SEGMENT_PERIOD = LogSegments.Period.valueOf(
+            System.getProperty("database.log.segment.period", "month").toUpperCase(Locale.ROOT));
+    private static final long LOG_SEGMENT_BYTES = Long.getLong("database.log.segment.bytes", LogSegments.DEFAULT_MAX_BYTES);
+
+    private static final LogSegments SYSTEM_LOG_SEGMENTS = new LogSegments(new File(SYSTEM_LOGS_FILE), LOG_HEADER,
+            LOG_SEGMENT_PERIOD, LOG_SEGMENT_BYTES, row -> parseSystemLog(row, "system log"), FILE_COMMITTER, () -> {
+                SYSTEM_LOG_SNAPSHOT.discard();
+                SYSTEM_LOG_CACHE.invalidate();
+            });
+    private static final LogSegments INVENTORY_LOG_SEGMENTS = new LogSegments(new File(INVENTORY_LOG_FILE), LOG_HEADER,
+            LOG_SEGMENT_PERIOD, LOG_SEGMENT_BYTES, row -> parseSystemLog(row, "inventory log"), FILE_COMMITTER, () -> {
+                INVENTORY_LOG_SNAPSHOT.discard();
+                INVENTORY_LOG_CACHE.invalidate();
+            });
+
+    private static final UserLogPartitions SYSTEM_LOG_PARTITIONS = new UserLogPartitions(SYSTEM_LOG_SEGMENTS, LOG_HEADER,
+            row -> parseSystemLog(row, "system log"), DatabaseHelper::formatSystemLog);
+
+    private static final SystemLogWriter SYSTEM_LOG_WRITER = new SystemLogWriter(new File(SYSTEM_LOGS_FILE), LOG_HEADER,
+            "batch".equalsIgnoreCase(System.getProperty("database.log.fsync"))
+                    ? SystemLogWriter.FsyncPolicy.EVERY_BATCH : SystemLogWriter.FsyncPolicy.NEVER,
+            SYSTEM_LOG_SEGMENTS, SYSTEM_LOG_PARTITIONS);
+
+    private static final ParallelCsvLoader PARALLEL_LOADER = new ParallelCsvLoader(
+            Long.getLong("database.parallel.threshold", ParallelCsvLoader.DEFAULT_THRESHOLD),
+            ForkJoinPool.commonPool());
+
+    private static final DataChangeBus CHANGE_BUS = new DataChangeBus();
+
+    private static final List<EntityCache<?>> CACHES = List.of(
+            USER_CACHE, ITEM_CACHE, REQUISITION_CACHE, PURCHASE_ORDER_CACHE, STOCK_CACHE, FINANCIAL_CACHE,
+            SYSTEM_LOG_CACHE, INVENTORY_LOG_CACHE, SALES_ENTRY_CACHE, SUPPLIER_CACHE);
+
+
+    private static final Object INIT_LOCK = new Object();
+    private static final Object COMMIT_LOCK = new Object();
+    private static volatile boolean initialized;
+
+    /**
+     * Prefer {@link DatabaseContext#db()}, which shares one helper across the application. The
+     * data directory and crash recovery are set up by the first construction only; later ones
+     * wait for it to finish.
+     */
     public DatabaseHelper() {
-        createDataDirectoryIfNeeded();
+        if (!initialized) {
+            synchronized (INIT_LOCK) {
+                if (!initialized) {
+                    createDataDirectoryIfNeeded();
+                    recoverJournals();
+                    initialized = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes queued log entries and stops the background writers. Called once by
+     * {@link DatabaseContext#close()}.
+     */
+    static void shutdown() {
+        SYSTEM_LOG_WRITER.close();
+        FILE_COMMITTER.close();
+        CHANGE_BUS.close();
     }
 
     private void createDataDirectoryIfNeeded() {
@@ -55,35 +213,421 @@ public class DatabaseHelper {
         }
     }
 
+    private void recoverJournals() {
+        FileCommitter.deleteLeftovers(new File(DATA_DIRECTORY));
+        try {
+            recoverTransaction();
+            if (USER_JOURNAL.getFile().exists()) {
+                writeUsersToFile(getAllUsers());
+            }
+            if (ITEM_JOURNAL.getFile().exists()) {
+                writeItemsToFile(getAllItems());
+            }
+            if (PURCHASE_ORDER_JOURNAL.getFile().exists()) {
+                compactPurchaseOrders();
+            }
+            if (STOCK_JOURNAL.getFile().exists()) {
+                compactStock();
+            }
+            if (SUPPLIER_JOURNAL.getFile().exists()) {
+                writeSuppliersToFile(getAllSuppliers());
+            }
+        } catch (IOException e) {
+            System.err.println("Error replaying mutation journals: " + e.getMessage());
+        }
+    }
+
+    public interface Attempt<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs {@code attempt}, running it again from the top when it fails with a
+     * {@link StaleRecordException}, up to {@value #MAX_CONFLICT_RETRIES} times in total.
+     */
+    public <T> T retryOnConflict(Attempt<T> attempt) throws IOException {
+        for (int tries = 1; ; tries++) {
+            try {
+                return attempt.run();
+            } catch (StaleRecordException e) {
+                if (tries >= MAX_CONFLICT_RETRIES) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L * tries));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void checkVersion(String entity, String key, int expected, int actual) throws StaleRecordException {
+        if (expected != actual) {
+            throw new StaleRecordException(entity, key, expected, actual);
+        }
+    }
+
+    public Transaction beginTransaction() {
+        return new Transaction(this);
+    }
+
+    /**
+     * Commits a transaction: the redo record is made durable first, then each touched file
+     * gets one batched write, log rows included, then the redo record is removed once all of
+     * it is on disk. Commits are serialized and
+     * hold the stock and purchase order locks while staged versions are checked and bumped.
+     */
+    void commit(Transaction tx) throws IOException {
+        synchronized (COMMIT_LOCK) {
+            STOCK_LOCK.call(() -> PURCHASE_ORDER_LOCK.call(() -> {
+                commitLocked(tx);
+                return null;
+            }));
+        }
+    }
+
+    private void commitLocked(Transaction tx) throws IOException {
+        for (Stock stock : tx.stock.values()) {
+            Stock current = getStockByItemCode(stock.getItemCode());
+            int actual = current != null ? current.getVersion() : 0;
+            checkVersion("Stock item", stock.getItemCode(), stock.getVersion(), actual);
+        }
+        for (PurchaseOrder order : tx.purchaseOrders.values()) {
+            PurchaseOrder current = getPurchaseOrderById(order.getOrderId());
+            int actual = current != null ? current.getVersion() : 0;
+            checkVersion("Purchase order", order.getOrderId(), order.getVersion(), actual);
+        }
+        // Stage bumped copies so the caller's rows keep their version unless the commit succeeds.
+        List<Stock> stagedStock = new ArrayList<>(tx.stock.values());
+        List<PurchaseOrder> stagedOrders = new ArrayList<>(tx.purchaseOrders.values());
+        tx.stock.replaceAll((code, stock) -> {
+            Stock copy = copyStock(stock);
+            copy.setVersion(stock.getVersion() + 1);
+            return copy;
+        });
+        tx.purchaseOrders.replaceAll((id, order) -> {
+            PurchaseOrder copy = copyPurchaseOrder(order);
+            copy.setVersion(order.getVersion() + 1);
+            return copy;
+        });
+
+        List<String> records = formatRedo(tx);
+        File redo = new File(TRANSACTION_REDO_FILE);
+        FILE_COMMITTER.replace(redo, writer -> {
+            for (String record : records) {
+                writer.write(record);
+                writer.newLine();
+            }
+        });
+
+        List<DataChange<?>> changes = stagedChanges(tx);
+        applyTransaction(tx, false);
+        Files.deleteIfExists(redo.toPath());
+        stagedStock.forEach(stock -> stock.setVersion(stock.getVersion() + 1));
+        stagedOrders.forEach(order -> order.setVersion(order.getVersion() + 1));
+        changes.forEach(CHANGE_BUS::publish);
+    }
+
+    /**
+     * The row changes a transaction is about to apply, read beforehand so each update carries the
+     * row it replaces; a row that is not stored yet is an insert. Empty when nobody listens, to
+     * skip the reads.
+     */
+    private List<DataChange<?>> stagedChanges(Transaction tx) throws IOException {
+        List<DataChange<?>> changes = new ArrayList<>();
+        if (CHANGE_BUS.getSubscriberCount() == 0) {
+            return changes;
+        }
+        for (User user : tx.users.values()) {
+            changes.add(stagedChange(User.class, user.getUserId(), getUserById(user.getUserId()),
+                    USER_CACHE.copy(user)));
+        }
+        for (Item item : tx.items.values()) {
+            changes.add(stagedChange(Item.class, item.getItemCode(), getItemByCode(item.getItemCode()),
+                    ITEM_CACHE.copy(item)));
+        }
+        for (PurchaseRequisition requisition : tx.requisitions.values()) {
+            String id = requisition.getRequisitionId();
+            changes.add(stagedChange(PurchaseRequisition.class, id, getPurchaseRequisitionById(id),
+                    REQUISITION_CACHE.copy(requisition)));
+        }
+        for (PurchaseOrder order : tx.purchaseOrders.values()) {
+            changes.add(stagedChange(PurchaseOrder.class, order.getOrderId(), getPurchaseOrderById(order.getOrderId()),
+                    PURCHASE_ORDER_CACHE.copy(order)));
+        }
+        for (Stock stock : tx.stock.values()) {
+            changes.add(stagedChange(Stock.class, stock.getItemCode(), getStockByItemCode(stock.getItemCode()),
+                    STOCK_CACHE.copy(stock)));
+        }
+        for (Supplier supplier : tx.suppliers.values()) {
+            changes.add(stagedChange(Supplier.class, supplier.getSupplierId(), getSupplierById(supplier.getSupplierId()),
+                    SUPPLIER_CACHE.copy(supplier)));
+        }
+        return changes;
+    }
+
+    private static <T> DataChange<T> stagedChange(Class<T> entity, String key, T previous, T row) {
+        return previous == null ? DataChange.inserted(entity, key, row) : DataChange.updated(entity, key, previous, row);
+    }
+
+    /**
+     * Replays the redo record of a commit that did not finish. Holds the same locks as
+     * {@link #commit}, so a record another desk is still committing is waited out; once the
+     * locks are held, a record that is still there was left by a crash.
+     */
+    private void recoverTransaction() throws IOException {
+        if (!new File(TRANSACTION_REDO_FILE).exists()) {
+            return;
+        }
+        synchronized (COMMIT_LOCK) {
+            STOCK_LOCK.call(() -> PURCHASE_ORDER_LOCK.call(() -> {
+                replayRedo();
+                return null;
+            }));
+        }
+    }
+
+    private void replayRedo() throws IOException {
+        File redo = new File(TRANSACTION_REDO_FILE);
+        if (!redo.exists()) {
+            return;
+        }
+
+        Transaction tx = new Transaction(this);
+        Map<String, String> itemNames = getItemNamesByCode();
+        try (CsvReader reader = new CsvReader(new FileReader(redo))) {
+            while (reader.next()) {
+                if (reader.isBlank() || reader.size() < 2) {
+                    continue;
+                }
+                CsvReader row = CsvReader.ofLine(reader.get(1));
+                switch (reader.get(0)) {
+                    case "user" -> addRecovered(tx.users, parseUser(row), User::getUserId);
+                    case "item" -> addRecovered(tx.items, parseItem(row), Item::getItemCode);
+                    case "requisition" -> addRecovered(tx.requisitions, parseRequisition(row), PurchaseRequisition::getRequisitionId);
+                    case "purchaseOrder" -> addRecovered(tx.purchaseOrders, parsePurchaseOrder(row, itemNames), PurchaseOrder::getOrderId);
+                    case "stock" -> addRecovered(tx.stock, parseStock(row), Stock::getItemCode);
+                    case "supplier" -> addRecovered(tx.suppliers, parseSupplier(row), Supplier::getSupplierId);
+                    case "systemLog" -> tx.systemLogs.add(parseSystemLog(row, "system log"));
+                    case "inventoryLog" -> tx.inventoryLogs.add(parseSystemLog(row, "inventory log"));
+                    default -> System.err.println("Skipping unknown redo record: " + reader.line());
+                }
+            }
+        }
+
+        tx.systemLogs.removeIf(log -> log == null);
+        tx.inventoryLogs.removeIf(log -> log == null);
+        applyTransaction(tx, true);
+        Files.deleteIfExists(redo.toPath());
+    }
+
+    private <T> void addRecovered(Map<String, T> rows, T row, Function<T, String> key) {
+        if (row != null) {
+            rows.put(key.apply(row), row);
+        }
+    }
+
+    private List<String> formatRedo(Transaction tx) {
+        List<String> records = new ArrayList<>();
+        CsvWriter writer = new CsvWriter();
+        tx.users.values().forEach(user -> records.add(writer.field("user").field(formatUser(user)).build()));
+        tx.items.values().forEach(item -> records.add(writer.field("item").field(formatItem(item)).build()));
+        tx.requisitions.values().forEach(requisition ->
+                records.add(writer.field("requisition").field(formatRequisition(requisition)).build()));
+        tx.purchaseOrders.values().forEach(order ->
+                records.add(writer.field("purchaseOrder").field(formatPurchaseOrder(order)).build()));
+        tx.stock.values().forEach(stock -> records.add(writer.field("stock").field(formatStock(stock)).build()));
+        tx.suppliers.values().forEach(supplier ->
+                records.add(writer.field("supplier").field(formatSupplier(supplier)).build()));
+        tx.systemLogs.forEach(log -> records.add(writer.field("systemLog").field(formatSystemLog(log)).build()));
+        tx.inventoryLogs.forEach(log -> records.add(writer.field("inventoryLog").field(formatSystemLog(log)).build()));
+        return records;
+    }
+
+    /**
+     * Applies every staged change with one write per file. Re-applying is harmless: upserts
+     * replace by key, and during recovery log rows already on disk are skipped by id.
+     */
+    private void applyTransaction(Transaction tx, boolean recovering) throws IOException {
+        if (!tx.users.isEmpty()) {
+            USER_JOURNAL.appendUpserts(formatAll(tx.users.values(), this::formatUser));
+            USER_CACHE.invalidate();
+            compactUsersIfNeeded();
+        }
+        if (!tx.items.isEmpty()) {
+            ITEM_JOURNAL.appendUpserts(formatAll(tx.items.values(), this::formatItem));
+            ITEM_CACHE.invalidate();
+            invalidateItemJoins();
+            compactItemsIfNeeded();
+        }
+        if (!tx.purchaseOrders.isEmpty()) {
+            PURCHASE_ORDER_JOURNAL.appendUpserts(formatAll(tx.purchaseOrders.values(), this::formatPurchaseOrder));
+            PURCHASE_ORDER_CACHE.invalidate();
+            compactPurchaseOrdersIfNeeded();
+        }
+        if (!tx.stock.isEmpty()) {
+            STOCK_JOURNAL.appendUpserts(formatAll(tx.stock.values(), this::formatStock));
+            STOCK_CACHE.invalidate();
+            compactStockIfNeeded();
+        }
+        if (!tx.suppliers.isEmpty()) {
+            SUPPLIER_JOURNAL.appendUpserts(formatAll(tx.suppliers.values(), this::formatSupplier));
+            SUPPLIER_CACHE.invalidate();
+            compactSuppliersIfNeeded();
+        }
+
+        if (!tx.requisitions.isEmpty()) {
+            Map<String, PurchaseRequisition> pending = new HashMap<>(tx.requisitions);
+            List<PurchaseRequisition> requisitions = new ArrayList<>(getAllPurchaseRequisitions());
+            for (int i = 0; i < requisitions.size(); i++) {
+                PurchaseRequisition updated = pending.remove(requisitions.get(i).getRequisitionId());
+                if (updated != null) {
+                    requisitions.set(i, updated);
+                }
+            }
+            requisitions.addAll(pending.values());
+            writeRequisitionsToFile(requisitions);
+        }
+
+        if (!tx.systemLogs.isEmpty()) {
+            List<SystemLog> logs = tx.systemLogs;
+            if (recovering) {
+                logs = withoutLogged(logs, getAllSystemLogs());
+            }
+            SYSTEM_LOG_WRITER.appendNow(formatAll(logs, DatabaseHelper::formatSystemLog), FSYNC);
+        }
+        if (!tx.inventoryLogs.isEmpty()) {
+            List<SystemLog> logs = tx.inventoryLogs;
+            if (recovering) {
+                logs = withoutLogged(logs, getInventoryLogs());
+            }
+            appendInventoryLogs(formatAll(logs, DatabaseHelper::formatSystemLog), FSYNC);
+        }
+    }
+
+    private <T> List<String> formatAll(Collection<T> rows, Function<T, String> format) {
+        List<String> formatted = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            formatted.add(format.apply(row));
+        }
+        return formatted;
+    }
+
+    private List<SystemLog> withoutLogged(List<SystemLog> logs, List<SystemLog> existing) {
+        Set<String> logged = new HashSet<>();
+        for (SystemLog log : existing) {
+            logged.add(log.getLogId());
+        }
+        List<SystemLog> missing = new ArrayList<>();
+        for (SystemLog log : logs) {
+            if (!logged.contains(log.getLogId())) {
+                missing.add(log);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Bus on which every committed insert, update and delete of an entity row is published.
+     */
+    public static DataChangeBus getChangeBus() {
+        return CHANGE_BUS;
+    }
+
+    public static List<EntityCache<?>> getCaches() {
+        return CACHES;
+    }
+
+    public static long getCacheHitCount() {
+        long hits = 0;
+        for (EntityCache<?> cache : CACHES) {
+            hits += cache.getHitCount();
+        }
+        return hits;
+    }
+
+    public static long getCacheMissCount() {
+        long misses = 0;
+        for (EntityCache<?> cache : CACHES) {
+            misses += cache.getMissCount();
+        }
+        return misses;
+    }
+
+    public static void invalidateCaches() {
+        for (EntityCache<?> cache : CACHES) {
+            cache.invalidate();
+        }
+    }
+
+    private static SystemLog copyLog(SystemLog log) {
+        return new SystemLog(log.getLogId(), log.getUserId(), log.getUsername(), log.getAction(),
+                log.getDetails(), log.getTimestamp(), log.getUserRole());
+    }
+
+    private static PurchaseOrder copyPurchaseOrder(PurchaseOrder o) {
+        PurchaseOrder copy = new PurchaseOrder(o.getOrderId(), o.getRequisitionId(), o.getItemCode(), o.getItemName(),
+                o.getQuantity(), o.getUnitPrice(), o.getTotalAmount(), o.getOrderDate(),
+                o.getExpectedDeliveryDate(), o.getSupplierId(), o.getPurchaseManagerId(), o.getStatus());
+        copy.setVersion(o.getVersion());
+        return copy;
+    }
+
+    private static Stock copyStock(Stock s) {
+        Stock copy = new Stock(s.getItemCode(), s.getItemName(), s.getQuantity(), s.getLocation(), s.getLastUpdated(), s.getStatus());
+        copy.setVersion(s.getVersion());
+        return copy;
+    }
+
+    private static String statusKey(String status) {
+        return status != null ? status.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : Long.MIN_VALUE;
+    }
+
+    private static long epochSecond(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+    }
+
     
     public List<User> getAllUsers() throws IOException {
-        List<User> users = new ArrayList<>();
         File file = new File(USERS_FILE);
 
         if (!file.exists()) {
+            List<User> users = new ArrayList<>();
             writeUsersToFile(users);
             return users;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return USER_CACHE.read(file, () -> readUsersFromFile(file));
+    }
+
+    private List<User> readUsersFromFile(File file) throws IOException {
+        List<User> users = readWithSnapshot(file, USER_SNAPSHOT, () -> parseUsersFile(file));
+        return USER_JOURNAL.replay(users, User::getUserId, row -> parseUser(CsvReader.ofLine(row)));
+    }
+
+    private List<User> parseUsersFile(File file) throws IOException {
+        List<User> users = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 5) {
-                    String userId = parts[0];
-                    String username = parts[1];
-                    String password = parts[2];
-                    String email = parts[3];
-                    String role = parts[4];
-
-                    User user = new User(userId, username, password, email, role);
+                User user = parseUser(reader);
+                if (user != null) {
                     users.add(user);
                 }
             }
@@ -91,24 +635,43 @@ public class DatabaseHelper {
         return users;
     }
 
-    public User getUserById(String userId) throws IOException {
-        List<User> users = getAllUsers();
-        for (User user : users) {
-            if (user.getUserId().equals(userId)) {
-                return user;
-            }
+    private User parseUser(CsvReader row) {
+        if (row.size() >= 5) {
+            String userId = row.get(0);
+            String username = row.get(1);
+            String password = row.get(2);
+            String email = row.get(3);
+            String role = row.get(4);
+
+            return new User(userId, username, password, email, role);
         }
         return null;
     }
 
+    private String formatUser(User user) {
+        return new CsvWriter()
+                .field(user.getUserId())
+                .field(user.getUsername())
+                .field(user.getPassword())
+                .field(user.getEmail())
+                .field(user.getRole())
+                .build();
+    }
+
+    public User getUserById(String userId) throws IOException {
+        File file = new File(USERS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return USER_CACHE.findByKey(file, () -> readUsersFromFile(file), userId);
+    }
+
     public User getUserByUsername(String username) throws IOException {
-        List<User> users = getAllUsers();
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
+        File file = new File(USERS_FILE);
+        if (!file.exists()) {
+            return null;
         }
-        return null;
+        return USER_CACHE.findByIndex("username", file, () -> readUsersFromFile(file), username);
     }
 
     public User validateUser(String username, String password) throws IOException {
@@ -116,11 +679,9 @@ public class DatabaseHelper {
     }
 
     public User authenticate(String username, String password) throws IOException {
-        List<User> users = getAllUsers();
-        for (User user : users) {
-            if (user.getUsername().equals(username) && user.getPassword().equals(password)) {
-                return user;
-            }
+        User user = getUserByUsername(username);
+        if (user != null && user.getPassword().equals(password)) {
+            return user;
         }
         return null;
     }
@@ -130,7 +691,7 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("User cannot be null");
         }
 
-        List<User> users = getAllUsers();
+        List<User> users = new ArrayList<>(getAllUsers());
 
         for (User existingUser : users) {
             if (existingUser.getUserId().equals(user.getUserId())) {
@@ -147,22 +708,18 @@ public class DatabaseHelper {
 
         users.add(user);
         writeUsersToFile(users);
+        CHANGE_BUS.publish(DataChange.inserted(User.class, user.getUserId(), USER_CACHE.copy(user)));
     }
 
     private String generateUserId() throws IOException {
-        List<User> users = getAllUsers();
-        int maxId = 0;
-        for (User user : users) {
-            String idNumberStr = user.getUserId().replaceAll("[^0-9]", ""); 
-            try {
-                int id = Integer.parseInt(idNumberStr);
-                maxId = Math.max(maxId, id);
-            } catch (NumberFormatException e) {
-                
+        // User ids carry a role prefix, so the seed looks at the digits of every id.
+        return ID_SEQUENCE.nextId("U", 3, () -> {
+            long maxId = 0;
+            for (User user : getAllUsers()) {
+                maxId = Math.max(maxId, idNumber(user.getUserId().replaceAll("[^0-9]", ""), ""));
             }
-        }
-        
-        return "U" + String.format("%03d", maxId + 1);
+            return maxId;
+        });
     }
 
 
@@ -171,132 +728,180 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("User cannot be null");
         }
 
-        List<User> users = getAllUsers();
-        boolean found = false;
-
-        for (int i = 0; i < users.size(); i++) {
-            if (users.get(i).getUserId().equals(user.getUserId())) {
-                users.set(i, user);
-                found = true;
-                break;
-            }
-        }
-
-        if (!found) {
+        User previous = getUserById(user.getUserId());
+        if (previous == null) {
             throw new IllegalArgumentException("User not found: " + user.getUserId());
         }
 
-        writeUsersToFile(users);
+        File file = new File(USERS_FILE);
+        USER_CACHE.applyUpsert(file, user, () -> USER_JOURNAL.appendUpsert(formatUser(user)));
+        compactUsersIfNeeded();
+        CHANGE_BUS.publish(DataChange.updated(User.class, user.getUserId(), previous, USER_CACHE.copy(user)));
     }
 
     public void deleteUser(String userId) throws IOException {
-        List<User> users = getAllUsers();
-        boolean removed = false;
-
-        for (int i = 0; i < users.size(); i++) {
-            if (users.get(i).getUserId().equals(userId)) {
-                users.remove(i);
-                removed = true;
-                break;
-            }
-        }
-
-        if (!removed) {
+        User previous = getUserById(userId);
+        if (previous == null) {
             throw new IllegalArgumentException("User not found: " + userId);
         }
 
-        writeUsersToFile(users);
+        File file = new File(USERS_FILE);
+        USER_CACHE.applyDelete(file, userId, () -> USER_JOURNAL.appendDelete(userId));
+        compactUsersIfNeeded();
+        CHANGE_BUS.publish(DataChange.deleted(User.class, userId, previous));
+    }
+
+    private void compactUsersIfNeeded() throws IOException {
+        if (USER_JOURNAL.needsCompaction()) {
+            writeUsersToFile(getAllUsers());
+        }
     }
 
     private void writeUsersToFile(List<User> users) throws IOException {
         File file = new File(USERS_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
             writer.write("userId,username,password,email,role");
             writer.newLine();
 
             for (User user : users) {
-                writer.write(String.format("%s,%s,%s,%s,%s",
-                        user.getUserId(),
-                        user.getUsername(),
-                        user.getPassword(),
-                        user.getEmail(),
-                        user.getRole()
-                ));
+                writer.write(formatUser(user));
                 writer.newLine();
             }
+        });
+
+        USER_SNAPSHOT.discard();
+        USER_JOURNAL.clear();
+        if (written) {
+            USER_CACHE.put(file, users);
+        } else {
+            USER_CACHE.invalidate();
         }
     }
 
     
     public List<Item> getAllItems() throws IOException {
-    List<Item> items = new ArrayList<>();
     File file = new File(ITEMS_FILE);
 
     if (!file.exists()) {
+        List<Item> items = new ArrayList<>();
         writeItemsToFile(items);
         return items;
     }
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-        String line;
+    return ITEM_CACHE.read(file, () -> readItemsFromFile(file));
+}
+
+    private List<Item> readItemsFromFile(File file) throws IOException {
+    List<Item> items = readWithSnapshot(file, ITEM_SNAPSHOT, () -> parseItemsFile(file));
+    return ITEM_JOURNAL.replay(items, Item::getItemCode, row -> parseItem(CsvReader.ofLine(row)));
+}
+
+    private List<Item> parseItemsFile(File file) throws IOException {
+    List<Item> items = new ArrayList<>();
+
+    try (CsvReader reader = new CsvReader(new FileReader(file))) {
         boolean firstLine = true;
 
-        while ((line = reader.readLine()) != null) {
+        while (reader.next()) {
             if (firstLine) {
                 firstLine = false;
                 continue;
             }
+            if (reader.isBlank()) {
+                continue;
+            }
 
-            String[] parts = line.split(",");
-            if (parts.length >= 5) { 
-                String itemCode = parts[0];
-                String itemName = parts[1];
-                String supplierId = parts[2];
-                
-                try {
-                    int stockQuantity = Integer.parseInt(parts[3]);
-                    double pricePerUnit = Double.parseDouble(parts[4]);
-                    
-                    Item item = new Item(itemCode, itemName, supplierId, stockQuantity, pricePerUnit);
-                    items.add(item);
-                } catch (NumberFormatException e) {
-                    System.err.println("Skipping item with invalid numeric data: " + line);
-                }
-            } else if (parts.length >= 3) {
-                
-                String itemCode = parts[0];
-                String itemName = parts[1];
-                String supplierId = parts[2];
-                
-                Item item = new Item(itemCode, itemName, supplierId, 0, 0.0);
+            Item item = parseItem(reader);
+            if (item != null) {
                 items.add(item);
-            } else {
-                System.err.println("Skipping malformed item line: " + line);
             }
         }
     }
     return items;
 }
 
-
-    public Item getItemByCode(String itemCode) throws IOException {
-        List<Item> items = getAllItems();
-        for (Item item : items) {
-            if (item.getItemCode().equals(itemCode)) {
-                return item;
+    private Item parseItem(CsvReader row) {
+        if (row.size() >= 5) { 
+            String itemCode = row.get(0);
+            String itemName = row.get(1);
+            String supplierId = row.get(2);
+            
+            try {
+                int stockQuantity = row.getInt(3);
+                double pricePerUnit = row.getDouble(4);
+                
+                return new Item(itemCode, itemName, supplierId, stockQuantity, pricePerUnit);
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping item with invalid numeric data: " + row.line());
             }
+        } else if (row.size() >= 3) {
+            
+            String itemCode = row.get(0);
+            String itemName = row.get(1);
+            String supplierId = row.get(2);
+            
+            return new Item(itemCode, itemName, supplierId, 0, 0.0);
+        } else {
+            System.err.println("Skipping malformed item line: " + row.line());
         }
         return null;
     }
 
+    private String formatItem(Item item) {
+        return new CsvWriter()
+                .field(item.getItemCode())
+                .field(item.getItemName())
+                .field(item.getSupplierId())
+                .field(item.getStockQuantity())
+                .money(item.getPricePerUnit())
+                .build();
+    }
+
+
+    private <T> List<T> readWithSnapshot(File file, BinarySnapshot<T> snapshot, EntityCache.Loader<T> parser)
+            throws IOException {
+        List<T> rows = snapshot.load(file);
+        if (rows != null) {
+            return rows;
+        }
+
+        long length = file.length();
+        long modified = file.lastModified();
+        rows = parser.load();
+        if (file.length() == length && file.lastModified() == modified) {
+            snapshot.save(file, length, modified, rows);
+        }
+        return rows;
+    }
+
+    private Map<String, String> getItemNamesByCode() {
+        Map<String, String> itemNames = new HashMap<>();
+        try {
+            for (Item item : getAllItems()) {
+                itemNames.put(item.getItemCode(), item.getItemName());
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading item names: " + e.getMessage());
+        }
+        return itemNames;
+    }
+
+    public Item getItemByCode(String itemCode) throws IOException {
+        File file = new File(ITEMS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return ITEM_CACHE.findByKey(file, () -> readItemsFromFile(file), itemCode);
+    }
+
     public void addItem(Item item) throws IOException {
         if (item == null || !item.validateItemData()) {
             throw new IllegalArgumentException("Invalid item data");
         }
 
-        List<Item> items = getAllItems();
+        List<Item> items = new ArrayList<>(getAllItems());
 
         for (Item existingItem : items) {
             if (existingItem.getItemCode().equals(item.getItemCode())) {
@@ -306,6 +911,7 @@ public class DatabaseHelper {
 
         items.add(item);
         writeItemsToFile(items);
+        CHANGE_BUS.publish(DataChange.inserted(Item.class, item.getItemCode(), ITEM_CACHE.copy(item)));
     }
 
     public void createItem(Item item) throws IOException {
@@ -317,141 +923,190 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("Invalid item data");
         }
 
-        List<Item> items = getAllItems();
-        boolean found = false;
-
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getItemCode().equals(item.getItemCode())) {
-                items.set(i, item);
-                found = true;
-                break;
-            }
-        }
-
-        if (!found) {
+        Item previous = getItemByCode(item.getItemCode());
+        if (previous == null) {
             throw new IllegalArgumentException("Item not found: " + item.getItemCode());
         }
 
-        writeItemsToFile(items);
+        File file = new File(ITEMS_FILE);
+        ITEM_CACHE.applyUpsert(file, item, () -> ITEM_JOURNAL.appendUpsert(formatItem(item)));
+        invalidateItemJoins();
+        compactItemsIfNeeded();
+        CHANGE_BUS.publish(DataChange.updated(Item.class, item.getItemCode(), previous, ITEM_CACHE.copy(item)));
     }
 
     public void deleteItem(String itemCode) throws IOException {
-        List<Item> items = getAllItems();
-        boolean removed = false;
-
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getItemCode().equals(itemCode)) {
-                items.remove(i);
-                removed = true;
-                break;
-            }
-        }
-
-        if (!removed) {
+        Item previous = getItemByCode(itemCode);
+        if (previous == null) {
             throw new IllegalArgumentException("Item not found: " + itemCode);
         }
 
-        writeItemsToFile(items);
+        File file = new File(ITEMS_FILE);
+        ITEM_CACHE.applyDelete(file, itemCode, () -> ITEM_JOURNAL.appendDelete(itemCode));
+        invalidateItemJoins();
+        compactItemsIfNeeded();
+        CHANGE_BUS.publish(DataChange.deleted(Item.class, itemCode, previous));
+    }
+
+    private void compactItemsIfNeeded() throws IOException {
+        if (ITEM_JOURNAL.needsCompaction()) {
+            writeItemsToFile(getAllItems());
+        }
     }
 
     private void writeItemsToFile(List<Item> items) throws IOException {
     File file = new File(ITEMS_FILE);
     file.getParentFile().mkdirs();
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+    boolean written = FILE_COMMITTER.replace(file, writer -> {
         writer.write("itemCode,itemName,supplierId,stockQuantity,pricePerUnit");
         writer.newLine();
 
         for (Item item : items) {
-            writer.write(String.format("%s,%s,%s,%d,%.2f",
-                    item.getItemCode(),
-                    item.getItemName(),
-                    item.getSupplierId(),
-                    item.getStockQuantity(),
-                    item.getPricePerUnit()
-            ));
+            writer.write(formatItem(item));
             writer.newLine();
         }
+    });
+
+    ITEM_SNAPSHOT.discard();
+    ITEM_JOURNAL.clear();
+    if (written) {
+        ITEM_CACHE.put(file, items);
+    } else {
+        ITEM_CACHE.invalidate();
     }
+    invalidateItemJoins();
 }
 
+    /**
+     * Purchase orders and requisitions get their item names from item.txt when they are read,
+     * so their cached rows are dropped whenever items change.
+     */
+    private static void invalidateItemJoins() {
+        PURCHASE_ORDER_CACHE.invalidate();
+        REQUISITION_CACHE.invalidate();
+    }
+
     
     
     public List<PurchaseRequisition> getAllPurchaseRequisitions() throws IOException {
-        List<PurchaseRequisition> requisitions = new ArrayList<>();
         File file = new File(REQUISITIONS_FILE);
 
         if (!file.exists()) {
+            List<PurchaseRequisition> requisitions = new ArrayList<>();
             writeRequisitionsToFile(requisitions);
             return requisitions;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return REQUISITION_CACHE.read(file, () -> readRequisitionsFromFile(file));
+    }
+
+    private List<PurchaseRequisition> readRequisitionsFromFile(File file) throws IOException {
+        List<PurchaseRequisition> requisitions =
+                readWithSnapshot(file, REQUISITION_SNAPSHOT, () -> parseRequisitionsFile(file));
+
+        Map<String, String> itemNames = null;
+        for (PurchaseRequisition requisition : requisitions) {
+            if (requisition.getItemName() == null) {
+                if (itemNames == null) {
+                    itemNames = getItemNamesByCode();
+                }
+                requisition.setItemName(itemNames.getOrDefault(requisition.getItemCode(), ""));
+            }
+        }
+        return requisitions;
+    }
+
+    private List<PurchaseRequisition> parseRequisitionsFile(File file) throws IOException {
+        List<PurchaseRequisition> requisitions = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 6) {
-                    try {
-                        String requisitionId = parts[0];
-                        String itemCode = parts[1];
-                        int quantity = Integer.parseInt(parts[2]);
-                        LocalDate requiredDate = LocalDate.parse(parts[3], DATE_FORMATTER);
-                        String salesManagerId = parts[4];
-                        String status = parts[5];
-
-                        String itemName = "";
-                        if (parts.length > 6) {
-                            itemName = parts[6];
-                        } else {
-                            try {
-                                Item item = getItemByCode(itemCode);
-                                if (item != null) {
-                                    itemName = item.getItemName();
-                                }
-                            } catch (IOException e) {
-                                System.err.println("Error fetching item name for requisition " + requisitionId + ": " + e.getMessage());
-                            }
-                        }
-
-                        PurchaseRequisition requisition = new PurchaseRequisition(
-                                requisitionId, itemCode, itemName, quantity, requiredDate, salesManagerId, status
-                        );
-
-                        requisitions.add(requisition);
-                    } catch (NumberFormatException | DateTimeParseException e) {
-                        System.err.println("Skipping invalid requisition line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed requisition line: " + line);
+                PurchaseRequisition requisition = parseRequisition(reader);
+                if (requisition != null) {
+                    requisitions.add(requisition);
                 }
             }
         }
         return requisitions;
     }
 
-    public PurchaseRequisition getPurchaseRequisitionById(String requisitionId) throws IOException {
-        List<PurchaseRequisition> requisitions = getAllPurchaseRequisitions();
-        for (PurchaseRequisition requisition : requisitions) {
-            if (requisition.getRequisitionId().equals(requisitionId)) {
-                return requisition;
+    private PurchaseRequisition parseRequisition(CsvReader row) {
+        if (row.size() >= 6) {
+            try {
+                String requisitionId = row.get(0);
+                String itemCode = row.get(1);
+                int quantity = row.getInt(2);
+                LocalDate requiredDate = LocalDate.parse(row.get(3), DATE_FORMATTER);
+                String salesManagerId = row.get(4);
+                String status = row.get(5);
+
+                String itemName = row.size() > 6 ? row.get(6) : null;
+
+                return new PurchaseRequisition(
+                        requisitionId, itemCode, itemName, quantity, requiredDate, salesManagerId, status
+                );
+            } catch (NumberFormatException | DateTimeParseException e) {
+                System.err.println("Skipping invalid requisition line: " + row.line() + " - " + e.getMessage());
             }
+        } else {
+            System.err.println("Skipping malformed requisition line: " + row.line());
         }
         return null;
     }
 
+    private String formatRequisition(PurchaseRequisition requisition) {
+        return new CsvWriter()
+                .field(requisition.getRequisitionId())
+                .field(requisition.getItemCode())
+                .field(requisition.getQuantity())
+                .field(requisition.getRequiredDate().format(DATE_FORMATTER))
+                .field(requisition.getSalesManagerId())
+                .field(requisition.getStatus())
+                .field(requisition.getItemName() != null ? requisition.getItemName() : "")
+                .build();
+    }
+
+    public List<PurchaseRequisition> getPurchaseRequisitionsByStatus(String status) throws IOException {
+        File file = new File(REQUISITIONS_FILE);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        return REQUISITION_CACHE.findAllByIndex("status", file, () -> readRequisitionsFromFile(file), statusKey(status));
+    }
+
+    public List<PurchaseRequisition> getPurchaseRequisitionsBySalesManager(String salesManagerId) throws IOException {
+        File file = new File(REQUISITIONS_FILE);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        return REQUISITION_CACHE.findAllByIndex("salesManagerId", file, () -> readRequisitionsFromFile(file), salesManagerId);
+    }
+
+    public PurchaseRequisition getPurchaseRequisitionById(String requisitionId) throws IOException {
+        File file = new File(REQUISITIONS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return REQUISITION_CACHE.findByKey(file, () -> readRequisitionsFromFile(file), requisitionId);
+    }
+
     public void addPurchaseRequisition(PurchaseRequisition requisition) throws IOException {
         if (requisition == null || !requisition.validateData()) {
             throw new IllegalArgumentException("Invalid requisition data");
         }
 
-        List<PurchaseRequisition> requisitions = getAllPurchaseRequisitions();
+        List<PurchaseRequisition> requisitions = new ArrayList<>(getAllPurchaseRequisitions());
 
         for (PurchaseRequisition existing : requisitions) {
             if (existing.getRequisitionId().equals(requisition.getRequisitionId())) {
@@ -461,6 +1116,8 @@ public class DatabaseHelper {
 
         requisitions.add(requisition);
         writeRequisitionsToFile(requisitions);
+        CHANGE_BUS.publish(DataChange.inserted(PurchaseRequisition.class, requisition.getRequisitionId(),
+                REQUISITION_CACHE.copy(requisition)));
     }
 
     public void updatePurchaseRequisition(PurchaseRequisition requisition) throws IOException {
@@ -468,561 +1125,1146 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("Invalid requisition data");
         }
 
-        List<PurchaseRequisition> requisitions = getAllPurchaseRequisitions();
-        boolean found = false;
+        List<PurchaseRequisition> requisitions = new ArrayList<>(getAllPurchaseRequisitions());
+        PurchaseRequisition previous = null;
 
         for (int i = 0; i < requisitions.size(); i++) {
             if (requisitions.get(i).getRequisitionId().equals(requisition.getRequisitionId())) {
-                requisitions.set(i, requisition);
-                found = true;
+                previous = requisitions.set(i, requisition);
                 break;
             }
         }
 
-        if (!found) {
+        if (previous == null) {
             throw new IllegalArgumentException("Requisition not found: " + requisition.getRequisitionId());
         }
 
         writeRequisitionsToFile(requisitions);
+        CHANGE_BUS.publish(DataChange.updated(PurchaseRequisition.class, requisition.getRequisitionId(), previous,
+                REQUISITION_CACHE.copy(requisition)));
     }
 
     public void deletePurchaseRequisition(String requisitionId) throws IOException {
-        List<PurchaseRequisition> requisitions = getAllPurchaseRequisitions();
-        boolean removed = false;
+        List<PurchaseRequisition> requisitions = new ArrayList<>(getAllPurchaseRequisitions());
+        PurchaseRequisition removed = null;
 
         for (int i = 0; i < requisitions.size(); i++) {
             if (requisitions.get(i).getRequisitionId().equals(requisitionId)) {
-                requisitions.remove(i);
-                removed = true;
+                removed = requisitions.remove(i);
                 break;
             }
         }
 
-        if (!removed) {
+        if (removed == null) {
             throw new IllegalArgumentException("Requisition not found: " + requisitionId);
         }
 
         writeRequisitionsToFile(requisitions);
+        CHANGE_BUS.publish(DataChange.deleted(PurchaseRequisition.class, requisitionId, removed));
     }
 
     private void writeRequisitionsToFile(List<PurchaseRequisition> requisitions) throws IOException {
         File file = new File(REQUISITIONS_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
             writer.write("requisitionId,itemCode,quantity,requiredDate,salesManagerId,status,itemName");
             writer.newLine();
 
             for (PurchaseRequisition requisition : requisitions) {
-                writer.write(String.format("%s,%s,%d,%s,%s,%s,%s",
-                        requisition.getRequisitionId(),
-                        requisition.getItemCode(),
-                        requisition.getQuantity(),
-                        requisition.getRequiredDate().format(DATE_FORMATTER),
-                        requisition.getSalesManagerId(),
-                        requisition.getStatus(),
-                        requisition.getItemName() != null ? requisition.getItemName() : ""
-                ));
+                writer.write(formatRequisition(requisition));
                 writer.newLine();
             }
+        });
+
+        REQUISITION_SNAPSHOT.discard();
+        if (written) {
+            REQUISITION_CACHE.put(file, requisitions);
+        } else {
+            REQUISITION_CACHE.invalidate();
         }
     }
 
     
     public List<PurchaseOrder> getAllPurchaseOrders() throws IOException {
-        List<PurchaseOrder> purchaseOrders = new ArrayList<>();
         File file = new File(PURCHASE_ORDERS_FILE);
 
         if (!file.exists()) {
+            List<PurchaseOrder> purchaseOrders = new ArrayList<>();
             writePurchaseOrdersToFile(purchaseOrders);
             return purchaseOrders;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
+        return PURCHASE_ORDER_CACHE.read(file, () -> readPurchaseOrdersFromFile(file));
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
+    /**
+     * Lazily streams the purchase orders matching {@code filter}. The stream may hold the file
+     * open, so close it (try-with-resources) once done.
+     */
+    public Stream<PurchaseOrder> streamPurchaseOrders(Predicate<PurchaseOrder> filter) throws IOException {
+        File file = new File(PURCHASE_ORDERS_FILE);
+        if (!file.exists()) {
+            return Stream.empty();
+        }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 11) {
-                    try {
-                        String orderId = parts[0];
-                        String requisitionId = parts[1];
-                        String itemCode = parts[2];
-                        int quantity = Integer.parseInt(parts[3]);
-                        double unitPrice = Double.parseDouble(parts[4]);
-                        double totalAmount = Double.parseDouble(parts[5]);
-                        LocalDate orderDate = LocalDate.parse(parts[6], DATE_FORMATTER);
-                        LocalDate expectedDeliveryDate = LocalDate.parse(parts[7], DATE_FORMATTER);
-                        String supplierId = parts[8];
-                        String purchaseManagerId = parts[9];
-                        String status = parts[10];
-
-                        String itemName = "";
-                        try {
-                            Item item = getItemByCode(itemCode);
-                            if (item != null) {
-                                itemName = item.getItemName();
-                            }
-                        } catch (IOException e) {
-                            System.err.println("Error fetching item name for order " + orderId + ": " + e.getMessage());
-                        }
-
-
-                        PurchaseOrder purchaseOrder = new PurchaseOrder(
-                                orderId, requisitionId, itemCode, itemName, quantity, unitPrice, totalAmount,
-                                orderDate, expectedDeliveryDate, supplierId, purchaseManagerId, status
-                        );
-
-                        purchaseOrders.add(purchaseOrder);
-                    } catch (NumberFormatException | DateTimeParseException e) {
-                        System.err.println("Skipping invalid purchase order line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed purchase order line: " + line);
+        Stream<PurchaseOrder> orders = PURCHASE_ORDER_CACHE.stream(file);
+        if (orders == null) {
+            if (PURCHASE_ORDER_JOURNAL.getFile().exists()) {
+                orders = getAllPurchaseOrders().stream();
+            } else {
+                Map<String, String> itemNames = getItemNamesByCode();
+                orders = CsvReader.stream(file, row -> parsePurchaseOrder(row, itemNames));
+            }
+        }
+        return orders.filter(filter);
+    }
+
+    private List<PurchaseOrder> readPurchaseOrdersFromFile(File file) throws IOException {
+        Map<String, String> itemNames = getItemNamesByCode();
+        List<PurchaseOrder> purchaseOrders =
+                readWithSnapshot(file, PURCHASE_ORDER_SNAPSHOT, () -> parsePurchaseOrdersFile(file, itemNames));
+        for (PurchaseOrder order : purchaseOrders) {
+            order.setItemName(itemNames.getOrDefault(order.getItemCode(), ""));
+        }
+        return PURCHASE_ORDER_JOURNAL.replay(purchaseOrders, PurchaseOrder::getOrderId,
+                row -> parsePurchaseOrder(CsvReader.ofLine(row), itemNames));
+    }
+
+    private List<PurchaseOrder> parsePurchaseOrdersFile(File file, Map<String, String> itemNames) throws IOException {
+        List<PurchaseOrder> purchaseOrders = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
+            boolean firstLine = true;
+
+            while (reader.next()) {
+                if (firstLine) {
+                    firstLine = false;
+                    continue;
+                }
+                if (reader.isBlank()) {
+                    continue;
+                }
+
+                PurchaseOrder purchaseOrder = parsePurchaseOrder(reader, itemNames);
+                if (purchaseOrder != null) {
+                    purchaseOrders.add(purchaseOrder);
                 }
             }
         }
         return purchaseOrders;
     }
 
-    public PurchaseOrder getPurchaseOrderById(String orderId) throws IOException {
-        List<PurchaseOrder> purchaseOrders = getAllPurchaseOrders();
-        for (PurchaseOrder order : purchaseOrders) {
-            if (order.getOrderId().equals(orderId)) {
+    private PurchaseOrder parsePurchaseOrder(CsvReader row, Map<String, String> itemNames) {
+        if (row.size() >= 11) {
+            try {
+                String orderId = row.get(0);
+                String requisitionId = row.get(1);
+                String itemCode = row.get(2);
+                int quantity = row.getInt(3);
+                double unitPrice = row.getDouble(4);
+                double totalAmount = row.getDouble(5);
+                LocalDate orderDate = LocalDate.parse(row.get(6), DATE_FORMATTER);
+                LocalDate expectedDeliveryDate = LocalDate.parse(row.get(7), DATE_FORMATTER);
+                String supplierId = row.get(8);
+                String purchaseManagerId = row.get(9);
+                String status = row.get(10);
+
+                String itemName = itemNames.getOrDefault(itemCode, "");
+
+                PurchaseOrder order = new PurchaseOrder(
+                        orderId, requisitionId, itemCode, itemName, quantity, unitPrice, totalAmount,
+                        orderDate, expectedDeliveryDate, supplierId, purchaseManagerId, status
+                );
+                if (row.size() > 11 && !row.isEmpty(11)) {
+                    order.setVersion(row.getInt(11));
+                }
                 return order;
+            } catch (NumberFormatException | DateTimeParseException e) {
+                System.err.println("Skipping invalid purchase order line: " + row.line() + " - " + e.getMessage());
             }
+        } else {
+            System.err.println("Skipping malformed purchase order line: " + row.line());
         }
         return null;
     }
 
-    public void updatePurchaseOrder(PurchaseOrder order) throws IOException {
-        if (order == null || !order.validateData()) {
-            throw new IllegalArgumentException("Invalid purchase order data");
+    private String formatPurchaseOrder(PurchaseOrder order) {
+        return new CsvWriter()
+                .field(order.getOrderId())
+                .field(order.getRequisitionId())
+                .field(order.getItemCode())
+                .field(order.getQuantity())
+                .money(order.getUnitPrice())
+                .money(order.getTotalAmount())
+                .field(order.getOrderDate().format(DATE_FORMATTER))
+                .field(order.getExpectedDeliveryDate().format(DATE_FORMATTER))
+                .field(order.getSupplierId())
+                .field(order.getPurchaseManagerId())
+                .field(order.getStatus())
+                .field(order.getVersion())
+                .build();
+    }
+
+    public List<PurchaseOrder> getPurchaseOrdersByStatus(String status) throws IOException {
+        return findPurchaseOrders("status", statusKey(status));
+    }
+
+    public List<PurchaseOrder> getPurchaseOrdersBySupplier(String supplierId) throws IOException {
+        return findPurchaseOrders("supplierId", supplierId);
+    }
+
+    public List<PurchaseOrder> getPurchaseOrdersByRequisition(String requisitionId) throws IOException {
+        return findPurchaseOrders("requisitionId", requisitionId);
+    }
+
+    /**
+     * Purchase orders dated within {@code [from, to]}, oldest first. A {@code null} bound is open.
+     */
+    public List<PurchaseOrder> getPurchaseOrdersBetween(LocalDate from, LocalDate to) throws IOException {
+        File file = new File(PURCHASE_ORDERS_FILE);
+        if (!file.exists()) {
+            return new ArrayList<>();
         }
+        return PURCHASE_ORDER_CACHE.findAllInRange("orderDate", file, () -> readPurchaseOrdersFromFile(file),
+                from != null ? from.toEpochDay() : Long.MIN_VALUE + 1,
+                to != null ? to.toEpochDay() : Long.MAX_VALUE);
+    }
 
-        List<PurchaseOrder> orders = getAllPurchaseOrders();
-        boolean found = false;
+    private List<PurchaseOrder> findPurchaseOrders(String indexName, String key) throws IOException {
+        File file = new File(PURCHASE_ORDERS_FILE);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        return PURCHASE_ORDER_CACHE.findAllByIndex(indexName, file, () -> readPurchaseOrdersFromFile(file), key);
+    }
 
-        for (int i = 0; i < orders.size(); i++) {
-            if (orders.get(i).getOrderId().equals(order.getOrderId())) {
-                orders.set(i, order);
-                found = true;
-                break;
-            }
+    public PurchaseOrder getPurchaseOrderById(String orderId) throws IOException {
+        File file = new File(PURCHASE_ORDERS_FILE);
+        if (!file.exists()) {
+            return null;
         }
+        return PURCHASE_ORDER_CACHE.findByKey(file, () -> readPurchaseOrdersFromFile(file), orderId);
+    }
 
-        if (!found) {
-            throw new IllegalArgumentException("Purchase order not found: " + order.getOrderId());
+    public void updatePurchaseOrder(PurchaseOrder order) throws IOException {
+        if (order == null || !order.validateData()) {
+            throw new IllegalArgumentException("Invalid purchase order data");
         }
 
-        writePurchaseOrdersToFile(orders);
+        PURCHASE_ORDER_LOCK.call(() -> {
+            PurchaseOrder current = getPurchaseOrderById(order.getOrderId());
+            if (current == null) {
+                throw new IllegalArgumentException("Purchase order not found: " + order.getOrderId());
+            }
+            checkVersion("Purchase order", order.getOrderId(), order.getVersion(), current.getVersion());
+            order.setVersion(current.getVersion() + 1);
+
+            File file = new File(PURCHASE_ORDERS_FILE);
+            PURCHASE_ORDER_CACHE.applyUpsert(file, order,
+                    () -> PURCHASE_ORDER_JOURNAL.appendUpsert(formatPurchaseOrder(order)));
+            compactPurchaseOrdersIfNeeded();
+            CHANGE_BUS.publish(DataChange.updated(PurchaseOrder.class, order.getOrderId(), current,
+                    PURCHASE_ORDER_CACHE.copy(order)));
+            return null;
+        });
+    }
+
+    /**
+     * Re-reads the order, applies {@code change} and saves it, starting over if another desk
+     * updated the order in between.
+     */
+    public PurchaseOrder modifyPurchaseOrder(String orderId, Consumer<PurchaseOrder> change) throws IOException {
+        return retryOnConflict(() -> {
+            PurchaseOrder order = getPurchaseOrderById(orderId);
+            if (order == null) {
+                throw new IllegalArgumentException("Purchase order not found: " + orderId);
+            }
+            change.accept(order);
+            updatePurchaseOrder(order);
+            return order;
+        });
     }
 
     public void addPurchaseOrder(PurchaseOrder po) throws IOException {
         if (po == null ||
             po.getOrderId() == null || po.getRequisitionId() == null || po.getItemCode() == null ||
             po.getQuantity() <= 0 || po.getUnitPrice() <= 0 || po.getTotalAmount() <= 0 ||
-            po.getOrderDate() == null || po.getSupplierId() == null || po.getStatus() == null) {
+            po.getOrderDate() == null || po.getSupplierId() == null || po.getStatus() == null ||
+            !po.validateData()) {
             System.out.println("Validation failed for purchase order:");
             System.out.println(po);
             throw new IllegalArgumentException("Invalid purchase order data. All fields must be properly set.");
         }
 
-        Path path = Paths.get(PO_FILE);
-        List<String> lines = Files.exists(path) ? Files.readAllLines(path) : new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        sb.append(po.getOrderId()).append("|")
-        .append(po.getRequisitionId()).append("|")
-        .append(po.getItemCode()).append("|")
-        .append(po.getItemName()).append("|")
-        .append(po.getQuantity()).append("|")
-        .append(po.getUnitPrice()).append("|")
-        .append(po.getTotalAmount()).append("|")
-        .append(po.getStatus()).append("|")
-        .append(po.getOrderDate()).append("|")
-        .append(po.getSupplierId());
+        PURCHASE_ORDER_LOCK.call(() -> {
+            if (getPurchaseOrderById(po.getOrderId()) != null) {
+                throw new IllegalArgumentException("Purchase order already exists: " + po.getOrderId());
+            }
 
-        lines.add(sb.toString());
-        Files.write(path, lines);
+            File file = new File(PURCHASE_ORDERS_FILE);
+            PURCHASE_ORDER_CACHE.applyUpsert(file, po,
+                    () -> PURCHASE_ORDER_JOURNAL.appendUpsert(formatPurchaseOrder(po)));
+            compactPurchaseOrdersIfNeeded();
+            CHANGE_BUS.publish(DataChange.inserted(PurchaseOrder.class, po.getOrderId(),
+                    PURCHASE_ORDER_CACHE.copy(po)));
+            return null;
+        });
     }
 
 
 
    
     public void deletePurchaseOrder(String orderId) throws IOException {
-        List<PurchaseOrder> orders = getAllPurchaseOrders();
-        boolean removed = false;
-
-        for (int i = 0; i < orders.size(); i++) {
-            if (orders.get(i).getOrderId().equals(orderId)) {
-                orders.remove(i);
-                removed = true;
-                break;
+        PURCHASE_ORDER_LOCK.call(() -> {
+            PurchaseOrder previous = getPurchaseOrderById(orderId);
+            if (previous == null) {
+                throw new IllegalArgumentException("Purchase order not found: " + orderId);
             }
-        }
 
-        if (!removed) {
-            throw new IllegalArgumentException("Purchase order not found: " + orderId);
+            File file = new File(PURCHASE_ORDERS_FILE);
+            PURCHASE_ORDER_CACHE.applyDelete(file, orderId, () -> PURCHASE_ORDER_JOURNAL.appendDelete(orderId));
+            compactPurchaseOrdersIfNeeded();
+            CHANGE_BUS.publish(DataChange.deleted(PurchaseOrder.class, orderId, previous));
+            return null;
+        });
+    }
+
+    private void compactPurchaseOrdersIfNeeded() throws IOException {
+        if (PURCHASE_ORDER_JOURNAL.needsCompaction()) {
+            compactPurchaseOrders();
         }
+    }
 
-        writePurchaseOrdersToFile(orders);
+    /**
+     * Folds the journal into purchase_order.txt, reading the rows under the lock like
+     * {@link #compactStock}.
+     */
+    private void compactPurchaseOrders() throws IOException {
+        PURCHASE_ORDER_LOCK.call(() -> {
+            replacePurchaseOrdersFile(getAllPurchaseOrders());
+            return null;
+        });
     }
 
     private void writePurchaseOrdersToFile(List<PurchaseOrder> orders) throws IOException {
+        PURCHASE_ORDER_LOCK.call(() -> {
+            replacePurchaseOrdersFile(orders);
+            return null;
+        });
+    }
+
+    private void replacePurchaseOrdersFile(List<PurchaseOrder> orders) throws IOException {
         File file = new File(PURCHASE_ORDERS_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("orderId,requisitionId,itemCode,quantity,unitPrice,totalAmount,orderDate,expectedDeliveryDate,supplierId,purchaseManagerId,status");
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
+            writer.write("orderId,requisitionId,itemCode,quantity,unitPrice,totalAmount,orderDate,expectedDeliveryDate,supplierId,purchaseManagerId,status,version");
             writer.newLine();
 
             for (PurchaseOrder order : orders) {
-                writer.write(String.format("%s,%s,%s,%d,%.2f,%.2f,%s,%s,%s,%s,%s",
-                        order.getOrderId(),
-                        order.getRequisitionId(),
-                        order.getItemCode(),
-                        order.getQuantity(),
-                        order.getUnitPrice(),
-                        order.getTotalAmount(),
-                        order.getOrderDate().format(DATE_FORMATTER),
-                        order.getExpectedDeliveryDate().format(DATE_FORMATTER),
-                        order.getSupplierId(),
-                        order.getPurchaseManagerId(),
-                        order.getStatus()
-                ));
+                writer.write(formatPurchaseOrder(order));
                 writer.newLine();
             }
+        });
+
+        PURCHASE_ORDER_SNAPSHOT.discard();
+        PURCHASE_ORDER_JOURNAL.clear();
+        if (written) {
+            PURCHASE_ORDER_CACHE.put(file, orders);
+        } else {
+            PURCHASE_ORDER_CACHE.invalidate();
         }
     }
 
     
     public List<Stock> getAllStock() throws IOException {
-        List<Stock> stockList = new ArrayList<>();
         File file = new File(STOCK_FILE);
 
         if (!file.exists()) {
+            List<Stock> stockList = new ArrayList<>();
             writeStockToFile(stockList);
             return stockList;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return STOCK_CACHE.read(file, () -> readStockFromFile(file));
+    }
+
+    public List<Stock> getStockByStatus(String status) throws IOException {
+        File file = new File(STOCK_FILE);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        return STOCK_CACHE.findAllByIndex("status", file, () -> readStockFromFile(file), statusKey(status));
+    }
+
+    /**
+     * Lazily streams the stock records matching {@code filter}. Close the stream once done.
+     */
+    public Stream<Stock> streamStock(Predicate<Stock> filter) throws IOException {
+        File file = new File(STOCK_FILE);
+        if (!file.exists()) {
+            return Stream.empty();
+        }
+
+        Stream<Stock> stock = STOCK_CACHE.stream(file);
+        if (stock == null) {
+            stock = STOCK_JOURNAL.getFile().exists()
+                    ? getAllStock().stream()
+                    : CsvReader.stream(file, this::parseStock);
+        }
+        return stock.filter(filter);
+    }
+
+    private List<Stock> readStockFromFile(File file) throws IOException {
+        List<Stock> stockList = readWithSnapshot(file, STOCK_SNAPSHOT, () -> parseStockFile(file));
+        return STOCK_JOURNAL.replay(stockList, Stock::getItemCode, row -> parseStock(CsvReader.ofLine(row)));
+    }
+
+    private List<Stock> parseStockFile(File file) throws IOException {
+        List<Stock> stockList = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 6) {
-                    try {
-                        String itemCode = parts[0];
-                        String itemName = parts[1];
-                        int quantity = Integer.parseInt(parts[2]);
-                        String location = parts[3];
-                        String lastUpdated = parts[4];
-                        String status = parts[5];
-
-                        Stock stock = new Stock(itemCode, itemName, quantity, location, lastUpdated, status);
-                        stockList.add(stock);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Skipping invalid stock line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed stock line: " + line);
+                Stock stock = parseStock(reader);
+                if (stock != null) {
+                    stockList.add(stock);
                 }
             }
         }
         return stockList;
     }
 
+    private Stock parseStock(CsvReader row) {
+        if (row.size() >= 6) {
+            try {
+                String itemCode = row.get(0);
+                String itemName = row.get(1);
+                int quantity = row.getInt(2);
+                String location = row.get(3);
+                String lastUpdated = row.get(4);
+                String status = row.get(5);
+
+                Stock stock = new Stock(itemCode, itemName, quantity, location, lastUpdated, status);
+                if (row.size() > 6 && !row.isEmpty(6)) {
+                    stock.setVersion(row.getInt(6));
+                }
+                return stock;
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping invalid stock line: " + row.line() + " - " + e.getMessage());
+            }
+        } else {
+            System.err.println("Skipping malformed stock line: " + row.line());
+        }
+        return null;
+    }
+
+    private String formatStock(Stock stock) {
+        return new CsvWriter()
+                .field(stock.getItemCode())
+                .field(stock.getItemName())
+                .field(stock.getQuantity())
+                .field(stock.getLocation())
+                .field(stock.getLastUpdated())
+                .field(stock.getStatus())
+                .field(stock.getVersion())
+                .build();
+    }
+
+    Stock findStock(String itemCode) throws IOException {
+        return getStockByItemCode(itemCode);
+    }
+
+    private Stock getStockByItemCode(String itemCode) throws IOException {
+        File file = new File(STOCK_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return STOCK_CACHE.findByKey(file, () -> readStockFromFile(file), itemCode);
+    }
+
     public void updateStock(Stock stock) throws IOException {
         if (stock == null || !stock.validateData()) {
             throw new IllegalArgumentException("Invalid stock data");
         }
 
-        List<Stock> stockList = getAllStock();
-        boolean found = false;
+        STOCK_LOCK.call(() -> {
+            Stock current = getStockByItemCode(stock.getItemCode());
+            if (current == null) {
+                throw new IllegalArgumentException("Stock item not found: " + stock.getItemCode());
+            }
+            checkVersion("Stock item", stock.getItemCode(), stock.getVersion(), current.getVersion());
+            stock.setVersion(current.getVersion() + 1);
+
+            File file = new File(STOCK_FILE);
+            STOCK_CACHE.applyUpsert(file, stock, () -> STOCK_JOURNAL.appendUpsert(formatStock(stock)));
+            compactStockIfNeeded();
+            CHANGE_BUS.publish(DataChange.updated(Stock.class, stock.getItemCode(), current, STOCK_CACHE.copy(stock)));
+            return null;
+        });
+    }
 
-        for (int i = 0; i < stockList.size(); i++) {
-            if (stockList.get(i).getItemCode().equals(stock.getItemCode())) {
-                stockList.set(i, stock);
-                found = true;
-                break;
+    /**
+     * Re-reads the stock row, applies {@code change} and saves it, starting over if another
+     * desk updated the row in between.
+     */
+    public Stock modifyStock(String itemCode, Consumer<Stock> change) throws IOException {
+        return retryOnConflict(() -> {
+            Stock stock = getStockByItemCode(itemCode);
+            if (stock == null) {
+                throw new IllegalArgumentException("Item not found in stock: " + itemCode);
             }
-        }
+            change.accept(stock);
+            updateStock(stock);
+            return stock;
+        });
+    }
 
-        if (!found) {
-            throw new IllegalArgumentException("Stock item not found: " + stock.getItemCode());
+    private void compactStockIfNeeded() throws IOException {
+        if (STOCK_JOURNAL.needsCompaction()) {
+            compactStock();
         }
+    }
 
-        writeStockToFile(stockList);
+    /**
+     * Folds the journal into stock.txt. The rows are read under the lock, so a change another
+     * desk journals meanwhile cannot be cleared away unwritten.
+     */
+    private void compactStock() throws IOException {
+        STOCK_LOCK.call(() -> {
+            replaceStockFile(getAllStock());
+            return null;
+        });
     }
 
     private void writeStockToFile(List<Stock> stockList) throws IOException {
+        STOCK_LOCK.call(() -> {
+            replaceStockFile(stockList);
+            return null;
+        });
+    }
+
+    private void replaceStockFile(List<Stock> stockList) throws IOException {
         File file = new File(STOCK_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("itemCode,itemName,quantity,location,lastUpdated,status");
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
+            writer.write("itemCode,itemName,quantity,location,lastUpdated,status,version");
             writer.newLine();
 
             for (Stock stock : stockList) {
-                writer.write(String.format("%s,%s,%d,%s,%s,%s",
-                        stock.getItemCode(),
-                        stock.getItemName(),
-                        stock.getQuantity(),
-                        stock.getLocation(),
-                        stock.getLastUpdated(),
-                        stock.getStatus()
-                ));
+                writer.write(formatStock(stock));
                 writer.newLine();
             }
+        });
+
+        STOCK_SNAPSHOT.discard();
+        STOCK_JOURNAL.clear();
+        if (written) {
+            STOCK_CACHE.put(file, stockList);
+        } else {
+            STOCK_CACHE.invalidate();
         }
     }
 
 
     
     public List<Financial> getAllFinancialReports() throws IOException {
-        List<Financial> financialList = new ArrayList<>();
         File file = new File(FINANCIAL_FILE);
 
         if (!file.exists()) {
+            List<Financial> financialList = new ArrayList<>();
             writeFinancialToFile(financialList);
             return financialList;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return FINANCIAL_CACHE.read(file, () -> readFinancialFromFile(file));
+    }
+
+    public Financial getFinancialByOrderId(String orderId) throws IOException {
+        File file = new File(FINANCIAL_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return FINANCIAL_CACHE.findByKey(file, () -> readFinancialFromFile(file), orderId);
+    }
+
+    private List<Financial> readFinancialFromFile(File file) throws IOException {
+        return readWithSnapshot(file, FINANCIAL_SNAPSHOT, () -> parseFinancialFile(file));
+    }
+
+    private List<Financial> parseFinancialFile(File file) throws IOException {
+        List<Financial> financialList = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 10) {
-                    try {
-                        String orderId = parts[0];
-                        String itemCode = parts[1];
-                        String itemName = parts[2];
-                        int quantity = Integer.parseInt(parts[3]);
-                        double unitPrice = Double.parseDouble(parts[4]);
-                        double totalAmount = Double.parseDouble(parts[5]);
-                        String orderDate = parts[6];
-                        String supplierId = parts[7];
-                        String purchaseManagerId = parts[8];
-                        String status = parts[9];
-
-                        Financial financial = new Financial(
-                                orderId, itemCode, itemName, quantity, unitPrice, totalAmount,
-                                orderDate, supplierId, purchaseManagerId, status
-                        );
-                        financialList.add(financial);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Skipping invalid financial line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed financial line: " + line);
+                Financial financial = parseFinancial(reader);
+                if (financial != null) {
+                    financialList.add(financial);
                 }
             }
         }
         return financialList;
     }
 
+    private Financial parseFinancial(CsvReader row) {
+        if (row.size() >= 10) {
+            try {
+                String orderId = row.get(0);
+                String itemCode = row.get(1);
+                String itemName = row.get(2);
+                int quantity = row.getInt(3);
+                double unitPrice = row.getDouble(4);
+                double totalAmount = row.getDouble(5);
+                String orderDate = row.get(6);
+                String supplierId = row.get(7);
+                String purchaseManagerId = row.get(8);
+                String status = row.get(9);
+
+                return new Financial(
+                        orderId, itemCode, itemName, quantity, unitPrice, totalAmount,
+                        orderDate, supplierId, purchaseManagerId, status
+                );
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping invalid financial line: " + row.line() + " - " + e.getMessage());
+            }
+        } else {
+            System.err.println("Skipping malformed financial line: " + row.line());
+        }
+        return null;
+    }
+
+    private String formatFinancial(Financial financial) {
+        return new CsvWriter()
+                .field(financial.getOrderId())
+                .field(financial.getItemCode())
+                .field(financial.getItemName())
+                .field(financial.getQuantity())
+                .money(financial.getUnitPrice())
+                .money(financial.getTotalAmount())
+                .field(financial.getOrderDate())
+                .field(financial.getSupplierId())
+                .field(financial.getPurchaseManagerId())
+                .field(financial.getStatus())
+                .build();
+    }
+
     public void updateFinancial(Financial financial) throws IOException {
         if (financial == null || !financial.validateData()) {
             throw new IllegalArgumentException("Invalid financial data");
         }
 
-        List<Financial> financialList = getAllFinancialReports();
-        boolean found = false;
+        List<Financial> financialList = new ArrayList<>(getAllFinancialReports());
+        Financial previous = null;
 
         for (int i = 0; i < financialList.size(); i++) {
             if (financialList.get(i).getOrderId().equals(financial.getOrderId())) {
-                financialList.set(i, financial);
-                found = true;
+                previous = financialList.set(i, financial);
                 break;
             }
         }
 
-        if (!found) {
+        if (previous == null) {
             throw new IllegalArgumentException("Financial record not found: " + financial.getOrderId());
         }
 
         writeFinancialToFile(financialList);
+        CHANGE_BUS.publish(DataChange.updated(Financial.class, financial.getOrderId(), previous,
+                FINANCIAL_CACHE.copy(financial)));
     }
 
     private void writeFinancialToFile(List<Financial> financialList) throws IOException {
         File file = new File(FINANCIAL_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
             writer.write("orderId,itemCode,itemName,quantity,unitPrice,totalAmount,orderDate,supplierId,purchaseManagerId,status");
             writer.newLine();
 
             for (Financial financial : financialList) {
-                writer.write(String.format("%s,%s,%s,%d,%.2f,%.2f,%s,%s,%s,%s",
-                        financial.getOrderId(),
-                        financial.getItemCode(),
-                        financial.getItemName(),
-                        financial.getQuantity(),
-                        financial.getUnitPrice(),
-                        financial.getTotalAmount(),
-                        financial.getOrderDate(),
-                        financial.getSupplierId(),
-                        financial.getPurchaseManagerId(),
-                        financial.getStatus()
-                ));
+                writer.write(formatFinancial(financial));
                 writer.newLine();
             }
+        });
+
+        FINANCIAL_SNAPSHOT.discard();
+        if (written) {
+            FINANCIAL_CACHE.put(file, financialList);
+        } else {
+            FINANCIAL_CACHE.invalidate();
         }
     }
 
     
     public List<SystemLog> getAllSystemLogs() throws IOException {
-        List<SystemLog> logs = new ArrayList<>();
-        File file = new File(SYSTEM_LOGS_FILE);
+        File file = systemLogFile();
+        return SYSTEM_LOG_CACHE.read(file, () -> readSystemLogsFromFile(file));
+    }
+
+    public SystemLog getSystemLogById(String logId) throws IOException {
+        File file = systemLogFile();
+        return SYSTEM_LOG_CACHE.findByKey(file, () -> readSystemLogsFromFile(file), logId);
+    }
+
+    /**
+     * Logs written by {@code userId}, oldest first. Uses the cached index when the logs are
+     * already in memory; otherwise reads only that user's partition.
+     */
+    public List<SystemLog> getSystemLogsByUser(String userId) throws IOException {
+        File file = systemLogFile();
+        if (SYSTEM_LOG_CACHE.isWarm(file)) {
+            return findSystemLogs("userId", userId);
+        }
+        return SYSTEM_LOG_PARTITIONS.read(userId);
+    }
+
+    /**
+     * The newest {@code limit} logs written by {@code userId}, newest first, read backwards from
+     * that user's partition.
+     */
+    public List<SystemLog> getLatestSystemLogsByUser(String userId, int limit) throws IOException {
+        return getLatestSystemLogsByUsers(List.of(userId), limit, log -> true);
+    }
+
+    /**
+     * The newest {@code limit} logs of the given users accepted by {@code filter}, newest first,
+     * merged by timestamp from their partitions. {@code null} user ids means every user.
+     */
+    public List<SystemLog> getLatestSystemLogsByUsers(Collection<String> userIds, int limit,
+            Predicate<SystemLog> filter) throws IOException {
+        SYSTEM_LOG_WRITER.flush();
+        return SYSTEM_LOG_PARTITIONS.readLatest(userIds, limit, filter);
+    }
+
+    public static UserLogPartitions getSystemLogPartitions() {
+        return SYSTEM_LOG_PARTITIONS;
+    }
+
+    public List<SystemLog> getSystemLogsByAction(String action) throws IOException {
+        return findSystemLogs("action", action);
+    }
+
+    /**
+     * System logs with a timestamp in {@code [from, to]}, oldest first. A {@code null} bound is open.
+     * Uses the timestamp index when the logs are already cached; otherwise only the log segments
+     * overlapping the range are read.
+     */
+    public List<SystemLog> getSystemLogsBetween(LocalDateTime from, LocalDateTime to) throws IOException {
+        File file = systemLogFile();
+        if (SYSTEM_LOG_CACHE.isWarm(file)) {
+            return SYSTEM_LOG_CACHE.findAllInRange("timestamp", file, () -> readSystemLogsFromFile(file),
+                    from != null ? epochSecond(from) : Long.MIN_VALUE + 1,
+                    to != null ? epochSecond(to) : Long.MAX_VALUE);
+        }
+
+        List<SystemLog> logs;
+        try (Stream<SystemLog> rows = streamSystemLogs(from, to)) {
+            logs = rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+        logs.sort(Comparator.comparing(SystemLog::getTimestamp));
+        return logs;
+    }
+
+    /**
+     * Logs written by {@code userId} within {@code [from, to]}. Only that user's rows are scanned.
+     */
+    public List<SystemLog> getSystemLogsByUser(String userId, LocalDateTime from, LocalDateTime to) throws IOException {
+        List<SystemLog> logs = getSystemLogsByUser(userId);
+        logs.removeIf(log -> log.getTimestamp() == null
+                || (from != null && log.getTimestamp().isBefore(from))
+                || (to != null && log.getTimestamp().isAfter(to)));
+        return logs;
+    }
+
+    private List<SystemLog> findSystemLogs(String indexName, String key) throws IOException {
+        File file = systemLogFile();
+        return SYSTEM_LOG_CACHE.findAllByIndex(indexName, file, () -> readSystemLogsFromFile(file), key);
+    }
+
+    /**
+     * Lazily streams the system logs with a timestamp in {@code [from, to]}. Either bound may be
+     * {@code null} to leave that side open. Close the stream once done.
+     */
+    public Stream<SystemLog> streamSystemLogs(LocalDateTime from, LocalDateTime to) throws IOException {
+        File file = systemLogFile();
+        Stream<SystemLog> logs = SYSTEM_LOG_CACHE.stream(file);
+        if (logs == null) {
+            logs = streamSegments(SYSTEM_LOG_SEGMENTS, from, to, "system log");
+        }
+        if (from == null && to == null) {
+            return logs;
+        }
+        return logs.filter(log -> log.getTimestamp() != null
+                && (from == null || !log.getTimestamp().isBefore(from))
+                && (to == null || !log.getTimestamp().isAfter(to)));
+    }
+
+    /**
+     * System logs matching every word of {@code query} as a word prefix in the log id, username,
+     * action, details or date, oldest first. See {@link LogSearchIndex}.
+     */
+    public List<SystemLog> searchSystemLogs(String query) throws IOException {
+        File file = systemLogFile();
+        return searchLogs(SYSTEM_LOG_SEARCH, SYSTEM_LOG_CACHE.read(file, () -> readSystemLogsFromFile(file)), query);
+    }
+
+    private List<SystemLog> searchLogs(LogSearchIndex index, List<SystemLog> rows, String query) {
+        index.sync(rows);
+        List<SystemLog> matches = index.search(query);
+        List<SystemLog> copies = new ArrayList<>(matches.size());
+        for (SystemLog log : matches) {
+            copies.add(copyLog(log));
+        }
+        return copies;
+    }
+
+    /**
+     * The newest {@code limit} system logs, newest first. Reads backwards from the end of the
+     * log, so the cost depends on {@code limit} and not on how much history there is.
+     */
+    public List<SystemLog> getLatestSystemLogs(int limit) throws IOException {
+        return getLatestSystemLogs(limit, log -> true);
+    }
+
+    /**
+     * The newest {@code limit} system logs accepted by {@code filter}, newest first.
+     */
+    public List<SystemLog> getLatestSystemLogs(int limit, Predicate<SystemLog> filter) throws IOException {
+        SYSTEM_LOG_WRITER.flush();
+        return tailLogs(SYSTEM_LOG_SEGMENTS, "system log", limit, null, filter);
+    }
+
+    /**
+     * System logs written after {@code since}, newest first, read backwards from the end of the
+     * log until the first older row.
+     */
+    public List<SystemLog> getSystemLogsSince(LocalDateTime since) throws IOException {
+        SYSTEM_LOG_WRITER.flush();
+        return tailLogs(SYSTEM_LOG_SEGMENTS, "system log", Integer.MAX_VALUE, since, log -> true);
+    }
+
+    /**
+     * Walks a segmented log from newest to oldest row: the active file backwards, then the
+     * sealed segments from newest to oldest. Stops after {@code limit} matching rows or at the
+     * first row older than {@code since}.
+     */
+    private List<SystemLog> tailLogs(LogSegments segments, String kind, int limit, LocalDateTime since,
+            Predicate<SystemLog> filter) throws IOException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+
+        return segments.read(() -> {
+            List<SystemLog> logs = new ArrayList<>();
+            if (limit == 0) {
+                return logs;
+            }
+            ReverseCsvReader.Visitor<SystemLog> collect = log -> {
+                if (since != null && (log.getTimestamp() == null || !log.getTimestamp().isAfter(since))) {
+                    return false;
+                }
+                if (filter.test(log)) {
+                    logs.add(log);
+                }
+                return logs.size() < limit;
+            };
+
+            File file = segments.getActiveFile();
+            if (file.exists() && !ReverseCsvReader.readBackward(file, row -> parseSystemLog(row, kind), collect)) {
+                return logs;
+            }
+
+            List<LogSegments.Segment> sealed = segments.getSegments();
+            for (int i = sealed.size() - 1; i >= 0; i--) {
+                LogSegments.Segment segment = sealed.get(i);
+                if (since != null && !segment.getLastTimestamp().isAfter(since)) {
+                    break;
+                }
+                List<SystemLog> rows;
+                try (Stream<SystemLog> segmentRows = segments.stream(segment)) {
+                    rows = segmentRows.collect(Collectors.toCollection(ArrayList::new));
+                }
+                for (int j = rows.size() - 1; j >= 0; j--) {
+                    if (!collect.visit(rows.get(j))) {
+                        return logs;
+                    }
+                }
+            }
+            return logs;
+        });
+    }
+
+    /**
+     * Streams the sealed segments overlapping {@code [from, to]} followed by the active file. The
+     * active file is opened up front so a rotation while the stream is consumed cannot hide rows.
+     */
+    private Stream<SystemLog> streamSegments(LogSegments segments, LocalDateTime from, LocalDateTime to,
+            String kind) throws IOException {
+        return segments.read(() -> {
+            List<LogSegments.Segment> sealed = segments.getSegmentsBetween(from, to);
+            File file = segments.getActiveFile();
+            Stream<SystemLog> active = file.exists()
+                    ? CsvReader.stream(file, row -> parseSystemLog(row, kind)) : Stream.empty();
+            Stream<SystemLog> older = sealed.stream().flatMap(segment -> {
+                try {
+                    return segments.stream(segment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return Stream.concat(older, active);
+        });
+    }
 
+    /**
+     * Flushes queued log rows and makes sure the active system log file exists, so the cache
+     * has a file to check freshness against.
+     */
+    private File systemLogFile() throws IOException {
+        SYSTEM_LOG_WRITER.flush();
+        File file = new File(SYSTEM_LOGS_FILE);
         if (!file.exists()) {
-            writeSystemLogsToFile(logs);
+            writeSystemLogsToFile(new ArrayList<>());
+        }
+        return file;
+    }
+
+    private List<SystemLog> readSystemLogsFromFile(File file) throws IOException {
+        return SYSTEM_LOG_SEGMENTS.read(() -> {
+            List<SystemLog> logs = SYSTEM_LOG_SEGMENTS.readSealed();
+            logs.addAll(readWithSnapshot(file, SYSTEM_LOG_SNAPSHOT, () -> parseLogsFile(file, "system log")));
             return logs;
+        });
+    }
+
+    private List<SystemLog> parseLogsFile(File file, String kind) throws IOException {
+        if (PARALLEL_LOADER.accepts(file)) {
+            return PARALLEL_LOADER.load(file, row -> parseSystemLog(row, kind));
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        List<SystemLog> logs = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 7) {
-                    try {
-                        String logId = parts[0];
-                        String userId = parts[1];
-                        String username = parts[2];
-                        String action = parts[3];
-                        String details = parts[4];
-                        LocalDateTime timestamp = LocalDateTime.parse(parts[5], LOG_DATE_FORMATTER);
-                        String userRole = parts[6];
-
-                        SystemLog log = new SystemLog(logId, userId, username, action, details, timestamp, userRole);
-                        logs.add(log);
-                    } catch (DateTimeParseException e) {
-                        System.err.println("Skipping invalid system log line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed system log line: " + line);
+                SystemLog log = parseSystemLog(reader, kind);
+                if (log != null) {
+                    logs.add(log);
                 }
             }
         }
         return logs;
     }
 
+    private static SystemLog parseSystemLog(CsvReader row, String kind) {
+        if (row.size() >= 7) {
+            try {
+                int last = row.size() - 1;
+                String logId = row.get(0);
+                String userId = row.get(1);
+                String username = row.get(2);
+                String action = row.get(3);
+                // Rows written before details were quoted may have split details into extra fields.
+                String details = row.size() == 7 ? row.get(4) : row.join(4, last - 1);
+                LocalDateTime timestamp = parseLogTimestamp(row.get(last - 1));
+                String userRole = row.get(last);
+
+                return new SystemLog(logId, userId, username, action, details, timestamp, userRole);
+            } catch (DateTimeParseException e) {
+                System.err.println("Skipping invalid " + kind + " line: " + row.line() + " - " + e.getMessage());
+            }
+        } else {
+            System.err.println("Skipping malformed " + kind + " line: " + row.line());
+        }
+        return null;
+    }
+
+    private static LocalDateTime parseLogTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value, LOG_DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value);
+        }
+    }
+
     public void addSystemLog(SystemLog log) throws IOException {
         if (log == null || !log.validateData()) {
             throw new IllegalArgumentException("Invalid log data");
         }
 
-        List<SystemLog> logs = getAllSystemLogs();
-        logs.add(log);
-        writeSystemLogsToFile(logs);
+        SYSTEM_LOG_WRITER.append(formatSystemLog(log));
+    }
+
+    public static FileCommitter getFileCommitter() {
+        return FILE_COMMITTER;
+    }
+
+    public static SystemLogWriter getSystemLogWriter() {
+        return SYSTEM_LOG_WRITER;
+    }
+
+    private static String formatSystemLog(SystemLog log) {
+        return new CsvWriter()
+                .field(log.getLogId())
+                .field(log.getUserId())
+                .field(log.getUsername())
+                .field(log.getAction())
+                .field(log.getDetails())
+                .field(log.getTimestamp().format(LOG_DATE_FORMATTER))
+                .field(log.getUserRole())
+                .build();
     }
 
     private void writeSystemLogsToFile(List<SystemLog> logs) throws IOException {
         File file = new File(SYSTEM_LOGS_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("logId,userId,username,action,details,timestamp,userRole");
+        FILE_COMMITTER.replace(file, writer -> {
+            writer.write(LOG_HEADER);
             writer.newLine();
 
             for (SystemLog log : logs) {
-                writer.write(String.format("%s,%s,%s,%s,%s,%s,%s",
-                        log.getLogId(),
-                        log.getUserId(),
-                        log.getUsername(),
-                        log.getAction(),
-                        log.getDetails(),
-                        log.getTimestamp().format(LOG_DATE_FORMATTER),
-                        log.getUserRole()
-                ));
+                writer.write(formatSystemLog(log));
                 writer.newLine();
             }
-        }
+        });
+
+        SYSTEM_LOG_SNAPSHOT.discard();
+        SYSTEM_LOG_CACHE.invalidate();
+        SYSTEM_LOG_PARTITIONS.invalidate();
     }
 
     
     public List<SalesEntry> getAllSalesEntries() throws IOException {
-        List<SalesEntry> salesEntries = new ArrayList<>();
         File file = new File(SALES_ENTRY_FILE);
 
         if (!file.exists()) {
+            List<SalesEntry> salesEntries = new ArrayList<>();
             writeSalesEntriesToFile(salesEntries);
             return salesEntries;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return SALES_ENTRY_CACHE.read(file, () -> readSalesEntriesFromFile(file));
+    }
+
+    public SalesEntry getSalesEntryById(String entryId) throws IOException {
+        File file = new File(SALES_ENTRY_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return SALES_ENTRY_CACHE.findByKey(file, () -> readSalesEntriesFromFile(file), entryId);
+    }
+
+    private List<SalesEntry> readSalesEntriesFromFile(File file) throws IOException {
+        return readWithSnapshot(file, SALES_ENTRY_SNAPSHOT, () -> parseSalesEntriesFile(file));
+    }
+
+    private List<SalesEntry> parseSalesEntriesFile(File file) throws IOException {
+        if (PARALLEL_LOADER.accepts(file)) {
+            return PARALLEL_LOADER.load(file, this::parseSalesEntry);
+        }
+
+        List<SalesEntry> salesEntries = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                if (parts.length >= 9) {
-                    try {
-                        String entryId = parts[0];
-                        LocalDate date = LocalDate.parse(parts[1], DATE_FORMATTER);
-                        String itemId = parts[2];
-                        String itemName = parts[3];
-                        int quantity = Integer.parseInt(parts[4]);
-                        String category = parts[5];
-                        double pricePerUnit = Double.parseDouble(parts[6]);
-                        double totalPrice = Double.parseDouble(parts[7]);
-                        String salesManagerId = parts[8];
-
-                        SalesEntry salesEntry = new SalesEntry(
-                                entryId, date, itemId, itemName, quantity,
-                                category, pricePerUnit, totalPrice, salesManagerId
-                        );
-                        salesEntries.add(salesEntry);
-                    } catch (NumberFormatException | DateTimeParseException e) {
-                        System.err.println("Skipping invalid sales entry line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed sales entry line: " + line);
+                SalesEntry salesEntry = parseSalesEntry(reader);
+                if (salesEntry != null) {
+                    salesEntries.add(salesEntry);
                 }
             }
         }
         return salesEntries;
     }
 
+    private SalesEntry parseSalesEntry(CsvReader row) {
+        if (row.size() >= 9) {
+            try {
+                String entryId = row.get(0);
+                LocalDate date = LocalDate.parse(row.get(1), DATE_FORMATTER);
+                String itemId = row.get(2);
+                String itemName = row.get(3);
+                int quantity = row.getInt(4);
+                String category = row.get(5);
+                double pricePerUnit = row.getDouble(6);
+                double totalPrice = row.getDouble(7);
+                String salesManagerId = row.get(8);
+
+                return new SalesEntry(
+                        entryId, date, itemId, itemName, quantity,
+                        category, pricePerUnit, totalPrice, salesManagerId
+                );
+            } catch (NumberFormatException | DateTimeParseException e) {
+                System.err.println("Skipping invalid sales entry line: " + row.line() + " - " + e.getMessage());
+            }
+        } else {
+            System.err.println("Skipping malformed sales entry line: " + row.line());
+        }
+        return null;
+    }
+
+    private String formatSalesEntry(SalesEntry entry) {
+        return new CsvWriter()
+                .field(entry.getEntryId())
+                .field(entry.getDate().format(DATE_FORMATTER))
+                .field(entry.getItemId())
+                .field(entry.getItemName() != null ? entry.getItemName() : "")
+                .field(entry.getQuantity())
+                .field(entry.getCategory() != null ? entry.getCategory() : "")
+                .money(entry.getPricePerUnit())
+                .money(entry.getTotalPrice())
+                .field(entry.getSalesManagerId())
+                .build();
+    }
+
     public void addSalesEntry(SalesEntry salesEntry) throws IOException {
         if (salesEntry == null || !salesEntry.validateData()) {
             throw new IllegalArgumentException("Invalid sales entry data");
         }
 
-        List<SalesEntry> salesEntries = getAllSalesEntries();
+        List<SalesEntry> salesEntries = new ArrayList<>(getAllSalesEntries());
         salesEntries.add(salesEntry);
         writeSalesEntriesToFile(salesEntries);
+        CHANGE_BUS.publish(DataChange.inserted(SalesEntry.class, salesEntry.getEntryId(), SALES_ENTRY_CACHE.copy(salesEntry)));
     }
 
     public void updateSalesEntry(SalesEntry updatedSalesEntry) throws IOException {
@@ -1030,41 +2272,42 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("Invalid sales entry data");
         }
 
-        List<SalesEntry> salesEntries = getAllSalesEntries();
-        boolean found = false;
+        List<SalesEntry> salesEntries = new ArrayList<>(getAllSalesEntries());
+        SalesEntry previous = null;
 
         for (int i = 0; i < salesEntries.size(); i++) {
             if (salesEntries.get(i).getEntryId().equals(updatedSalesEntry.getEntryId())) {
-                salesEntries.set(i, updatedSalesEntry);
-                found = true;
+                previous = salesEntries.set(i, updatedSalesEntry);
                 break;
             }
         }
 
-        if (!found) {
+        if (previous == null) {
             throw new IllegalArgumentException("Sales entry not found: " + updatedSalesEntry.getEntryId());
         }
 
         writeSalesEntriesToFile(salesEntries);
+        CHANGE_BUS.publish(DataChange.updated(SalesEntry.class, updatedSalesEntry.getEntryId(), previous,
+                SALES_ENTRY_CACHE.copy(updatedSalesEntry)));
     }
 
     public void deleteSalesEntry(String entryId) throws IOException {
-        List<SalesEntry> salesEntries = getAllSalesEntries();
-        boolean removed = false;
+        List<SalesEntry> salesEntries = new ArrayList<>(getAllSalesEntries());
+        SalesEntry removed = null;
 
         for (int i = 0; i < salesEntries.size(); i++) {
             if (salesEntries.get(i).getEntryId().equals(entryId)) {
-                salesEntries.remove(i);
-                removed = true;
+                removed = salesEntries.remove(i);
                 break;
             }
         }
 
-        if (!removed) {
+        if (removed == null) {
             throw new IllegalArgumentException("Sales entry not found: " + entryId);
         }
 
         writeSalesEntriesToFile(salesEntries);
+        CHANGE_BUS.publish(DataChange.deleted(SalesEntry.class, entryId, removed));
     }
 
 
@@ -1072,114 +2315,134 @@ public class DatabaseHelper {
         File file = new File(SALES_ENTRY_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
             writer.write("entryId,date,itemId,itemName,quantity,category,pricePerUnit,totalPrice,salesManagerId");
             writer.newLine();
 
             for (SalesEntry entry : salesEntries) {
-                writer.write(String.format("%s,%s,%s,%s,%d,%s,%.2f,%.2f,%s",
-                        entry.getEntryId(),
-                        entry.getDate().format(DATE_FORMATTER),
-                        entry.getItemId(),
-                        entry.getItemName() != null ? entry.getItemName() : "",
-                        entry.getQuantity(),
-                        entry.getCategory() != null ? entry.getCategory() : "",
-                        entry.getPricePerUnit(),
-                        entry.getTotalPrice(),
-                        entry.getSalesManagerId()
-                ));
+                writer.write(formatSalesEntry(entry));
                 writer.newLine();
             }
+        });
+
+        SALES_ENTRY_SNAPSHOT.discard();
+        if (written) {
+            SALES_ENTRY_CACHE.put(file, salesEntries);
+        } else {
+            SALES_ENTRY_CACHE.invalidate();
         }
     }
 
     
     public List<Supplier> getAllSuppliers() throws IOException {
-        List<Supplier> suppliers = new ArrayList<>();
         File file = new File(SUPPLIERS_FILE);
 
         if (!file.exists()) {
+            List<Supplier> suppliers = new ArrayList<>();
             writeSuppliersToFile(suppliers);
             return suppliers;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+        return SUPPLIER_CACHE.read(file, () -> readSuppliersFromFile(file));
+    }
+
+    private List<Supplier> readSuppliersFromFile(File file) throws IOException {
+        List<Supplier> suppliers = readWithSnapshot(file, SUPPLIER_SNAPSHOT, () -> parseSuppliersFile(file));
+        return SUPPLIER_JOURNAL.replay(suppliers, Supplier::getSupplierId, row -> parseSupplier(CsvReader.ofLine(row)));
+    }
+
+    private List<Supplier> parseSuppliersFile(File file) throws IOException {
+        List<Supplier> suppliers = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
             boolean firstLine = true;
 
-            while ((line = reader.readLine()) != null) {
+            while (reader.next()) {
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (reader.isBlank()) {
+                    continue;
+                }
 
-                String[] parts = line.split(",");
-                
-                if (parts.length >= 9) {
-                    try {
-                        String supplierId = parts[0];
-                        String supplierName = parts[1];
-                        String contactPerson = parts[2];
-                        String contactNumber = parts[3];
-                        String email = parts[4];
-
-                        
-                        StringBuilder addressBuilder = new StringBuilder();
-                        for (int i = 5; i < parts.length - 3; i++) {
-                            addressBuilder.append(parts[i]);
-                            if (i < parts.length - 4) {
-                                addressBuilder.append(",");
-                            }
-                        }
-                        String address = addressBuilder.toString();
-
-
-                        String suppliedItems = parts[parts.length - 3];
-                        String lastOrderDateStr = parts[parts.length - 2];
-                        String status = parts[parts.length - 1];
-
-                        LocalDate lastOrderDate = null;
-                        try {
-                            
-                            lastOrderDate = LocalDate.parse(lastOrderDateStr.trim(), DATE_FORMATTER);
-                        } catch (DateTimeParseException e) {
-                            System.err.println("Skipping invalid supplier line (date format): " + line + " - " + e.getMessage());
-                            continue; 
-                        }
-
-
-                        Supplier supplier = new Supplier(
-                                supplierId, supplierName, contactPerson, contactNumber, email,
-                                address, suppliedItems, lastOrderDate, status
-                        );
-                        suppliers.add(supplier);
-                    } catch (Exception e) {
-                        System.err.println("Skipping malformed supplier line: " + line + " - " + e.getMessage());
-                    }
-                } else {
-                    System.err.println("Skipping malformed supplier line (incorrect number of fields): " + line);
+                Supplier supplier = parseSupplier(reader);
+                if (supplier != null) {
+                    suppliers.add(supplier);
                 }
             }
         }
         return suppliers;
     }
 
-    public Supplier getSupplierById(String supplierId) throws IOException {
-        List<Supplier> suppliers = getAllSuppliers();
-        for (Supplier supplier : suppliers) {
-            if (supplier.getSupplierId().equals(supplierId)) {
-                return supplier;
+    private Supplier parseSupplier(CsvReader row) {
+        if (row.size() >= 9) {
+            try {
+                int size = row.size();
+                String supplierId = row.get(0);
+                String supplierName = row.get(1);
+                String contactPerson = row.get(2);
+                String contactNumber = row.get(3);
+                String email = row.get(4);
+
+                // Rows written before addresses were quoted may have split the address into extra fields.
+                String address = size == 9 ? row.get(5) : row.join(5, size - 3);
+
+                String suppliedItems = row.get(size - 3);
+                String lastOrderDateStr = row.get(size - 2);
+                String status = row.get(size - 1);
+
+                LocalDate lastOrderDate = null;
+                try {
+                    
+                    lastOrderDate = LocalDate.parse(lastOrderDateStr.trim(), DATE_FORMATTER);
+                } catch (DateTimeParseException e) {
+                    System.err.println("Skipping invalid supplier line (date format): " + row.line() + " - " + e.getMessage());
+                    return null; 
+                }
+
+
+                return new Supplier(
+                        supplierId, supplierName, contactPerson, contactNumber, email,
+                        address, suppliedItems, lastOrderDate, status
+                );
+            } catch (Exception e) {
+                System.err.println("Skipping malformed supplier line: " + row.line() + " - " + e.getMessage());
             }
+        } else {
+            System.err.println("Skipping malformed supplier line (incorrect number of fields): " + row.line());
         }
         return null;
     }
 
+    private String formatSupplier(Supplier supplier) {
+        return new CsvWriter()
+                .field(supplier.getSupplierId())
+                .field(supplier.getSupplierName())
+                .field(supplier.getContactPerson() != null ? supplier.getContactPerson() : "")
+                .field(supplier.getContactNumber() != null ? supplier.getContactNumber() : "")
+                .field(supplier.getEmail() != null ? supplier.getEmail() : "")
+                .field(supplier.getAddress() != null ? supplier.getAddress() : "")
+                .field(supplier.getSuppliedItems() != null ? supplier.getSuppliedItems() : "")
+                .field(supplier.getLastOrderDate() != null ? supplier.getLastOrderDate().format(DATE_FORMATTER) : "")
+                .field(supplier.getStatus() != null ? supplier.getStatus() : "")
+                .build();
+    }
+
+    public Supplier getSupplierById(String supplierId) throws IOException {
+        File file = new File(SUPPLIERS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+        return SUPPLIER_CACHE.findByKey(file, () -> readSuppliersFromFile(file), supplierId);
+    }
+
     public void addSupplier(Supplier supplier) throws IOException {
         if (supplier == null || !supplier.validateData()) {
             throw new IllegalArgumentException("Invalid supplier data");
         }
 
-        List<Supplier> suppliers = getAllSuppliers();
+        List<Supplier> suppliers = new ArrayList<>(getAllSuppliers());
 
         for (Supplier existing : suppliers) {
             if (existing.getSupplierId().equals(supplier.getSupplierId())) {
@@ -1193,22 +2456,11 @@ public class DatabaseHelper {
 
         suppliers.add(supplier);
         writeSuppliersToFile(suppliers);
+        CHANGE_BUS.publish(DataChange.inserted(Supplier.class, supplier.getSupplierId(), SUPPLIER_CACHE.copy(supplier)));
     }
 
     private String generateSupplierId() throws IOException {
-        List<Supplier> suppliers = getAllSuppliers();
-        int maxId = 0;
-        for (Supplier supplier : suppliers) {
-            if (supplier.getSupplierId() != null && supplier.getSupplierId().startsWith("SUP")) {
-                try {
-                    int id = Integer.parseInt(supplier.getSupplierId().substring(3));
-                    maxId = Math.max(maxId, id);
-                } catch (NumberFormatException e) {
-                    
-                }
-            }
-        }
-        return "SUP" + String.format("%03d", maxId + 1);
+        return ID_SEQUENCE.nextId("SUP", 3, () -> highestId(getAllSuppliers(), Supplier::getSupplierId, "SUP"));
     }
 
 
@@ -1217,41 +2469,35 @@ public class DatabaseHelper {
             throw new IllegalArgumentException("Invalid supplier data");
         }
 
-        List<Supplier> suppliers = getAllSuppliers();
-        boolean found = false;
-
-        for (int i = 0; i < suppliers.size(); i++) {
-            if (suppliers.get(i).getSupplierId().equals(updatedSupplier.getSupplierId())) {
-                suppliers.set(i, updatedSupplier);
-                found = true;
-                break;
-            }
-        }
-
-        if (!found) {
+        Supplier previous = getSupplierById(updatedSupplier.getSupplierId());
+        if (previous == null) {
             throw new IllegalArgumentException("Supplier not found: " + updatedSupplier.getSupplierId());
         }
 
-        writeSuppliersToFile(suppliers);
+        File file = new File(SUPPLIERS_FILE);
+        SUPPLIER_CACHE.applyUpsert(file, updatedSupplier,
+                () -> SUPPLIER_JOURNAL.appendUpsert(formatSupplier(updatedSupplier)));
+        compactSuppliersIfNeeded();
+        CHANGE_BUS.publish(DataChange.updated(Supplier.class, updatedSupplier.getSupplierId(), previous,
+                SUPPLIER_CACHE.copy(updatedSupplier)));
     }
 
     public void deleteSupplier(String supplierId) throws IOException {
-        List<Supplier> suppliers = getAllSuppliers();
-        boolean removed = false;
-
-        for (int i = 0; i < suppliers.size(); i++) {
-            if (suppliers.get(i).getSupplierId().equals(supplierId)) {
-                suppliers.remove(i);
-                removed = true;
-                break;
-            }
-        }
-
-        if (!removed) {
+        Supplier previous = getSupplierById(supplierId);
+        if (previous == null) {
             throw new IllegalArgumentException("Supplier not found: " + supplierId);
         }
 
-        writeSuppliersToFile(suppliers);
+        File file = new File(SUPPLIERS_FILE);
+        SUPPLIER_CACHE.applyDelete(file, supplierId, () -> SUPPLIER_JOURNAL.appendDelete(supplierId));
+        compactSuppliersIfNeeded();
+        CHANGE_BUS.publish(DataChange.deleted(Supplier.class, supplierId, previous));
+    }
+
+    private void compactSuppliersIfNeeded() throws IOException {
+        if (SUPPLIER_JOURNAL.needsCompaction()) {
+            writeSuppliersToFile(getAllSuppliers());
+        }
     }
 
 
@@ -1259,24 +2505,22 @@ public class DatabaseHelper {
         File file = new File(SUPPLIERS_FILE);
         file.getParentFile().mkdirs();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        boolean written = FILE_COMMITTER.replace(file, writer -> {
             writer.write("supplierId,supplierName,contactPerson,contactNumber,email,address,suppliedItems,lastOrderDate,status");
             writer.newLine();
 
             for (Supplier supplier : suppliers) {
-                writer.write(String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s",
-                        supplier.getSupplierId(),
-                        supplier.getSupplierName(),
-                        supplier.getContactPerson() != null ? supplier.getContactPerson() : "",
-                        supplier.getContactNumber() != null ? supplier.getContactNumber() : "",
-                        supplier.getEmail() != null ? supplier.getEmail() : "",
-                        supplier.getAddress() != null ? supplier.getAddress() : "",
-                        supplier.getSuppliedItems() != null ? supplier.getSuppliedItems() : "",
-                        supplier.getLastOrderDate() != null ? supplier.getLastOrderDate().format(DATE_FORMATTER) : "",
-                        supplier.getStatus() != null ? supplier.getStatus() : ""
-                ));
+                writer.write(formatSupplier(supplier));
                 writer.newLine();
             }
+        });
+
+        SUPPLIER_SNAPSHOT.discard();
+        SUPPLIER_JOURNAL.clear();
+        if (written) {
+            SUPPLIER_CACHE.put(file, suppliers);
+        } else {
+            SUPPLIER_CACHE.invalidate();
         }
     }
 
@@ -1285,117 +2529,202 @@ public class DatabaseHelper {
     }
 
     public void addInventoryLog(SystemLog log) throws IOException {
-    File file = new File(DATA_DIRECTORY + "/inventory_log.txt");
-    file.getParentFile().mkdirs();
+    appendInventoryLogs(List.of(formatSystemLog(log)), false);
+}
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
-        writer.write(String.format("%s,%s,%s,%s,%s,%s,%s",
-                log.getLogId(),
-                log.getUserId(),
-                log.getUsername(),
-                log.getAction(),
-                log.getDetails(),
-                log.getTimestamp().format(LOG_DATE_FORMATTER),
-                log.getUserRole()
-        ));
-        writer.newLine();
+private void appendInventoryLogs(List<String> rows, boolean force) throws IOException {
+    if (rows.isEmpty()) {
+        return;
     }
+    File file = new File(INVENTORY_LOG_FILE);
+    file.getParentFile().mkdirs();
+
+    INVENTORY_LOG_SEGMENTS.append(() -> {
+        FileOutputStream out = new FileOutputStream(file, true);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+            writer.flush();
+            if (force) {
+                out.getFD().sync();
+            }
+        }
+        return null;
+    });
+    INVENTORY_LOG_CACHE.invalidate();
 }
 
 public List<SystemLog> getInventoryLogs() throws IOException {
-    List<SystemLog> logs = new ArrayList<>();
-    File file = new File(DATA_DIRECTORY + "/inventory_log.txt");
+    File file = new File(INVENTORY_LOG_FILE);
 
-    if (!file.exists()) {
-        return logs;
+    if (!file.exists() && INVENTORY_LOG_SEGMENTS.getSegments().isEmpty()) {
+        return new ArrayList<>();
     }
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-        String line;
-        boolean firstLine = true;
-
-        while ((line = reader.readLine()) != null) {
-            if (firstLine) {
-                firstLine = false;
-                continue;
-            }
+    return INVENTORY_LOG_CACHE.read(file, () -> readInventoryLogsFromFile(file));
+}
 
-            String[] parts = line.split(",");
-            if (parts.length >= 7) {
-                try {
-                    SystemLog log = new SystemLog(
-                            parts[0],      
-                            parts[1],      
-                            parts[2],      
-                            parts[3],      
-                            parts[4],      
-                            parts[5],      
-                            parts[6]       
-                    );
-                    logs.add(log);
-                } catch (Exception e) {
-                    System.err.println("Error parsing inventory log: " + line);
-                }
-            }
+private List<SystemLog> readInventoryLogsFromFile(File file) throws IOException {
+    return INVENTORY_LOG_SEGMENTS.read(() -> {
+        List<SystemLog> logs = INVENTORY_LOG_SEGMENTS.readSealed();
+        if (file.exists()) {
+            logs.addAll(readWithSnapshot(file, INVENTORY_LOG_SNAPSHOT, () -> parseLogsFile(file, "inventory log")));
         }
+        return logs;
+    });
+}
+
+/**
+ * Inventory logs with a timestamp in {@code [from, to]}, reading only the log segments that
+ * overlap the range. A {@code null} bound is open.
+ */
+public List<SystemLog> getInventoryLogsBetween(LocalDateTime from, LocalDateTime to) throws IOException {
+    Stream<SystemLog> rows = INVENTORY_LOG_CACHE.stream(new File(INVENTORY_LOG_FILE));
+    if (rows == null) {
+        rows = streamSegments(INVENTORY_LOG_SEGMENTS, from, to, "inventory log");
     }
+
+    List<SystemLog> logs;
+    try (Stream<SystemLog> inRange = rows) {
+        logs = inRange.filter(log -> log.getTimestamp() != null
+                && (from == null || !log.getTimestamp().isBefore(from))
+                && (to == null || !log.getTimestamp().isAfter(to)))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+    logs.sort(Comparator.comparing(SystemLog::getTimestamp));
     return logs;
 }
 
+/**
+ * The newest {@code limit} inventory logs accepted by {@code filter}, newest first, read
+ * backwards from the end of the log.
+ */
+public List<SystemLog> getLatestInventoryLogs(int limit, Predicate<SystemLog> filter) throws IOException {
+    return tailLogs(INVENTORY_LOG_SEGMENTS, "inventory log", limit, null, filter);
+}
 
-public void updateStockQuantity(String itemCode, int newQuantity) throws IOException {
-    updateStockQuantity(itemCode, newQuantity, false);
+/**
+ * Inventory logs matching every word of {@code query} as a word prefix, oldest first.
+ */
+public List<SystemLog> searchInventoryLogs(String query) throws IOException {
+    File file = new File(INVENTORY_LOG_FILE);
+    if (!file.exists() && INVENTORY_LOG_SEGMENTS.getSegments().isEmpty()) {
+        return new ArrayList<>();
+    }
+    return searchLogs(INVENTORY_LOG_SEARCH, INVENTORY_LOG_CACHE.read(file, () -> readInventoryLogsFromFile(file)), query);
 }
 
-public void updateStockQuantity(String itemCode, int newQuantity, boolean addToExisting) throws IOException {
-    List<Stock> stocks = getAllStock();
-    boolean found = false;
-
-    for (Stock stock : stocks) {
-        if (stock.getItemCode().equals(itemCode)) {
-            if (addToExisting) {
-                // Add to existing quantity
-                stock.setQuantity(stock.getQuantity() + newQuantity);
-            } else {
-                // Set new quantity directly
-                stock.setQuantity(newQuantity);
-            }
-            stock.setLastUpdated(LocalDate.now().toString());
-            found = true;
-            break;
-        }
+public List<SystemLog> getInventoryLogsSince(LocalDateTime since) throws IOException {
+    return tailLogs(INVENTORY_LOG_SEGMENTS, "inventory log", Integer.MAX_VALUE, since, log -> true);
+}
+
+public static LogSegments getSystemLogSegments() {
+    return SYSTEM_LOG_SEGMENTS;
+}
+
+/**
+ * A new log id, unique across system and inventory logs and across app instances. Log ids used
+ * to be {@code "LOG" + currentTimeMillis()}, so the sequence starts above the current time
+ * instead of scanning the logs.
+ */
+public String nextLogId() throws IOException {
+    return ID_SEQUENCE.nextId("LOG", 3, System::currentTimeMillis);
+}
+
+public String nextItemCode() throws IOException {
+    return ID_SEQUENCE.nextId("ITEM", 3, () -> highestId(getAllItems(), Item::getItemCode, "ITEM"));
+}
+
+public String nextRequisitionId() throws IOException {
+    return ID_SEQUENCE.nextId("REQ", 3,
+            () -> highestId(getAllPurchaseRequisitions(), PurchaseRequisition::getRequisitionId, "REQ"));
+}
+
+public String nextPurchaseOrderId() throws IOException {
+    return ID_SEQUENCE.nextId("PO", 3, () -> highestId(getAllPurchaseOrders(), PurchaseOrder::getOrderId, "PO"));
+}
+
+public String nextSalesEntryId() throws IOException {
+    return ID_SEQUENCE.nextId("SALE", 3, () -> highestId(getAllSalesEntries(), SalesEntry::getEntryId, "SALE"));
+}
+
+public String nextSupplierId() throws IOException {
+    return generateSupplierId();
+}
+
+/**
+ * Highest number after {@code prefix} among the ids of {@code rows}, used once to seed a
+ * sequence from existing data.
+ */
+private static <T> long highestId(List<T> rows, Function<T, String> id, String prefix) {
+    long highest = 0;
+    for (T row : rows) {
+        highest = Math.max(highest, idNumber(id.apply(row), prefix));
     }
+    return highest;
+}
 
-    if (!found) {
-        throw new IllegalArgumentException("Item not found in stock: " + itemCode);
+private static long idNumber(String id, String prefix) {
+    if (id == null || !id.startsWith(prefix)) {
+        return 0;
+    }
+    try {
+        return Long.parseLong(id.substring(prefix.length()));
+    } catch (NumberFormatException e) {
+        return 0;
     }
+}
+
+public static IdSequence getIdSequence() {
+    return ID_SEQUENCE;
+}
 
-    writeStockToFile(stocks);
+public static LogSegments getInventoryLogSegments() {
+    return INVENTORY_LOG_SEGMENTS;
+}
+
+
+public void updateStockQuantity(String itemCode, int newQuantity) throws IOException {
+    updateStockQuantity(itemCode, newQuantity, false);
+}
+
+public void updateStockQuantity(String itemCode, int newQuantity, boolean addToExisting) throws IOException {
+    modifyStock(itemCode, stock -> {
+        if (addToExisting) {
+            // Add to existing quantity
+            stock.setQuantity(stock.getQuantity() + newQuantity);
+        } else {
+            // Set new quantity directly
+            stock.setQuantity(newQuantity);
+        }
+        stock.setLastUpdated(LocalDate.now().toString());
+    });
 }
 
 public void addStockItem(Stock stockItem) throws IOException {
-    List<Stock> stocks = getAllStock();
-    
-    
-    for (Stock stock : stocks) {
-        if (stock.getItemCode().equals(stockItem.getItemCode())) {
+    if (stockItem == null || !stockItem.validateData()) {
+        throw new IllegalArgumentException("Invalid stock data");
+    }
+
+    STOCK_LOCK.call(() -> {
+        // Creates stock.txt if it is missing, so the journaled row has a base file to replay over.
+        getAllStock();
+        if (getStockByItemCode(stockItem.getItemCode()) != null) {
             throw new IllegalArgumentException("Item already exists in stock: " + stockItem.getItemCode());
         }
-    }
 
-    stocks.add(stockItem);
-    writeStockToFile(stocks);
+        File file = new File(STOCK_FILE);
+        STOCK_CACHE.applyUpsert(file, stockItem, () -> STOCK_JOURNAL.appendUpsert(formatStock(stockItem)));
+        compactStockIfNeeded();
+        CHANGE_BUS.publish(DataChange.inserted(Stock.class, stockItem.getItemCode(), STOCK_CACHE.copy(stockItem)));
+        return null;
+    });
 }
 
 public List<PurchaseOrder> getApprovedPurchaseOrders() throws IOException {
-    List<PurchaseOrder> allOrders = getAllPurchaseOrders();
-    List<PurchaseOrder> approvedOrders = new ArrayList<>();
-    for (PurchaseOrder po : allOrders) {
-        if ("Approved".equalsIgnoreCase(po.getStatus())) {
-            approvedOrders.add(po);
-        }
-    }
-    return approvedOrders;
+    return getPurchaseOrdersByStatus("Approved");
 }
 
 
@@ -0,0 +1,658 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide cache of the parsed rows of one data file.
+ * <p>
+ * The snapshot is kept until the file's size or modification time changes, or until
+ * {@link #put} / {@link #invalidate} is called. {@link #read} hands out the snapshot itself, an
+ * unmodifiable list of shared rows, so a repeated read costs nothing. Entities are mutable,
+ * though, so callers must treat those rows as read-only: key lookups and index queries return
+ * copies, and those are the rows to change and save.
+ * <p>
+ * Each snapshot carries a primary-key index plus any unique indexes registered with
+ * {@link #addUniqueIndex}, multi-value indexes registered with {@link #addIndex} and sorted
+ * range indexes registered with {@link #addRangeIndex}, all rebuilt whenever the snapshot is
+ * loaded or {@link #put}. Index lookups only copy the matching rows.
+ * <p>
+ * When the file has a {@link MutationJournal}, the journal's size and mtime are part of the
+ * freshness check, and {@link #applyUpsert} / {@link #applyDelete} patch the snapshot after a
+ * journal append instead of forcing a reload. They update only the index entries of the one
+ * row: a hash lookup in the primary and unique indexes, the old and new key's rows in each
+ * multi-value index, and a binary search in each range index. The row list itself is still
+ * copied, since readers may hold the previous one.
+ */
+public class EntityCache<T> {
+
+    public interface Loader<T> {
+        List<T> load() throws IOException;
+    }
+
+    public interface Mutation {
+        void apply() throws IOException;
+    }
+
+    private final String name;
+    private final Function<T, String> primaryKey;
+    private final UnaryOperator<T> copier;
+    private final Map<String, Function<T, String>> uniqueKeys = new LinkedHashMap<>();
+    private final Map<String, Function<T, String>> multiKeys = new LinkedHashMap<>();
+    private final Map<String, ToLongFunction<T>> rangeKeys = new LinkedHashMap<>();
+
+    private File journal;
+
+    private List<T> snapshot;
+    private Map<String, T> primaryIndex = Collections.emptyMap();
+    private Map<String, Map<String, T>> uniqueIndexes = Collections.emptyMap();
+    private Map<String, Map<String, List<T>>> multiIndexes = Collections.emptyMap();
+    private Map<String, RangeIndex<T>> rangeIndexes = Collections.emptyMap();
+    private long fileLength = -1;
+    private long fileModified = -1;
+    private long journalLength = -1;
+    private long journalModified = -1;
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public EntityCache(String name, Function<T, String> primaryKey, UnaryOperator<T> copier) {
+        this.name = name;
+        this.primaryKey = primaryKey;
+        this.copier = copier;
+    }
+
+    public synchronized EntityCache<T> addUniqueIndex(String indexName, Function<T, String> key) {
+        uniqueKeys.put(indexName, key);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Indexes rows by a non-unique key such as a status or foreign key. Rows sharing a key are
+     * kept in file order; rows whose key is {@code null} are left out.
+     */
+    public synchronized EntityCache<T> addIndex(String indexName, Function<T, String> key) {
+        multiKeys.put(indexName, key);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Keeps rows sorted by a numeric key (for dates, epoch days or seconds) for range lookups.
+     * Rows for which the key function returns {@link Long#MIN_VALUE} are left out.
+     */
+    public synchronized EntityCache<T> addRangeIndex(String indexName, ToLongFunction<T> key) {
+        rangeKeys.put(indexName, key);
+        invalidate();
+        return this;
+    }
+
+    public synchronized EntityCache<T> withJournal(File journal) {
+        this.journal = journal;
+        invalidate();
+        return this;
+    }
+
+    /**
+     * The cached rows themselves, loading them if needed. The list is unmodifiable and the rows
+     * are shared with every other reader, so never modify them.
+     */
+    public List<T> read(File file, Loader<T> loader) throws IOException {
+        synchronized (this) {
+            if (snapshot != null && isFresh(file)) {
+                hits.incrementAndGet();
+                return snapshot;
+            }
+        }
+        return load(file, loader);
+    }
+
+    /**
+     * Streams copies of the cached rows if the snapshot is still fresh, copying each row only
+     * as it is consumed. Returns {@code null} when the caller has to go to the file instead.
+     */
+    public Stream<T> stream(File file) {
+        List<T> rows;
+        synchronized (this) {
+            if (snapshot == null || !isFresh(file)) {
+                return null;
+            }
+            hits.incrementAndGet();
+            rows = snapshot;
+        }
+        return rows.stream().map(copier);
+    }
+
+    /**
+     * Whether the cached rows are loaded and still match {@code file}, so a query would not
+     * have to read it.
+     */
+    public synchronized boolean isWarm(File file) {
+        return snapshot != null && isFresh(file);
+    }
+
+    public T findByKey(File file, Loader<T> loader, String key) throws IOException {
+        return findIn(null, file, loader, key);
+    }
+
+    public T findByIndex(String indexName, File file, Loader<T> loader, String key) throws IOException {
+        if (!uniqueKeys.containsKey(indexName)) {
+            throw new IllegalArgumentException("Unknown index: " + indexName);
+        }
+        return findIn(indexName, file, loader, key);
+    }
+
+    public List<T> findAllByIndex(String indexName, File file, Loader<T> loader, String key) throws IOException {
+        if (!multiKeys.containsKey(indexName)) {
+            throw new IllegalArgumentException("Unknown index: " + indexName);
+        }
+        if (key == null) {
+            return new ArrayList<>();
+        }
+
+        synchronized (this) {
+            if (snapshot != null && isFresh(file)) {
+                hits.incrementAndGet();
+                return copyOf(multiIndexes.get(indexName).getOrDefault(key, Collections.emptyList()));
+            }
+        }
+
+        List<T> rows = load(file, loader);
+        synchronized (this) {
+            if (rows == snapshot) {
+                return copyOf(multiIndexes.get(indexName).getOrDefault(key, Collections.emptyList()));
+            }
+        }
+
+        // Not indexed because a write raced the load; see findIn.
+        Function<T, String> keyOf = multiKeys.get(indexName);
+        List<T> matches = new ArrayList<>();
+        for (T row : rows) {
+            if (key.equals(keyOf.apply(row))) {
+                matches.add(copier.apply(row));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns copies of the rows whose range key lies in {@code [from, to]}, in key order.
+     */
+    public List<T> findAllInRange(String indexName, File file, Loader<T> loader, long from, long to) throws IOException {
+        if (!rangeKeys.containsKey(indexName)) {
+            throw new IllegalArgumentException("Unknown index: " + indexName);
+        }
+
+        synchronized (this) {
+            if (snapshot != null && isFresh(file)) {
+                hits.incrementAndGet();
+                return copyOf(rangeIndexes.get(indexName).between(from, to));
+            }
+        }
+
+        List<T> rows = load(file, loader);
+        synchronized (this) {
+            if (rows == snapshot) {
+                return copyOf(rangeIndexes.get(indexName).between(from, to));
+            }
+        }
+
+        // Not indexed because a write raced the load; see findIn.
+        return copyOf(new RangeIndex<>(rows, rangeKeys.get(indexName)).between(from, to));
+    }
+
+    /**
+     * A copy of {@code row} made the way reads copy cached rows, or {@code null}.
+     */
+    T copy(T row) {
+        return copyOne(row);
+    }
+
+    public synchronized void put(File file, List<T> rows) {
+        store(copyOf(rows), file.length(), file.lastModified());
+    }
+
+    public synchronized void applyUpsert(File file, T row, Mutation append) throws IOException {
+        boolean fresh = snapshot != null && isFresh(file);
+        append.apply();
+        if (!fresh) {
+            invalidate();
+            return;
+        }
+
+        T cached = copier.apply(row);
+        String key = primaryKey.apply(cached);
+        T existing = primaryIndex.get(key);
+        int position = existing != null ? indexOfIdentity(snapshot, existing) : -1;
+        if (position < 0) {
+            existing = null;
+        }
+
+        // Readers may still hold the current list, so it is copied; the indexes are only read
+        // under this lock and are patched in place rather than rebuilt.
+        List<T> rows = new ArrayList<>(snapshot);
+        if (existing != null) {
+            rows.set(position, cached);
+            primaryIndex.put(key, cached);
+        } else {
+            position = rows.size();
+            rows.add(cached);
+            indexRow(primaryIndex, primaryKey, cached);
+        }
+
+        for (Map.Entry<String, Function<T, String>> index : uniqueKeys.entrySet()) {
+            Map<String, T> unique = uniqueIndexes.get(index.getKey());
+            if (existing != null) {
+                unique.remove(index.getValue().apply(existing), existing);
+            }
+            indexRow(unique, index.getValue(), cached);
+        }
+        for (Map.Entry<String, Function<T, String>> index : multiKeys.entrySet()) {
+            patchMulti(multiIndexes.get(index.getKey()), index.getValue(), rows, position, existing, cached);
+        }
+        for (RangeIndex<T> index : rangeIndexes.values()) {
+            if (existing != null) {
+                index.replace(existing, cached, rows, position);
+            } else {
+                index.insert(cached, rows, position);
+            }
+        }
+        publish(rows, file);
+    }
+
+    public synchronized void applyDelete(File file, String key, Mutation append) throws IOException {
+        boolean fresh = snapshot != null && isFresh(file);
+        append.apply();
+        if (!fresh) {
+            invalidate();
+            return;
+        }
+
+        T existing = primaryIndex.get(key);
+        int position = existing != null ? indexOfIdentity(snapshot, existing) : -1;
+        if (position < 0) {
+            publish(snapshot, file);
+            return;
+        }
+
+        List<T> rows = new ArrayList<>(snapshot);
+        rows.remove(position);
+        primaryIndex.remove(key, existing);
+        for (Map.Entry<String, Function<T, String>> index : uniqueKeys.entrySet()) {
+            uniqueIndexes.get(index.getKey()).remove(index.getValue().apply(existing), existing);
+        }
+        for (Map.Entry<String, Function<T, String>> index : multiKeys.entrySet()) {
+            removeFromMulti(multiIndexes.get(index.getKey()), index.getValue().apply(existing), existing);
+        }
+        for (RangeIndex<T> index : rangeIndexes.values()) {
+            index.remove(existing);
+        }
+        publish(rows, file);
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+        primaryIndex = Collections.emptyMap();
+        uniqueIndexes = Collections.emptyMap();
+        multiIndexes = Collections.emptyMap();
+        rangeIndexes = Collections.emptyMap();
+        fileLength = -1;
+        fileModified = -1;
+        journalLength = -1;
+        journalModified = -1;
+        version++;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private T findIn(String indexName, File file, Loader<T> loader, String key) throws IOException {
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (snapshot != null && isFresh(file)) {
+                hits.incrementAndGet();
+                return copyOne(indexFor(indexName).get(key));
+            }
+        }
+
+        List<T> rows = load(file, loader);
+        synchronized (this) {
+            if (rows == snapshot) {
+                return copyOne(indexFor(indexName).get(key));
+            }
+        }
+
+        // A write replaced the cache while the file was being read, so the rows were not
+        // indexed; search them as loaded rather than reporting the key missing.
+        Function<T, String> keyOf = indexName != null ? uniqueKeys.get(indexName) : primaryKey;
+        for (T row : rows) {
+            if (key.equals(keyOf.apply(row))) {
+                return copyOne(row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the file and stores the rows unless the cache changed meanwhile. Returns the
+     * snapshot when it was stored and the unindexed rows otherwise.
+     */
+    private List<T> load(File file, Loader<T> loader) throws IOException {
+        long loadVersion;
+        synchronized (this) {
+            loadVersion = version;
+        }
+
+        misses.incrementAndGet();
+        long length = file.length();
+        long modified = file.lastModified();
+        List<T> loaded = loader.load();
+
+        synchronized (this) {
+            if (version == loadVersion) {
+                store(loaded, length, modified);
+                return snapshot;
+            }
+        }
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private Map<String, T> indexFor(String indexName) {
+        if (indexName == null) {
+            return primaryIndex;
+        }
+        Map<String, T> index = uniqueIndexes.get(indexName);
+        return index != null ? index : Collections.emptyMap();
+    }
+
+    private boolean isFresh(File file) {
+        if (file.length() != fileLength || file.lastModified() != fileModified) {
+            return false;
+        }
+        return journal == null
+                || (journal.length() == journalLength && journal.lastModified() == journalModified);
+    }
+
+    private int indexOfIdentity(List<T> rows, T row) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == row) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void store(List<T> rows, long length, long modified) {
+        List<T> copy = new ArrayList<>(rows.size());
+        Map<String, T> primary = new HashMap<>(rows.size() * 2);
+        Map<String, Map<String, T>> unique = new HashMap<>();
+        for (String indexName : uniqueKeys.keySet()) {
+            unique.put(indexName, new HashMap<>(rows.size() * 2));
+        }
+
+        Map<String, Map<String, List<T>>> multi = new HashMap<>();
+        for (String indexName : multiKeys.keySet()) {
+            multi.put(indexName, new HashMap<>());
+        }
+
+        for (T cached : rows) {
+            copy.add(cached);
+            indexRow(primary, primaryKey, cached);
+            for (Map.Entry<String, Function<T, String>> key : uniqueKeys.entrySet()) {
+                indexRow(unique.get(key.getKey()), key.getValue(), cached);
+            }
+            for (Map.Entry<String, Function<T, String>> key : multiKeys.entrySet()) {
+                String value = key.getValue().apply(cached);
+                if (value != null) {
+                    multi.get(key.getKey()).computeIfAbsent(value, k -> new ArrayList<>()).add(cached);
+                }
+            }
+        }
+
+        Map<String, RangeIndex<T>> ranges = new HashMap<>();
+        for (Map.Entry<String, ToLongFunction<T>> key : rangeKeys.entrySet()) {
+            ranges.put(key.getKey(), new RangeIndex<>(copy, key.getValue()));
+        }
+
+        snapshot = Collections.unmodifiableList(copy);
+        primaryIndex = primary;
+        uniqueIndexes = unique;
+        multiIndexes = multi;
+        rangeIndexes = ranges;
+        fileLength = length;
+        fileModified = modified;
+        journalLength = journal != null ? journal.length() : -1;
+        journalModified = journal != null ? journal.lastModified() : -1;
+        version++;
+    }
+
+    /**
+     * Makes {@code rows}, whose indexes have already been patched, the new snapshot.
+     */
+    private void publish(List<T> rows, File file) {
+        snapshot = rows == snapshot ? rows : Collections.unmodifiableList(rows);
+        fileLength = file.length();
+        fileModified = file.lastModified();
+        journalLength = journal != null ? journal.length() : -1;
+        journalModified = journal != null ? journal.lastModified() : -1;
+        version++;
+    }
+
+    /**
+     * Moves {@code existing} (or nothing, for an insert) to {@code cached} in a multi-value
+     * index. A row whose key changed is inserted among the new key's rows in file order.
+     */
+    private void patchMulti(Map<String, List<T>> index, Function<T, String> key, List<T> rows, int position,
+            T existing, T cached) {
+        String oldKey = existing != null ? key.apply(existing) : null;
+        String newKey = key.apply(cached);
+        if (oldKey != null && oldKey.equals(newKey)) {
+            List<T> matches = index.get(oldKey);
+            int at = matches != null ? indexOfIdentity(matches, existing) : -1;
+            if (at >= 0) {
+                matches.set(at, cached);
+                return;
+            }
+        }
+
+        removeFromMulti(index, oldKey, existing);
+        if (newKey != null) {
+            List<T> matches = index.computeIfAbsent(newKey, k -> new ArrayList<>());
+            matches.add(precedingCount(matches, rows, position), cached);
+        }
+    }
+
+    private void removeFromMulti(Map<String, List<T>> index, String key, T row) {
+        if (key == null) {
+            return;
+        }
+        List<T> matches = index.get(key);
+        if (matches == null) {
+            return;
+        }
+        int position = indexOfIdentity(matches, row);
+        if (position >= 0) {
+            matches.remove(position);
+        }
+        if (matches.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * How many of {@code subset}, a file-ordered subsequence of {@code rows}, lie before
+     * {@code position} in {@code rows}.
+     */
+    private static <T> int precedingCount(List<T> subset, List<T> rows, int position) {
+        if (position >= rows.size() - 1) {
+            return subset.size();
+        }
+        int count = 0;
+        for (int i = 0; i < position && count < subset.size(); i++) {
+            if (rows.get(i) == subset.get(count)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void indexRow(Map<String, T> index, Function<T, String> key, T row) {
+        String value = key.apply(row);
+        if (value != null) {
+            index.putIfAbsent(value, row);
+        }
+    }
+
+    private T copyOne(T row) {
+        return row != null ? copier.apply(row) : null;
+    }
+
+    private List<T> copyOf(List<T> rows) {
+        List<T> copy = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            copy.add(copier.apply(row));
+        }
+        return copy;
+    }
+
+    /**
+     * Rows sorted by a long key, searched with binary search. Ties keep file order.
+     */
+    private static final class RangeIndex<T> {
+        private final ToLongFunction<T> key;
+        private final List<T> rows;
+        private long[] keys;
+
+        RangeIndex(List<T> source, ToLongFunction<T> key) {
+            this.key = key;
+            List<T> sorted = new ArrayList<>(source.size());
+            for (T row : source) {
+                if (key.applyAsLong(row) != Long.MIN_VALUE) {
+                    sorted.add(row);
+                }
+            }
+            sorted.sort(Comparator.comparingLong(key));
+
+            keys = new long[Math.max(sorted.size(), 16)];
+            for (int i = 0; i < sorted.size(); i++) {
+                keys[i] = key.applyAsLong(sorted.get(i));
+            }
+            rows = sorted;
+        }
+
+        List<T> between(long from, long to) {
+            if (from > to) {
+                return Collections.emptyList();
+            }
+            return rows.subList(firstIndexAbove(from, false), firstIndexAbove(to, true));
+        }
+
+        /**
+         * Swaps {@code existing} for {@code cached}, which sits at {@code position} of the new
+         * file-ordered {@code source}. Stays in place when the key did not change.
+         */
+        void replace(T existing, T cached, List<T> source, int position) {
+            long oldKey = key.applyAsLong(existing);
+            if (oldKey == key.applyAsLong(cached) && oldKey != Long.MIN_VALUE) {
+                int at = find(existing, oldKey);
+                if (at >= 0) {
+                    rows.set(at, cached);
+                    return;
+                }
+            }
+            remove(existing);
+            insert(cached, source, position);
+        }
+
+        void insert(T row, List<T> source, int position) {
+            long value = key.applyAsLong(row);
+            if (value == Long.MIN_VALUE) {
+                return;
+            }
+            int low = firstIndexAbove(value, false);
+            int high = firstIndexAbove(value, true);
+            int at = low + precedingCount(rows.subList(low, high), source, position);
+
+            int size = rows.size();
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            keys[at] = value;
+            rows.add(at, row);
+        }
+
+        void remove(T row) {
+            int at = find(row, key.applyAsLong(row));
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(keys, at + 1, keys, at, rows.size() - at - 1);
+            rows.remove(at);
+        }
+
+        private int find(T row, long value) {
+            if (value == Long.MIN_VALUE) {
+                return -1;
+            }
+            int high = firstIndexAbove(value, true);
+            for (int i = firstIndexAbove(value, false); i < high; i++) {
+                if (rows.get(i) == row) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** First position whose key is {@code > value} (inclusive) or {@code >= value}. */
+        private int firstIndexAbove(long value, boolean inclusive) {
+            int low = 0;
+            int high = rows.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < value || (inclusive && keys[mid] == value)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " [hits=" + hits.get() + ", misses=" + misses.get() + ", version=" + getVersion() + "]";
+    }
+}
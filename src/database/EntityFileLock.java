@@ -0,0 +1,57 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lock on one entity file, shared by every thread and every process using the
+ * data directory.
+ * <p>
+ * Threads in this JVM queue on a {@link ReentrantLock}. The thread that gets it then takes an
+ * OS {@link FileLock} on a {@code <file>.lock} sidecar, so other app instances wait too. The
+ * sidecar is never replaced, so the lock survives atomic rewrites of the data file. Nested
+ * calls from the thread that already holds the lock run directly.
+ */
+public class EntityFileLock {
+
+    public interface Action<T> {
+        T run() throws IOException;
+    }
+
+    private final File lockFile;
+    private final ReentrantLock threadLock = new ReentrantLock();
+
+    public EntityFileLock(File file) {
+        this.lockFile = new File(file.getPath() + ".lock");
+    }
+
+    public File getLockFile() {
+        return lockFile;
+    }
+
+    public <T> T call(Action<T> action) throws IOException {
+        threadLock.lock();
+        try {
+            if (threadLock.getHoldCount() > 1) {
+                return action.run();
+            }
+
+            lockFile.getAbsoluteFile().getParentFile().mkdirs();
+            try (FileChannel channel = FileChannel.open(lockFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return action.run();
+                } finally {
+                    lock.release();
+                }
+            }
+        } finally {
+            threadLock.unlock();
+        }
+    }
+}
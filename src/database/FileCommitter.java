@@ -0,0 +1,286 @@
+package database;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces data files atomically, with group commit.
+ * <p>
+ * {@link #replace} writes the new contents to a temp file next to the target and hands it to a
+ * single committer thread. The thread collects every replacement that arrives within the commit
+ * window. If the same file is replaced more than once in a window, only the newest version is
+ * committed. The committer fsyncs each surviving temp file, renames it over its target, and then
+ * fsyncs each touched directory once. {@code replace} returns only after its file is committed,
+ * so readers see either the old file or the new one, never a half-written one.
+ * <p>
+ * A superseded replacement never reaches disk, so {@code replace} returns {@code false} for it.
+ * A caller that caches what it wrote must drop that cache instead.
+ */
+public class FileCommitter {
+
+    public interface Content {
+        void writeTo(BufferedWriter writer) throws IOException;
+    }
+
+    public static final long DEFAULT_WINDOW_MILLIS = 2;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final long windowNanos;
+    private final boolean fsync;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong groups = new AtomicLong();
+
+    public FileCommitter(long windowMillis, boolean fsync) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Commit window must not be negative");
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.fsync = fsync;
+        this.thread = new Thread(this::run, "file-committer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns {@code true} once {@code content} is the committed file, or {@code false} if a newer
+     * replacement of the same file in the same group was committed instead.
+     */
+    public boolean replace(File target, Content content) throws IOException {
+        File directory = target.getAbsoluteFile().getParentFile();
+        directory.mkdirs();
+
+        Path temp = Files.createTempFile(directory.toPath(), target.getName() + ".", TEMP_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            content.writeTo(writer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Pending pending = new Pending(target.getAbsoluteFile().toPath(), temp);
+        queue.add(pending);
+        if (closed) {
+            drainAndCommit();
+        }
+        try {
+            return pending.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while committing " + target.getName());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause
+                    : new IOException("Error committing " + target.getName(), cause);
+        }
+    }
+
+    /**
+     * Stops the committer thread after it has committed everything already queued. Later calls
+     * to {@link #replace} still work; they commit on the calling thread.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainAndCommit();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Deletes temp files left in {@code directory} by a crash before their rename.
+     */
+    public static void deleteLeftovers(File directory) {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory.toPath(), "*" + TEMP_SUFFIX)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        } catch (IOException e) {
+            System.err.println("Error removing leftover temp files: " + e.getMessage());
+        }
+    }
+
+    public long getCommitCount() {
+        return commits.get();
+    }
+
+    public long getSupersededCount() {
+        return superseded.get();
+    }
+
+    public long getSyncCount() {
+        return syncs.get();
+    }
+
+    public long getGroupCount() {
+        return groups.get();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private synchronized void drainAndCommit() {
+        List<Pending> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            commit(batch);
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        Map<Path, Pending> latest = new LinkedHashMap<>();
+        Map<Path, List<Pending>> waiters = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            Pending previous = latest.put(pending.target, pending);
+            if (previous != null) {
+                deleteQuietly(previous.temp);
+                superseded.incrementAndGet();
+            }
+            waiters.computeIfAbsent(pending.target, target -> new ArrayList<>()).add(pending);
+        }
+        groups.incrementAndGet();
+
+        Map<Path, IOException> failures = new LinkedHashMap<>();
+        List<Path> directories = new ArrayList<>();
+        for (Pending pending : latest.values()) {
+            try {
+                if (fsync) {
+                    force(pending.temp, false);
+                }
+                move(pending.temp, pending.target);
+                commits.incrementAndGet();
+                Path directory = pending.target.getParent();
+                if (!directories.contains(directory)) {
+                    directories.add(directory);
+                }
+            } catch (IOException e) {
+                deleteQuietly(pending.temp);
+                failures.put(pending.target, e);
+            }
+        }
+
+        if (fsync) {
+            for (Path directory : directories) {
+                try {
+                    force(directory, true);
+                } catch (IOException e) {
+                    // Not every platform can open a directory for sync; the renames still happened.
+                }
+            }
+        }
+
+        for (Map.Entry<Path, List<Pending>> entry : waiters.entrySet()) {
+            IOException failure = failures.get(entry.getKey());
+            for (Pending pending : entry.getValue()) {
+                if (failure != null) {
+                    pending.done.completeExceptionally(failure);
+                } else {
+                    pending.done.complete(pending == latest.get(entry.getKey()));
+                }
+            }
+        }
+    }
+
+    private void force(Path path, boolean directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, directory ? StandardOpenOption.READ : StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        syncs.incrementAndGet();
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("Could not delete temp file " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileCommitter [commits=" + commits.get() + ", superseded=" + superseded.get()
+                + ", syncs=" + syncs.get() + ", groups=" + groups.get() + "]";
+    }
+
+    private static final class Pending {
+        final Path target;
+        final Path temp;
+        final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        Pending(Path target, Path temp) {
+            this.target = target;
+            this.temp = temp;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Hands out increasing numbers per id prefix ("U", "SUP", "LOG", ...) without looking at the
+ * entity files.
+ * <p>
+ * The high-water mark of every prefix is kept in {@code sequences.txt}. A caller that runs out of
+ * numbers reserves the next block of {@link #DEFAULT_BLOCK_SIZE} by raising the mark on disk, under
+ * an {@link EntityFileLock} so two app instances never get the same block, and then hands out
+ * the block from memory. Allocating an id is therefore a counter increment, with one small file
+ * write per block. Numbers left in a block when the app stops are skipped, never reused.
+ * <p>
+ * The first time a prefix is seen its mark comes from a {@link Seed}, usually the highest number
+ * already used in the entity file, so existing data keeps working. That scan happens once per
+ * prefix, ever.
+ */
+public class IdSequence {
+
+    public interface Seed {
+        /**
+         * Highest number already in use for the prefix, or 0 if none.
+         */
+        long highest() throws IOException;
+    }
+
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+
+    private static final String HEADER = "prefix,highWater";
+
+    private final File file;
+    private final EntityFileLock fileLock;
+    private final FileCommitter committer;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new HashMap<>();
+
+    public IdSequence(File file, FileCommitter committer) {
+        this(file, committer, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdSequence(File file, FileCommitter committer, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+        this.file = file;
+        this.fileLock = new EntityFileLock(file);
+        this.committer = committer;
+        this.blockSize = blockSize;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * The next number for {@code prefix}. {@code seed} is only called if the prefix has never
+     * been used.
+     */
+    public synchronized long next(String prefix, Seed seed) throws IOException {
+        if (prefix == null || prefix.isEmpty() || prefix.contains(",")) {
+            throw new IllegalArgumentException("Invalid sequence prefix: " + prefix);
+        }
+
+        Block block = blocks.get(prefix);
+        if (block == null || block.next > block.last) {
+            block = reserve(prefix, seed);
+            blocks.put(prefix, block);
+        }
+        return block.next++;
+    }
+
+    /**
+     * {@code prefix} followed by the next number, zero-padded to at least {@code width} digits.
+     */
+    public String nextId(String prefix, int width, Seed seed) throws IOException {
+        return prefix + String.format("%0" + width + "d", next(prefix, seed));
+    }
+
+    private Block reserve(String prefix, Seed seed) throws IOException {
+        return fileLock.call(() -> {
+            Map<String, Long> marks = readMarks();
+            Long mark = marks.get(prefix);
+            long start = (mark != null ? mark : Math.max(0, seed.highest())) + 1;
+            long last = start + blockSize - 1;
+            marks.put(prefix, last);
+            writeMarks(marks);
+            return new Block(start, last);
+        });
+    }
+
+    private Map<String, Long> readMarks() throws IOException {
+        Map<String, Long> marks = new TreeMap<>();
+        if (!file.exists()) {
+            return marks;
+        }
+        try (Stream<String[]> rows = CsvReader.stream(file, row -> row.size() >= 2 ? new String[]{row.get(0), row.get(1)} : null)) {
+            rows.forEach(row -> {
+                try {
+                    marks.put(row[0], Long.parseLong(row[1].trim()));
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping invalid sequence line in " + file.getName() + ": " + row[0]);
+                }
+            });
+        }
+        return marks;
+    }
+
+    private void writeMarks(Map<String, Long> marks) throws IOException {
+        committer.replace(file, writer -> {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, Long> mark : marks.entrySet()) {
+                writer.write(new CsvWriter().field(mark.getKey()).field(String.valueOf(mark.getValue())).build());
+                writer.newLine();
+            }
+        });
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder(file.getName()).append(" [");
+        blocks.forEach((prefix, block) -> text.append(prefix).append('=').append(block.next).append("..")
+                .append(block.last).append(' '));
+        return text.toString().trim() + "]";
+    }
+
+    private static final class Block {
+        long next;
+        final long last;
+
+        Block(long next, long last) {
+            this.next = next;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import models.SystemLog;
+
+/**
+ * Inverted index over the log id, username, action, details and date of a log, for the search
+ * boxes on the log pages.
+ * <p>
+ * Text is lower-cased and split into runs of letters and digits. Each token maps to a sorted
+ * posting list of row positions in the log. A query matches rows that contain, for every query
+ * word, some token starting with that word, so "fresh mil" finds "Fresh Milk". Lookups go
+ * through the sorted token map, so the cost depends on how many postings match, not on how
+ * long the log is.
+ * <p>
+ * {@link #sync} brings the index up to date with the current rows. Logs only grow at the end,
+ * so normally only the new rows are indexed. If the rows no longer extend the indexed ones, the
+ * index is rebuilt.
+ */
+public class LogSearchIndex {
+
+    private final NavigableMap<String, Postings> tokens = new TreeMap<>();
+    private final List<SystemLog> rows = new ArrayList<>();
+
+    /**
+     * Indexes whatever {@code current} has beyond the rows seen so far.
+     */
+    public synchronized void sync(List<SystemLog> current) {
+        if (!extendsIndexed(current)) {
+            tokens.clear();
+            rows.clear();
+        } else if (!rows.isEmpty() && rows.get(rows.size() - 1) != current.get(rows.size() - 1)) {
+            // Same log re-read into new instances; point at them so the old ones can be collected.
+            for (int position = 0; position < rows.size(); position++) {
+                rows.set(position, current.get(position));
+            }
+        }
+        for (int position = rows.size(); position < current.size(); position++) {
+            SystemLog log = current.get(position);
+            rows.add(log);
+            index(position, log.getLogId());
+            index(position, log.getUsername());
+            index(position, log.getAction());
+            index(position, log.getDetails());
+            if (log.getTimestamp() != null) {
+                index(position, log.getTimestamp().toLocalDate().toString());
+            }
+        }
+    }
+
+    /**
+     * Rows matching every word of {@code query}, in log order. A blank query matches nothing.
+     * The rows are the indexed instances; callers outside the package get copies through
+     * {@link DatabaseHelper}.
+     */
+    public synchronized List<SystemLog> search(String query) {
+        List<String> words = tokenize(query);
+        List<SystemLog> result = new ArrayList<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+
+        List<int[]> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            int[] positions = prefixMatches(word);
+            if (positions.length == 0) {
+                return result;
+            }
+            matches.add(positions);
+        }
+        matches.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] smallest = matches.get(0);
+        for (int position : smallest) {
+            boolean all = true;
+            for (int i = 1; i < matches.size() && all; i++) {
+                all = Arrays.binarySearch(matches.get(i), position) >= 0;
+            }
+            if (all) {
+                result.add(rows.get(position));
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    public synchronized int getTokenCount() {
+        return tokens.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private boolean extendsIndexed(List<SystemLog> current) {
+        if (current.size() < rows.size()) {
+            return false;
+        }
+        if (rows.isEmpty()) {
+            return true;
+        }
+        int last = rows.size() - 1;
+        return sameRow(rows.get(0), current.get(0)) && sameRow(rows.get(last), current.get(last));
+    }
+
+    private static boolean sameRow(SystemLog a, SystemLog b) {
+        return a.getLogId().equals(b.getLogId())
+                && (a.getTimestamp() == null ? b.getTimestamp() == null : a.getTimestamp().equals(b.getTimestamp()));
+    }
+
+    private void index(int position, String text) {
+        for (String token : tokenize(text)) {
+            tokens.computeIfAbsent(token, t -> new Postings()).add(position);
+        }
+    }
+
+    /**
+     * Sorted, distinct positions of rows with a token starting with {@code prefix}.
+     */
+    private int[] prefixMatches(String prefix) {
+        Map<String, Postings> matching = tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matching.size() == 1) {
+            return matching.values().iterator().next().toArray();
+        }
+
+        int total = 0;
+        for (Postings postings : matching.values()) {
+            total += postings.size;
+        }
+        int[] merged = new int[total];
+        int length = 0;
+        for (Postings postings : matching.values()) {
+            System.arraycopy(postings.positions, 0, merged, length, postings.size);
+            length += postings.size;
+        }
+        Arrays.sort(merged);
+
+        int distinct = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, distinct);
+    }
+
+    /**
+     * Growable sorted int array. Positions arrive in increasing order, so a row that repeats a
+     * token is only stored once.
+     */
+    private static final class Postings {
+        int[] positions = new int[4];
+        int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
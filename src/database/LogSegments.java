@@ -0,0 +1,433 @@
+package database;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import models.SystemLog;
+
+/**
+ * Splits an append-only log file into sealed segments.
+ * <p>
+ * The log file itself stays the active segment that new rows are appended to. Before an append,
+ * {@link #append} checks whether the active segment's first row belongs to an earlier period
+ * (month by default) or whether the file has reached the size limit. If so, the file is sealed:
+ * it is gzip-compressed into {@code <name>.<period>.<n>.csv.gz}, the segment is recorded in
+ * {@code <name>.manifest} with its time range and row count, and the active file is reset to
+ * its header. Date-range reads use the manifest to open only the segments that overlap the range.
+ * <p>
+ * The manifest also records the active file's length and mtime at sealing time. If the app
+ * stops before the reset, the next start sees the unchanged file and finishes the reset, so no
+ * row is ever in a segment and the active file at once.
+ */
+public class LogSegments {
+
+    public interface Action<T> {
+        T run() throws IOException;
+    }
+
+    public enum Period {
+        MONTH("yyyy-MM"),
+        DAY("yyyy-MM-dd"),
+        NONE(null);
+
+        private final DateTimeFormatter format;
+
+        Period(String pattern) {
+            this.format = pattern != null ? DateTimeFormatter.ofPattern(pattern) : null;
+        }
+
+        String key(LocalDateTime timestamp) {
+            return format != null ? timestamp.format(format) : null;
+        }
+    }
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final String MANIFEST_HEADER = "segment,firstTimestamp,lastTimestamp,rows,sourceLength,sourceModified";
+    private static final String SEGMENT_SUFFIX = ".csv.gz";
+    private static final DateTimeFormatter UNBOUNDED_LABEL = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File active;
+    private final String header;
+    private final File manifest;
+    private final Period period;
+    private final long maxBytes;
+    private final CsvReader.RowParser<SystemLog> parser;
+    private final FileCommitter committer;
+    private final Runnable onRotate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile List<Segment> segments;
+    private volatile List<SystemLog> sealedRows;
+    private Object activeKey;
+    private LocalDateTime activeFirst;
+
+    public LogSegments(File active, String header, Period period, long maxBytes,
+            CsvReader.RowParser<SystemLog> parser, FileCommitter committer, Runnable onRotate) {
+        this.active = active;
+        this.header = header;
+        this.manifest = new File(active.getParentFile(), baseName() + ".manifest");
+        this.period = period;
+        this.maxBytes = maxBytes;
+        this.parser = parser;
+        this.committer = committer;
+        this.onRotate = onRotate;
+    }
+
+    public File getActiveFile() {
+        return active;
+    }
+
+    public File getManifestFile() {
+        return manifest;
+    }
+
+    public List<Segment> getSegments() throws IOException {
+        return read(() -> new ArrayList<>(segments));
+    }
+
+    /**
+     * Sealed segments whose time range overlaps {@code [from, to]}, oldest first. A {@code null}
+     * bound is open.
+     */
+    public List<Segment> getSegmentsBetween(LocalDateTime from, LocalDateTime to) throws IOException {
+        return read(() -> {
+            List<Segment> result = new ArrayList<>();
+            for (Segment segment : segments) {
+                if (segment.overlaps(from, to)) {
+                    result.add(segment);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Runs {@code action} while no rotation can happen, so the segment list and the active file
+     * it reads are consistent.
+     */
+    public <T> T read(Action<T> action) throws IOException {
+        load();
+        lock.readLock().lock();
+        try {
+            return action.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rotates if the active segment is due, then runs {@code write}, which appends to the
+     * active file.
+     */
+    public void append(Action<Void> write) throws IOException {
+        try {
+            rotateIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error rotating " + active.getName() + ", appending to the current segment: " + e.getMessage());
+        }
+        read(write);
+    }
+
+    public boolean rotateIfNeeded() throws IOException {
+        load();
+        lock.writeLock().lock();
+        try {
+            LocalDateTime first = firstTimestamp();
+            if (first == null) {
+                return false;
+            }
+            boolean periodEnded = period != Period.NONE
+                    && !period.key(first).equals(period.key(LocalDateTime.now()));
+            boolean full = maxBytes > 0 && active.length() >= maxBytes;
+            return (periodEnded || full) && seal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment now, whatever its age or size. Returns {@code false} if it has
+     * no rows.
+     */
+    public boolean rotate() throws IOException {
+        load();
+        lock.writeLock().lock();
+        try {
+            return seal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rows of every sealed segment, oldest first. Call from inside {@link #read}. Sealed
+     * segments never change, so they are parsed once and kept until the next rotation; callers
+     * must not modify the returned rows.
+     */
+    public List<SystemLog> readSealed() throws IOException {
+        List<SystemLog> rows = sealedRows;
+        if (rows == null) {
+            rows = new ArrayList<>();
+            for (Segment segment : segments) {
+                try (Stream<SystemLog> segmentRows = stream(segment)) {
+                    segmentRows.forEach(rows::add);
+                }
+            }
+            sealedRows = rows;
+        }
+        return new ArrayList<>(rows);
+    }
+
+    /**
+     * Lazily parses a sealed segment. Close the stream once done.
+     */
+    public Stream<SystemLog> stream(Segment segment) throws IOException {
+        GZIPInputStream in = new GZIPInputStream(
+                new BufferedInputStream(new FileInputStream(segment.file), BUFFER_SIZE), BUFFER_SIZE);
+        return CsvReader.stream(new InputStreamReader(in), parser);
+    }
+
+    private void load() throws IOException {
+        if (segments != null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (segments != null) {
+                return;
+            }
+            List<Segment> loaded = readManifest();
+            segments = loaded;
+
+            if (!loaded.isEmpty()) {
+                Segment last = loaded.get(loaded.size() - 1);
+                if (active.length() == last.sourceLength && active.lastModified() == last.sourceModified) {
+                    resetActive();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Segment> readManifest() throws IOException {
+        List<Segment> loaded = new ArrayList<>();
+        if (!manifest.exists()) {
+            return loaded;
+        }
+
+        try (CsvReader reader = new CsvReader(new FileReader(manifest))) {
+            boolean firstLine = true;
+            while (reader.next()) {
+                if (firstLine) {
+                    firstLine = false;
+                    continue;
+                }
+                if (reader.isBlank()) {
+                    continue;
+                }
+                if (reader.size() < 6) {
+                    System.err.println("Skipping malformed manifest line: " + reader.line());
+                    continue;
+                }
+
+                File file = new File(active.getParentFile(), reader.get(0));
+                if (!file.exists()) {
+                    System.err.println("Log segment listed in " + manifest.getName() + " is missing: " + file.getName());
+                    continue;
+                }
+                loaded.add(new Segment(file, LocalDateTime.parse(reader.get(1)), LocalDateTime.parse(reader.get(2)),
+                        reader.getInt(3), Long.parseLong(reader.get(4)), Long.parseLong(reader.get(5))));
+            }
+        }
+        return loaded;
+    }
+
+    private void writeManifest(List<Segment> rows) throws IOException {
+        committer.replace(manifest, writer -> {
+            writer.write(MANIFEST_HEADER);
+            writer.newLine();
+            CsvWriter csv = new CsvWriter();
+            for (Segment segment : rows) {
+                writer.write(csv.field(segment.file.getName())
+                        .field(segment.first.toString())
+                        .field(segment.last.toString())
+                        .field(segment.rows)
+                        .field(Long.toString(segment.sourceLength))
+                        .field(Long.toString(segment.sourceModified))
+                        .build());
+                writer.newLine();
+            }
+        });
+    }
+
+    /**
+     * Timestamp of the first row in the active file, or {@code null} if it has none. Cached
+     * per file identity, since appends never change the first row.
+     */
+    private LocalDateTime firstTimestamp() throws IOException {
+        if (!active.exists()) {
+            return null;
+        }
+        Object key = Files.readAttributes(active.toPath(), BasicFileAttributes.class).fileKey();
+        if (key != null && key.equals(activeKey)) {
+            return activeFirst;
+        }
+
+        LocalDateTime first;
+        try (Stream<SystemLog> rows = CsvReader.stream(active, parser)) {
+            first = rows.map(SystemLog::getTimestamp).filter(Objects::nonNull).findFirst().orElse(null);
+        }
+        if (first != null) {
+            activeKey = key;
+            activeFirst = first;
+        }
+        return first;
+    }
+
+    private boolean seal() throws IOException {
+        if (!active.exists()) {
+            return false;
+        }
+        long sourceLength = active.length();
+        long sourceModified = active.lastModified();
+
+        LocalDateTime[] range = new LocalDateTime[2];
+        int[] rows = new int[1];
+        try (Stream<SystemLog> activeRows = CsvReader.stream(active, parser)) {
+            activeRows.forEach(row -> {
+                LocalDateTime timestamp = row.getTimestamp();
+                if (range[0] == null || timestamp.isBefore(range[0])) {
+                    range[0] = timestamp;
+                }
+                if (range[1] == null || timestamp.isAfter(range[1])) {
+                    range[1] = timestamp;
+                }
+                rows[0]++;
+            });
+        }
+        if (rows[0] == 0) {
+            return false;
+        }
+
+        File target = new File(active.getParentFile(), segmentName(range[0]));
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            Files.copy(active.toPath(), gzip);
+            gzip.finish();
+            out.getFD().sync();
+        } catch (IOException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        }
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.add(new Segment(target, range[0], range[1], rows[0], sourceLength, sourceModified));
+        writeManifest(updated);
+        segments = updated;
+        sealedRows = null;
+        resetActive();
+        return true;
+    }
+
+    private void resetActive() throws IOException {
+        committer.replace(active, writer -> {
+            writer.write(header);
+            writer.newLine();
+        });
+        activeKey = null;
+        activeFirst = null;
+        onRotate.run();
+    }
+
+    private String segmentName(LocalDateTime first) {
+        String label = period != Period.NONE ? period.key(first) : first.format(UNBOUNDED_LABEL);
+        String prefix = baseName() + "." + label + ".";
+        int sequence = 1;
+        for (Segment segment : segments) {
+            if (segment.file.getName().startsWith(prefix)) {
+                sequence++;
+            }
+        }
+        return prefix + String.format("%03d", sequence) + SEGMENT_SUFFIX;
+    }
+
+    private String baseName() {
+        String name = active.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    @Override
+    public String toString() {
+        return "LogSegments [active=" + active.getName() + ", sealed=" + (segments != null ? segments.size() : "?") + "]";
+    }
+
+    public static final class Segment {
+        private final File file;
+        private final LocalDateTime first;
+        private final LocalDateTime last;
+        private final int rows;
+        private final long sourceLength;
+        private final long sourceModified;
+
+        Segment(File file, LocalDateTime first, LocalDateTime last, int rows, long sourceLength, long sourceModified) {
+            this.file = file;
+            this.first = first;
+            this.last = last;
+            this.rows = rows;
+            this.sourceLength = sourceLength;
+            this.sourceModified = sourceModified;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public LocalDateTime getFirstTimestamp() {
+            return first;
+        }
+
+        public LocalDateTime getLastTimestamp() {
+            return last;
+        }
+
+        public int getRowCount() {
+            return rows;
+        }
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return (from == null || !last.isBefore(from)) && (to == null || !first.isAfter(to));
+        }
+
+        @Override
+        public String toString() {
+            return file.getName() + " [" + first + " .. " + last + ", rows=" + rows + "]";
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package database;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Append-only log of single-row changes made to one CSV data file.
+ * <p>
+ * Each record is either {@code U,"<csv row>"} (insert or replace by key) or {@code D,<key>},
+ * written with {@link CsvWriter} so rows containing commas or line breaks survive intact.
+ * Readers replay the journal over the base file, so an update costs one small append.
+ * Once the journal reaches {@link #COMPACT_THRESHOLD} entries the owner rewrites the base
+ * file and calls {@link #clear}. Replaying is idempotent, so a crash between the rewrite
+ * and the clear only repeats changes that are already in the base file.
+ * <p>
+ * With fsync on, every append is forced to disk before it returns, so a change that was
+ * reported as saved survives a crash.
+ */
+public class MutationJournal {
+
+    public static final int COMPACT_THRESHOLD = 200;
+
+    private static final String UPSERT = "U";
+    private static final String DELETE = "D";
+
+    private final File file;
+    private final boolean fsync;
+    private int entryCount = -1;
+
+    public MutationJournal(File file) {
+        this(file, true);
+    }
+
+    public MutationJournal(File file, boolean fsync) {
+        this.file = file;
+        this.fsync = fsync;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public synchronized void appendUpsert(String row) throws IOException {
+        append(new CsvWriter().field(UPSERT).field(row).build());
+    }
+
+    public synchronized void appendDelete(String key) throws IOException {
+        append(new CsvWriter().field(DELETE).field(key).build());
+    }
+
+    /**
+     * Appends several upserts with a single write.
+     */
+    public synchronized void appendUpserts(List<String> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(rows.size() * 96);
+        CsvWriter writer = new CsvWriter();
+        for (String row : rows) {
+            lines.append(writer.field(UPSERT).field(row).build()).append(System.lineSeparator());
+        }
+        write(lines.toString());
+        if (entryCount >= 0) {
+            entryCount += rows.size();
+        }
+    }
+
+    public synchronized boolean needsCompaction() throws IOException {
+        return getEntryCount() >= COMPACT_THRESHOLD;
+    }
+
+    public synchronized int getEntryCount() throws IOException {
+        if (entryCount < 0) {
+            entryCount = 0;
+            if (file.exists()) {
+                try (CsvReader reader = new CsvReader(new FileReader(file))) {
+                    while (reader.next()) {
+                        if (!reader.isBlank()) {
+                            entryCount++;
+                        }
+                    }
+                }
+            }
+        }
+        return entryCount;
+    }
+
+    public synchronized void clear() throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not clear journal: " + file);
+        }
+        entryCount = 0;
+    }
+
+    public synchronized <T> List<T> replay(List<T> rows, Function<T, String> key, Function<String, T> parser)
+            throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return rows;
+        }
+
+        Map<String, T> byKey = new LinkedHashMap<>();
+        List<T> unkeyed = new ArrayList<>();
+        for (T row : rows) {
+            String id = key.apply(row);
+            if (id == null || byKey.putIfAbsent(id, row) != null) {
+                unkeyed.add(row);
+            }
+        }
+
+        int count = 0;
+        try (CsvReader reader = new CsvReader(new FileReader(file))) {
+            while (reader.next()) {
+                if (reader.isBlank()) {
+                    continue;
+                }
+                count++;
+                String op = reader.get(0);
+                if (UPSERT.equals(op) && reader.size() >= 2) {
+                    T row = parser.apply(reader.get(1));
+                    if (row != null) {
+                        byKey.put(key.apply(row), row);
+                    }
+                } else if (DELETE.equals(op) && reader.size() >= 2) {
+                    byKey.remove(reader.get(1));
+                } else {
+                    System.err.println("Skipping malformed journal line in " + file.getName() + ": " + reader.line());
+                }
+            }
+        }
+        entryCount = count;
+
+        List<T> replayed = new ArrayList<>(byKey.values());
+        replayed.addAll(unkeyed);
+        return replayed;
+    }
+
+    private void append(String line) throws IOException {
+        write(line + System.lineSeparator());
+        if (entryCount >= 0) {
+            entryCount++;
+        }
+    }
+
+    private void write(String lines) throws IOException {
+        file.getParentFile().mkdirs();
+        boolean created = !file.exists();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        if (fsync && created) {
+            // A new journal is only durable once its directory entry is.
+            try (FileChannel directory = FileChannel.open(file.getAbsoluteFile().getParentFile().toPath(),
+                    StandardOpenOption.READ)) {
+                directory.force(true);
+            } catch (IOException e) {
+                // Not every platform can open a directory for sync.
+            }
+        }
+    }
+}
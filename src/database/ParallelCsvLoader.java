@@ -0,0 +1,152 @@
+package database;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses large append-only CSV files in parallel.
+ * <p>
+ * The file is memory-mapped and split into chunks that end on a record boundary. The split
+ * follows the same quoting rules as {@link CsvReader}, so a line break inside a quoted field
+ * never starts a new chunk. Each chunk is decoded and parsed on the pool, and the rows are
+ * merged back in file order. The header line is skipped, as are blank and unparsable rows.
+ */
+public class ParallelCsvLoader {
+
+    public static final long DEFAULT_THRESHOLD = 4L * 1024 * 1024;
+
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final long threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelCsvLoader(long threshold, ForkJoinPool pool) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Whether {@code file} is large enough to be worth splitting. Files above 2 GB cannot be
+     * mapped in one buffer and are left to the sequential parser.
+     */
+    public boolean accepts(File file) {
+        long length = file.length();
+        return length >= threshold && length <= Integer.MAX_VALUE;
+    }
+
+    public <T> List<T> load(File file, CsvReader.RowParser<T> parser) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, data.limit() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<int[]> ranges = split(data, chunkSize);
+
+        List<Callable<List<T>>> tasks = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            ByteBuffer chunk = data.slice(range[0], range[1] - range[0]);
+            tasks.add(() -> parseChunk(chunk, parser));
+        }
+
+        List<T> rows = new ArrayList<>();
+        try {
+            for (Future<List<T>> result : pool.invokeAll(tasks)) {
+                rows.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing " + file.getName(), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error parsing " + file.getName(), e.getCause());
+        }
+        return rows;
+    }
+
+    private static <T> List<T> parseChunk(ByteBuffer chunk, CsvReader.RowParser<T> parser) throws IOException {
+        CharBuffer chars = StandardCharsets.UTF_8.decode(chunk);
+        List<T> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(
+                new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()))) {
+            while (reader.next()) {
+                if (reader.isBlank()) {
+                    continue;
+                }
+                T row = parser.parse(reader);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns {@code [start, end)} byte ranges of at least {@code chunkSize} bytes, each ending
+     * just after a record-terminating newline. The first range starts after the header line.
+     */
+    private static List<int[]> split(ByteBuffer data, int chunkSize) {
+        List<int[]> ranges = new ArrayList<>();
+        int size = data.limit();
+        int start = -1;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        for (int i = 0; i < size; i++) {
+            byte b = data.get(i);
+            if (quoted) {
+                if (b == '"') {
+                    if (i + 1 < size && data.get(i + 1) == '"') {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                }
+                continue;
+            }
+
+            if (b == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (b == '\n' || b == '\r') {
+                fieldStart = true;
+                if (b == '\n') {
+                    if (start < 0) {
+                        start = i + 1;
+                    } else if (i + 1 - start >= chunkSize) {
+                        ranges.add(new int[] {start, i + 1});
+                        start = i + 1;
+                    }
+                }
+            } else {
+                fieldStart = b == ',';
+            }
+        }
+
+        if (start >= 0 && start < size) {
+            ranges.add(new int[] {start, size});
+        }
+        return ranges;
+    }
+}
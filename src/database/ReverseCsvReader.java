@@ -0,0 +1,167 @@
+package database;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of a CSV file from the end backwards, for "latest N" queries on
+ * append-only logs.
+ * <p>
+ * The file is read in fixed-size blocks from EOF towards the start through a
+ * {@link FileChannel}, so the cost of fetching the newest rows does not depend on how long the
+ * file is. A line break inside a quoted field leaves an odd number of quotes on the line, so
+ * lines are joined with the ones before them until the quotes balance again, which keeps
+ * multi-line records written by {@link CsvWriter} whole. The header line is never returned.
+ */
+public class ReverseCsvReader implements Closeable {
+
+    public interface Visitor<T> {
+        /**
+         * Receives the next older row. Return {@code false} to stop reading.
+         */
+        boolean visit(T row) throws IOException;
+    }
+
+    private static final int BLOCK_SIZE = 16 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+    private final ByteArrayOutputStream carry = new ByteArrayOutputStream();
+
+    private long blockStart;
+    private int cursor;
+    private boolean atStart;
+
+    public ReverseCsvReader(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        blockStart = channel.size();
+        cursor = 0;
+    }
+
+    /**
+     * Feeds the data rows of {@code file} to {@code visitor}, newest first, skipping blank
+     * records and rows the parser rejects. Returns {@code true} if every row was visited and
+     * {@code false} if the visitor stopped early.
+     */
+    public static <T> boolean readBackward(File file, CsvReader.RowParser<T> parser, Visitor<T> visitor)
+            throws IOException {
+        try (ReverseCsvReader reader = new ReverseCsvReader(file)) {
+            String record;
+            while ((record = reader.previousRecord()) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                T row = parser.parse(CsvReader.ofLine(record));
+                if (row != null && !visitor.visit(row)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the record before the last one returned, or {@code null} once only the header is
+     * left.
+     */
+    public String previousRecord() throws IOException {
+        String record = previousLine();
+        if (record == null) {
+            return null;
+        }
+        while (!balanced(record)) {
+            String before = previousLine();
+            if (before == null) {
+                // Unbalanced quotes up to the start of the file; treat the header as the opening line.
+                return null;
+            }
+            record = before + "\n" + record;
+        }
+        return atStart ? null : record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the line ending just before the current position, without its line break. Sets
+     * {@link #atStart} when the returned line is the first in the file.
+     */
+    private String previousLine() throws IOException {
+        if (atStart) {
+            return null;
+        }
+
+        carry.reset();
+        while (true) {
+            for (int i = cursor - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    String line = take(i + 1, cursor);
+                    cursor = i;
+                    return line;
+                }
+            }
+
+            prepend(0, cursor);
+            if (blockStart == 0) {
+                atStart = true;
+                cursor = 0;
+                return decode(carry.toByteArray());
+            }
+            loadPreviousBlock();
+        }
+    }
+
+    private void loadPreviousBlock() throws IOException {
+        int length = (int) Math.min(BLOCK_SIZE, blockStart);
+        blockStart -= length;
+        block.clear().limit(length);
+        while (block.hasRemaining()) {
+            if (channel.read(block, blockStart + block.position()) < 0) {
+                throw new IOException("File shrank while reading it backwards");
+            }
+        }
+        cursor = length;
+    }
+
+    private String take(int from, int to) {
+        prepend(from, to);
+        return decode(carry.toByteArray());
+    }
+
+    /**
+     * Puts block bytes {@code [from, to)} in front of what has been collected so far.
+     */
+    private void prepend(int from, int to) {
+        byte[] after = carry.toByteArray();
+        carry.reset();
+        carry.write(block.array(), from, to - from);
+        carry.write(after, 0, after.length);
+    }
+
+    private static String decode(byte[] bytes) {
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static boolean balanced(String record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+}
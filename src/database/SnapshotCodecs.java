@@ -0,0 +1,214 @@
+package database;
+
+import static database.BinarySnapshot.readDate;
+import static database.BinarySnapshot.readMoney;
+import static database.BinarySnapshot.readString;
+import static database.BinarySnapshot.readTimestamp;
+import static database.BinarySnapshot.writeDate;
+import static database.BinarySnapshot.writeMoney;
+import static database.BinarySnapshot.writeString;
+import static database.BinarySnapshot.writeTimestamp;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import models.Financial;
+import models.Item;
+import models.PurchaseOrder;
+import models.PurchaseRequisition;
+import models.SalesEntry;
+import models.Stock;
+import models.Supplier;
+import models.SystemLog;
+import models.User;
+
+/**
+ * {@link BinarySnapshot.Codec} for each entity stored by {@link DatabaseHelper}. Field order
+ * matches the CSV columns; bump the schema string passed to the snapshot when it changes.
+ */
+final class SnapshotCodecs {
+
+    private SnapshotCodecs() {
+    }
+
+    static final BinarySnapshot.Codec<User> USER = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, User user) throws IOException {
+            writeString(out, user.getUserId());
+            writeString(out, user.getUsername());
+            writeString(out, user.getPassword());
+            writeString(out, user.getEmail());
+            writeString(out, user.getRole());
+        }
+
+        @Override
+        public User read(ByteBuffer in) {
+            return new User(readString(in), readString(in), readString(in), readString(in), readString(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<Item> ITEM = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Item item) throws IOException {
+            writeString(out, item.getItemCode());
+            writeString(out, item.getItemName());
+            writeString(out, item.getSupplierId());
+            out.writeInt(item.getStockQuantity());
+            writeMoney(out, item.getPricePerUnit());
+        }
+
+        @Override
+        public Item read(ByteBuffer in) {
+            return new Item(readString(in), readString(in), readString(in), in.getInt(), readMoney(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<PurchaseRequisition> REQUISITION = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, PurchaseRequisition requisition) throws IOException {
+            writeString(out, requisition.getRequisitionId());
+            writeString(out, requisition.getItemCode());
+            writeString(out, requisition.getItemName());
+            out.writeInt(requisition.getQuantity());
+            writeDate(out, requisition.getRequiredDate());
+            writeString(out, requisition.getSalesManagerId());
+            writeString(out, requisition.getStatus());
+        }
+
+        @Override
+        public PurchaseRequisition read(ByteBuffer in) {
+            return new PurchaseRequisition(readString(in), readString(in), readString(in), in.getInt(),
+                    readDate(in), readString(in), readString(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<PurchaseOrder> PURCHASE_ORDER = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, PurchaseOrder order) throws IOException {
+            writeString(out, order.getOrderId());
+            writeString(out, order.getRequisitionId());
+            writeString(out, order.getItemCode());
+            out.writeInt(order.getQuantity());
+            writeMoney(out, order.getUnitPrice());
+            writeMoney(out, order.getTotalAmount());
+            writeDate(out, order.getOrderDate());
+            writeDate(out, order.getExpectedDeliveryDate());
+            writeString(out, order.getSupplierId());
+            writeString(out, order.getPurchaseManagerId());
+            writeString(out, order.getStatus());
+            out.writeInt(order.getVersion());
+        }
+
+        @Override
+        public PurchaseOrder read(ByteBuffer in) {
+            PurchaseOrder order = new PurchaseOrder(readString(in), readString(in), readString(in), in.getInt(),
+                    readMoney(in), readMoney(in), readDate(in), readDate(in),
+                    readString(in), readString(in), readString(in));
+            order.setVersion(in.getInt());
+            return order;
+        }
+    };
+
+    static final BinarySnapshot.Codec<Stock> STOCK = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Stock stock) throws IOException {
+            writeString(out, stock.getItemCode());
+            writeString(out, stock.getItemName());
+            out.writeInt(stock.getQuantity());
+            writeString(out, stock.getLocation());
+            writeString(out, stock.getLastUpdated());
+            writeString(out, stock.getStatus());
+            out.writeInt(stock.getVersion());
+        }
+
+        @Override
+        public Stock read(ByteBuffer in) {
+            Stock stock = new Stock(readString(in), readString(in), in.getInt(), readString(in), readString(in), readString(in));
+            stock.setVersion(in.getInt());
+            return stock;
+        }
+    };
+
+    static final BinarySnapshot.Codec<Financial> FINANCIAL = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Financial financial) throws IOException {
+            writeString(out, financial.getOrderId());
+            writeString(out, financial.getItemCode());
+            writeString(out, financial.getItemName());
+            out.writeInt(financial.getQuantity());
+            writeMoney(out, financial.getUnitPrice());
+            writeMoney(out, financial.getTotalAmount());
+            writeString(out, financial.getOrderDate());
+            writeString(out, financial.getSupplierId());
+            writeString(out, financial.getPurchaseManagerId());
+            writeString(out, financial.getStatus());
+        }
+
+        @Override
+        public Financial read(ByteBuffer in) {
+            return new Financial(readString(in), readString(in), readString(in), in.getInt(),
+                    readMoney(in), readMoney(in), readString(in), readString(in), readString(in), readString(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<SystemLog> SYSTEM_LOG = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, SystemLog log) throws IOException {
+            writeString(out, log.getLogId());
+            writeString(out, log.getUserId());
+            writeString(out, log.getUsername());
+            writeString(out, log.getAction());
+            writeString(out, log.getDetails());
+            writeTimestamp(out, log.getTimestamp());
+            writeString(out, log.getUserRole());
+        }
+
+        @Override
+        public SystemLog read(ByteBuffer in) {
+            return new SystemLog(readString(in), readString(in), readString(in), readString(in),
+                    readString(in), readTimestamp(in), readString(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<SalesEntry> SALES_ENTRY = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, SalesEntry entry) throws IOException {
+            writeString(out, entry.getEntryId());
+            writeDate(out, entry.getDate());
+            writeString(out, entry.getItemId());
+            writeString(out, entry.getItemName());
+            out.writeInt(entry.getQuantity());
+            writeString(out, entry.getCategory());
+            writeMoney(out, entry.getPricePerUnit());
+            writeMoney(out, entry.getTotalPrice());
+            writeString(out, entry.getSalesManagerId());
+        }
+
+        @Override
+        public SalesEntry read(ByteBuffer in) {
+            return new SalesEntry(readString(in), readDate(in), readString(in), readString(in), in.getInt(),
+                    readString(in), readMoney(in), readMoney(in), readString(in));
+        }
+    };
+
+    static final BinarySnapshot.Codec<Supplier> SUPPLIER = new BinarySnapshot.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Supplier supplier) throws IOException {
+            writeString(out, supplier.getSupplierId());
+            writeString(out, supplier.getSupplierName());
+            writeString(out, supplier.getContactPerson());
+            writeString(out, supplier.getContactNumber());
+            writeString(out, supplier.getEmail());
+            writeString(out, supplier.getAddress());
+            writeString(out, supplier.getSuppliedItems());
+            writeDate(out, supplier.getLastOrderDate());
+            writeString(out, supplier.getStatus());
+        }
+
+        @Override
+        public Supplier read(ByteBuffer in) {
+            return new Supplier(readString(in), readString(in), readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readDate(in), readString(in));
+        }
+    };
+}
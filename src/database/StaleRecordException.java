@@ -0,0 +1,37 @@
+package database;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an update carries an older version of a record than the one on disk, meaning
+ * another desk changed the record after it was read. Re-read and try again, or use
+ * {@link DatabaseHelper#retryOnConflict}.
+ */
+public class StaleRecordException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String key;
+    private final int expectedVersion;
+    private final int actualVersion;
+
+    public StaleRecordException(String entity, String key, int expectedVersion, int actualVersion) {
+        super(entity + " " + key + " was changed by someone else (version " + actualVersion
+                + ", expected " + expectedVersion + "). Please reload and try again.");
+        this.key = key;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public int getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,237 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background appender for log files.
+ * <p>
+ * Callers hand over a formatted line and return immediately. Lines go into a bounded ring
+ * buffer; a single daemon thread drains whatever has queued up and appends it with one
+ * {@link FileChannel} write, so the cost of logging does not depend on how long the file is.
+ * When the buffer is full the line is dropped and counted rather than blocking the caller; the
+ * first drop and the total at {@link #close} are reported on stderr.
+ * If the file is split into {@link LogSegments}, each batch first lets the segments rotate, and
+ * with {@link UserLogPartitions} each batch is also copied into its users' partitions.
+ */
+public class SystemLogWriter {
+
+    public enum FsyncPolicy {
+        NEVER,
+        EVERY_BATCH
+    }
+
+    private static final int CAPACITY = 4096;
+    private static final int MAX_BATCH = 512;
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+    private final File file;
+    private final String header;
+    private final FsyncPolicy fsyncPolicy;
+    private final LogSegments segments;
+    private final UserLogPartitions partitions;
+    private final BlockingQueue<String> queue;
+    private final Thread worker;
+    private final Object flushLock = new Object();
+    private final Object writeLock = new Object();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * {@code segments} and {@code partitions} may be {@code null}. The writer registers no
+     * shutdown hook of its own; its owner calls {@link #close} on exit.
+     */
+    public SystemLogWriter(File file, String header, FsyncPolicy fsyncPolicy, LogSegments segments,
+            UserLogPartitions partitions) {
+        this.file = file;
+        this.header = header;
+        this.fsyncPolicy = fsyncPolicy;
+        this.segments = segments;
+        this.partitions = partitions;
+        this.queue = new ArrayBlockingQueue<>(CAPACITY);
+
+        worker = new Thread(this::drainLoop, "log-writer-" + file.getName());
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public boolean append(String line) {
+        if (!running || !queue.offer(line)) {
+            if (dropped.getAndIncrement() == 0) {
+                System.err.println("Log buffer for " + file.getName() + " is full or closed; dropping entries");
+            }
+            return false;
+        }
+        queued.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Writes {@code lines} on the calling thread, bypassing the queue, and returns once they are
+     * in the file, forced to disk if {@code force} is set. Used for log rows that belong to a
+     * transaction, where a failed write has to fail the commit.
+     */
+    public void appendNow(List<String> lines, boolean force) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        write(lines, force);
+        queued.addAndGet(lines.size());
+        written.addAndGet(lines.size());
+    }
+
+    public void flush() {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        synchronized (flushLock) {
+            while (getPendingCount() > 0 && worker.isAlive()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    System.err.println("Timed out flushing " + file.getName() + " with " + getPendingCount() + " pending entries");
+                    return;
+                }
+                try {
+                    flushLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        worker.interrupt();
+        if (dropped.get() > 0) {
+            System.err.println("Dropped " + dropped.get() + " entries for " + file.getName());
+        }
+    }
+
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getPendingCount() {
+        return queued.get() - written.get() - failed.get();
+    }
+
+    private void drainLoop() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                    if (!batch.isEmpty()) {
+                        writeBatch(batch);
+                    }
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<String> batch) {
+        try {
+            write(batch, fsyncPolicy == FsyncPolicy.EVERY_BATCH);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (IOException e) {
+            failed.addAndGet(batch.size());
+            System.err.println("Error writing " + batch.size() + " entries to " + file.getName() + ": " + e.getMessage());
+        }
+
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+    }
+
+    private void write(List<String> batch, boolean force) throws IOException {
+        synchronized (writeLock) {
+            if (segments != null) {
+                segments.append(() -> {
+                    appendToFile(batch, force);
+                    if (partitions != null) {
+                        partitions.append(batch);
+                    }
+                    return null;
+                });
+            } else {
+                appendToFile(batch, force);
+            }
+        }
+    }
+
+    private void appendToFile(List<String> batch, boolean force) throws IOException {
+        StringBuilder text = new StringBuilder(batch.size() * 128);
+        if (!file.exists() || file.length() == 0) {
+            text.append(header).append(System.lineSeparator());
+        }
+        for (String line : batch) {
+            text.append(line).append(System.lineSeparator());
+        }
+
+        file.getParentFile().mkdirs();
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + " [queued=" + queued.get() + ", written=" + written.get()
+                + ", dropped=" + dropped.get() + ", failed=" + failed.get() + ", batches=" + batches.get() + "]";
+    }
+}
@@ -0,0 +1,190 @@
+package database;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import models.Item;
+import models.PurchaseOrder;
+import models.PurchaseRequisition;
+import models.Stock;
+import models.Supplier;
+import models.SystemLog;
+import models.User;
+
+/**
+ * Unit of work over several data files, obtained from {@link DatabaseHelper#beginTransaction}.
+ * <p>
+ * Changes are validated and buffered when they are staged, and nothing reaches disk until
+ * {@link #commit}. Reads made through the transaction see its own staged rows. Commit writes a
+ * redo record first, then applies every change with one batched write per file, so after a
+ * crash the startup recovery either finishes the whole transaction or it never happened.
+ * Closing an uncommitted transaction discards it.
+ */
+public class Transaction implements AutoCloseable {
+
+    private final DatabaseHelper db;
+
+    final Map<String, User> users = new LinkedHashMap<>();
+    final Map<String, Item> items = new LinkedHashMap<>();
+    final Map<String, PurchaseRequisition> requisitions = new LinkedHashMap<>();
+    final Map<String, PurchaseOrder> purchaseOrders = new LinkedHashMap<>();
+    final Map<String, Stock> stock = new LinkedHashMap<>();
+    final Map<String, Supplier> suppliers = new LinkedHashMap<>();
+    final List<SystemLog> systemLogs = new ArrayList<>();
+    final List<SystemLog> inventoryLogs = new ArrayList<>();
+
+    private boolean finished;
+
+    Transaction(DatabaseHelper db) {
+        this.db = db;
+    }
+
+    public Transaction updateUser(User user) throws IOException {
+        checkOpen();
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        if (!users.containsKey(user.getUserId()) && db.getUserById(user.getUserId()) == null) {
+            throw new IllegalArgumentException("User not found: " + user.getUserId());
+        }
+        users.put(user.getUserId(), user);
+        return this;
+    }
+
+    public Transaction updateItem(Item item) throws IOException {
+        checkOpen();
+        if (item == null || !item.validateItemData()) {
+            throw new IllegalArgumentException("Invalid item data");
+        }
+        if (!items.containsKey(item.getItemCode()) && db.getItemByCode(item.getItemCode()) == null) {
+            throw new IllegalArgumentException("Item not found: " + item.getItemCode());
+        }
+        items.put(item.getItemCode(), item);
+        return this;
+    }
+
+    public Transaction updatePurchaseRequisition(PurchaseRequisition requisition) throws IOException {
+        checkOpen();
+        if (requisition == null || !requisition.validateData()) {
+            throw new IllegalArgumentException("Invalid requisition data");
+        }
+        if (!requisitions.containsKey(requisition.getRequisitionId())
+                && db.getPurchaseRequisitionById(requisition.getRequisitionId()) == null) {
+            throw new IllegalArgumentException("Requisition not found: " + requisition.getRequisitionId());
+        }
+        requisitions.put(requisition.getRequisitionId(), requisition);
+        return this;
+    }
+
+    public Transaction updatePurchaseOrder(PurchaseOrder order) throws IOException {
+        checkOpen();
+        if (order == null || !order.validateData()) {
+            throw new IllegalArgumentException("Invalid purchase order data");
+        }
+        if (!purchaseOrders.containsKey(order.getOrderId()) && db.getPurchaseOrderById(order.getOrderId()) == null) {
+            throw new IllegalArgumentException("Purchase order not found: " + order.getOrderId());
+        }
+        purchaseOrders.put(order.getOrderId(), order);
+        return this;
+    }
+
+    public Transaction updateStock(Stock item) throws IOException {
+        checkOpen();
+        if (item == null || !item.validateData()) {
+            throw new IllegalArgumentException("Invalid stock data");
+        }
+        if (getStock(item.getItemCode()) == null) {
+            throw new IllegalArgumentException("Stock item not found: " + item.getItemCode());
+        }
+        stock.put(item.getItemCode(), item);
+        return this;
+    }
+
+    public Transaction updateStockQuantity(String itemCode, int quantity, boolean addToExisting) throws IOException {
+        checkOpen();
+        Stock item = getStock(itemCode);
+        if (item == null) {
+            throw new IllegalArgumentException("Item not found in stock: " + itemCode);
+        }
+
+        item.setQuantity(addToExisting ? item.getQuantity() + quantity : quantity);
+        item.setLastUpdated(LocalDate.now().toString());
+        stock.put(itemCode, item);
+        return this;
+    }
+
+    public Transaction updateSupplier(Supplier supplier) throws IOException {
+        checkOpen();
+        if (supplier == null || !supplier.validateData()) {
+            throw new IllegalArgumentException("Invalid supplier data");
+        }
+        if (!suppliers.containsKey(supplier.getSupplierId()) && db.getSupplierById(supplier.getSupplierId()) == null) {
+            throw new IllegalArgumentException("Supplier not found: " + supplier.getSupplierId());
+        }
+        suppliers.put(supplier.getSupplierId(), supplier);
+        return this;
+    }
+
+    public Transaction addSystemLog(SystemLog log) {
+        checkOpen();
+        if (log == null || !log.validateData()) {
+            throw new IllegalArgumentException("Invalid log data");
+        }
+        systemLogs.add(log);
+        return this;
+    }
+
+    public Transaction addInventoryLog(SystemLog log) {
+        checkOpen();
+        if (log == null || !log.validateData()) {
+            throw new IllegalArgumentException("Invalid log data");
+        }
+        inventoryLogs.add(log);
+        return this;
+    }
+
+    /**
+     * Returns the stock row as this transaction sees it: the staged copy if there is one,
+     * otherwise the stored row.
+     */
+    public Stock getStock(String itemCode) throws IOException {
+        Stock staged = stock.get(itemCode);
+        if (staged != null) {
+            return staged;
+        }
+        return db.findStock(itemCode);
+    }
+
+    public boolean isEmpty() {
+        return users.isEmpty() && items.isEmpty() && requisitions.isEmpty() && purchaseOrders.isEmpty()
+                && stock.isEmpty() && suppliers.isEmpty() && systemLogs.isEmpty() && inventoryLogs.isEmpty();
+    }
+
+    public void commit() throws IOException {
+        checkOpen();
+        finished = true;
+        if (!isEmpty()) {
+            db.commit(this);
+        }
+    }
+
+    public void rollback() {
+        finished = true;
+    }
+
+    @Override
+    public void close() {
+        if (!finished) {
+            rollback();
+        }
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("Transaction already finished");
+        }
+    }
+}
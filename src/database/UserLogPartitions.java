@@ -0,0 +1,470 @@
+package database;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import models.SystemLog;
+
+/**
+ * Per-user copies of a segmented log, so "my activity" views and per-user audits read only
+ * that user's rows.
+ * <p>
+ * Each user's rows live in {@code <log>.users/<userId>.txt}, a CSV file with the log's header,
+ * in the order they were logged. {@link SystemLogWriter} appends every batch here right after
+ * writing it to the main log, and {@code partitions.state} records the id of the last row
+ * copied. The partitions are derived data: when that id does not match the last row of the main
+ * log (a crash between the two writes, a failed append, or a deployment that predates the
+ * partitions), they are rebuilt from the main log on the next read.
+ * <p>
+ * Views over several users open one {@link ReverseCsvReader} per partition and merge them by
+ * timestamp, newest first, so reading the latest rows still does not depend on how much history
+ * there is.
+ */
+public class UserLogPartitions {
+
+    private static final String SUFFIX = ".txt";
+    private static final String STATE_FILE = "partitions.state";
+    private static final String NO_USER = "_";
+
+    private final LogSegments source;
+    private final File directory;
+    private final File state;
+    private final String header;
+    private final CsvReader.RowParser<SystemLog> parser;
+    private final Function<SystemLog, String> formatter;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean verified;
+    private String lastLogId;
+
+    public UserLogPartitions(LogSegments source, String header, CsvReader.RowParser<SystemLog> parser,
+            Function<SystemLog, String> formatter) {
+        File active = source.getActiveFile();
+        String name = active.getName();
+        int dot = name.lastIndexOf('.');
+        this.source = source;
+        this.directory = new File(active.getParentFile(), (dot > 0 ? name.substring(0, dot) : name) + ".users");
+        this.state = new File(directory, STATE_FILE);
+        this.header = header;
+        this.parser = parser;
+        this.formatter = formatter;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Copies a batch of formatted log rows into their users' partitions. Called by the log
+     * writer after the batch reached the main log. A failure is reported and leaves the
+     * partitions to be rebuilt on the next read.
+     */
+    public void append(List<String> lines) {
+        lock.writeLock().lock();
+        try {
+            if (!verified) {
+                verified = true;
+                // The batch is already in the main log, so compare against the row before it.
+                if (!sameLastRow(lines.size())) {
+                    rebuildLocked();
+                    return;
+                }
+            }
+
+            Map<String, StringBuilder> byUser = new LinkedHashMap<>();
+            String last = null;
+            for (String line : lines) {
+                CsvReader row = CsvReader.ofLine(line);
+                if (row.size() < 2) {
+                    continue;
+                }
+                byUser.computeIfAbsent(row.get(1), u -> new StringBuilder())
+                        .append(line).append(System.lineSeparator());
+                last = row.get(0);
+            }
+            if (last == null) {
+                return;
+            }
+
+            directory.mkdirs();
+            for (Map.Entry<String, StringBuilder> entry : byUser.entrySet()) {
+                appendTo(partitionFile(entry.getKey()), entry.getValue());
+            }
+            writeState(last);
+        } catch (IOException | RuntimeException e) {
+            verified = false;
+            System.err.println("Error updating user partitions of " + source.getActiveFile().getName()
+                    + ", they will be rebuilt: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * All rows of {@code userId}, oldest first.
+     */
+    public List<SystemLog> read(String userId) throws IOException {
+        return access(() -> {
+            List<SystemLog> logs = new ArrayList<>();
+            File file = partitionFile(userId);
+            if (file.exists()) {
+                try (Stream<SystemLog> rows = CsvReader.stream(file, parser)) {
+                    rows.forEach(logs::add);
+                }
+            }
+            return logs;
+        });
+    }
+
+    /**
+     * The newest {@code limit} rows of the given users accepted by {@code filter}, newest
+     * first. {@code userIds == null} means every user that has logged anything.
+     */
+    public List<SystemLog> readLatest(Collection<String> userIds, int limit, Predicate<SystemLog> filter)
+            throws IOException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+
+        return access(() -> {
+            List<Cursor> cursors = new ArrayList<>();
+            PriorityQueue<Cursor> newest = new PriorityQueue<>(
+                    Comparator.comparing((Cursor c) -> c.head.getTimestamp(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(c -> c.head.getLogId())
+                            .reversed());
+            List<SystemLog> logs = new ArrayList<>();
+            try {
+                for (File file : partitionFiles(userIds)) {
+                    Cursor cursor = new Cursor(new ReverseCsvReader(file));
+                    cursors.add(cursor);
+                    if (cursor.advance()) {
+                        newest.add(cursor);
+                    }
+                }
+
+                while (logs.size() < limit && !newest.isEmpty()) {
+                    Cursor cursor = newest.poll();
+                    if (filter.test(cursor.head)) {
+                        logs.add(cursor.head);
+                    }
+                    if (cursor.advance()) {
+                        newest.add(cursor);
+                    }
+                }
+            } finally {
+                for (Cursor cursor : cursors) {
+                    cursor.reader.close();
+                }
+            }
+            return logs;
+        });
+    }
+
+    /**
+     * Ids of the users that have a partition.
+     */
+    public List<String> getUserIds() throws IOException {
+        return access(() -> {
+            List<String> userIds = new ArrayList<>();
+            File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+            if (files != null) {
+                for (File file : files) {
+                    String name = file.getName();
+                    userIds.add(decode(name.substring(0, name.length() - SUFFIX.length())));
+                }
+            }
+            userIds.sort(null);
+            return userIds;
+        });
+    }
+
+    /**
+     * Makes the next access check the partitions against the main log again. Call after the
+     * main log was rewritten rather than appended to.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            verified = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites every partition from the main log. Normally only needed when the partitions are
+     * found out of date.
+     */
+    public void rebuild() throws IOException {
+        source.read(() -> {
+            lock.writeLock().lock();
+            try {
+                rebuildLocked();
+                verified = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code action} under the read lock once the partitions are known to match the main
+     * log. The main log's lock is taken first, the same order the log writer uses.
+     */
+    private <T> T access(LogSegments.Action<T> action) throws IOException {
+        return source.read(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!verified) {
+                    if (!sameLastRow(0)) {
+                        rebuildLocked();
+                    }
+                    verified = true;
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                return action.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Whether the recorded last id matches the main log's row {@code skip} rows from the end.
+     */
+    private boolean sameLastRow(int skip) throws IOException {
+        String recorded = state.exists()
+                ? new String(Files.readAllBytes(state.toPath()), StandardCharsets.UTF_8).trim() : "";
+        SystemLog last = sourceRowFromEnd(skip);
+        lastLogId = recorded;
+        return recorded.equals(last != null ? last.getLogId() : "");
+    }
+
+    private SystemLog sourceRowFromEnd(int skip) throws IOException {
+        SystemLog[] found = new SystemLog[1];
+        int[] remaining = {skip};
+        File active = source.getActiveFile();
+        if (active.exists()) {
+            ReverseCsvReader.readBackward(active, parser, log -> {
+                if (remaining[0]-- > 0) {
+                    return true;
+                }
+                found[0] = log;
+                return false;
+            });
+        }
+        if (found[0] == null) {
+            List<LogSegments.Segment> sealed = source.getSegments();
+            if (!sealed.isEmpty()) {
+                List<SystemLog> rows = new ArrayList<>();
+                try (Stream<SystemLog> segmentRows = source.stream(sealed.get(sealed.size() - 1))) {
+                    segmentRows.forEach(rows::add);
+                }
+                int index = rows.size() - 1 - Math.max(remaining[0], 0);
+                found[0] = index >= 0 ? rows.get(index) : null;
+            }
+        }
+        return found[0];
+    }
+
+    private void rebuildLocked() throws IOException {
+        File staging = new File(directory.getParentFile(), directory.getName() + ".tmp");
+        deleteDirectory(staging);
+        if (!staging.mkdirs()) {
+            throw new IOException("Cannot create " + staging);
+        }
+
+        Map<String, BufferedWriter> writers = new HashMap<>();
+        String[] last = {""};
+        try {
+            List<Stream<SystemLog>> parts = new ArrayList<>();
+            for (LogSegments.Segment segment : source.getSegments()) {
+                parts.add(source.stream(segment));
+            }
+            File active = source.getActiveFile();
+            if (active.exists()) {
+                parts.add(CsvReader.stream(active, parser));
+            }
+
+            for (Stream<SystemLog> part : parts) {
+                try (Stream<SystemLog> rows = part) {
+                    rows.forEach(log -> {
+                        try {
+                            BufferedWriter writer = writers.get(log.getUserId());
+                            if (writer == null) {
+                                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(
+                                        new File(staging, fileName(log.getUserId()))), StandardCharsets.UTF_8));
+                                writer.write(header);
+                                writer.newLine();
+                                writers.put(log.getUserId(), writer);
+                            }
+                            writer.write(formatter.apply(log));
+                            writer.newLine();
+                            last[0] = log.getLogId();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+        Files.write(new File(staging, STATE_FILE).toPath(), last[0].getBytes(StandardCharsets.UTF_8));
+
+        deleteDirectory(directory);
+        if (!staging.renameTo(directory)) {
+            throw new IOException("Cannot move " + staging + " to " + directory);
+        }
+        lastLogId = last[0];
+    }
+
+    private void appendTo(File file, StringBuilder rows) throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            rows.insert(0, header + System.lineSeparator());
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(rows.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private void writeState(String logId) throws IOException {
+        Files.write(state.toPath(), logId.getBytes(StandardCharsets.UTF_8));
+        lastLogId = logId;
+    }
+
+    private List<File> partitionFiles(Collection<String> userIds) {
+        List<File> files = new ArrayList<>();
+        if (userIds == null) {
+            File[] all = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+            if (all != null) {
+                files.addAll(List.of(all));
+            }
+            return files;
+        }
+        for (String userId : userIds) {
+            File file = partitionFile(userId);
+            if (file.exists()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private File partitionFile(String userId) {
+        return new File(directory, fileName(userId));
+    }
+
+    /**
+     * Keeps letters, digits and '-' and writes anything else as '_' plus four hex digits, so
+     * every user id maps to a distinct, portable file name.
+     */
+    private static String fileName(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return NO_USER + SUFFIX;
+        }
+        StringBuilder name = new StringBuilder(userId.length());
+        for (int i = 0; i < userId.length(); i++) {
+            char c = userId.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-') {
+                name.append(c);
+            } else {
+                name.append('_').append(String.format("%04x", (int) c));
+            }
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private static String decode(String name) {
+        if (NO_USER.equals(name)) {
+            return "";
+        }
+        StringBuilder userId = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' && i + 5 <= name.length()) {
+                userId.append((char) Integer.parseInt(name.substring(i + 1, i + 5), 16));
+                i += 4;
+            } else {
+                userId.append(c);
+            }
+        }
+        return userId.toString();
+    }
+
+    private static void deleteDirectory(File dir) throws IOException {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        Files.deleteIfExists(dir.toPath());
+    }
+
+    @Override
+    public String toString() {
+        return directory.getName() + " [lastLogId=" + lastLogId + ", verified=" + verified + "]";
+    }
+
+    /**
+     * One partition read newest first, holding its current row.
+     */
+    private final class Cursor {
+        final ReverseCsvReader reader;
+        SystemLog head;
+
+        Cursor(ReverseCsvReader reader) {
+            this.reader = reader;
+        }
+
+        boolean advance() throws IOException {
+            String record;
+            while ((record = reader.previousRecord()) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                head = parser.parse(CsvReader.ofLine(record));
+                if (head != null) {
+                    return true;
+                }
+            }
+            head = null;
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package finance;
 
+import admin.Navigator;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
@@ -72,6 +73,7 @@ public class FinanceDashboardPage extends UIBase {
             JOptionPane.QUESTION_MESSAGE
     );
     if (response == JOptionPane.YES_OPTION) {
+        Navigator.endSession();
         dispose();
         SwingUtilities.invokeLater(() -> {
             try {
@@ -119,8 +121,7 @@ public class FinanceDashboardPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
     @Override
     public void mouseClicked(MouseEvent e) {
-        dispose();
-        new admin.MyProfilePage(currentUser).setVisible(true);
+        Navigator.open(FinanceDashboardPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
     }
 });
 
@@ -146,32 +147,26 @@ public class FinanceDashboardPage extends UIBase {
         contentPanel.setBackground(Color.WHITE);
 
         contentPanel.add(createCard("Approve/\nModify\nPurchase Orders", () -> {
-    dispose();
-    new finance.FinancePurchaseOrdersPage(currentUser).setVisible(true);
+    Navigator.open(this, currentUser, finance.FinancePurchaseOrdersPage.class, finance.FinancePurchaseOrdersPage::new);
 }));
 
         contentPanel.add(createCard("Process\nPayments", () -> {
-        dispose();
-        new finance.FinanceProcessPaymentsPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, finance.FinanceProcessPaymentsPage.class, finance.FinanceProcessPaymentsPage::new);
 })); 
         contentPanel.add(createCard("Generate\nFinancial\nReports", () -> {
-    dispose();
-    new finance.FinanceGenerateReportsPage(currentUser).setVisible(true);
+    Navigator.open(this, currentUser, finance.FinanceGenerateReportsPage.class, finance.FinanceGenerateReportsPage::new);
 }));
 
         contentPanel.add(createCard("View\nPurchase\nRequisitions", () -> {
-            dispose();
-            new finance.FinanceViewPurchaseRequisitionsPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, finance.FinanceViewPurchaseRequisitionsPage.class, finance.FinanceViewPurchaseRequisitionsPage::new);
         }));
 
         contentPanel.add(createCard("View\nPurchase\nOrders", () -> {
-            dispose();
-            new FinanceViewPurchaseOrdersPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, FinanceViewPurchaseOrdersPage.class, FinanceViewPurchaseOrdersPage::new);
         }));
 
         contentPanel.add(createCard("View\nSystem\nLogs", () -> {
-    dispose();
-    new finance.FinanceSystemLogsPage(currentUser).setVisible(true);
+    Navigator.open(this, currentUser, finance.FinanceSystemLogsPage.class, finance.FinanceSystemLogsPage::new);
 }));
 
         return contentPanel;
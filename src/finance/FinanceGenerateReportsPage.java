@@ -1,6 +1,8 @@
 package finance;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseOrder;
 import models.User;
@@ -69,8 +71,7 @@ public class FinanceGenerateReportsPage extends UIBase {
         JPanel dashboard = createMenuItem("Dashboard", false);
         dashboard.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new FinanceDashboardPage(currentUser).setVisible(true);
+                Navigator.open(FinanceGenerateReportsPage.this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
             }
         });
 
@@ -161,7 +162,7 @@ public class FinanceGenerateReportsPage extends UIBase {
 
         generateBtn.addActionListener(e -> {
              try {
-        DatabaseHelper db = new DatabaseHelper();
+        DatabaseHelper db = DatabaseContext.db();
         List<PurchaseOrder> orders = db.getAllPurchaseOrders();
 
         FileWriter writer = new FileWriter("finance_report.txt");
@@ -229,94 +230,112 @@ viewBtn.addActionListener(e -> {
     }
 
     private void updateSummary() {
-     try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<PurchaseOrder> orders = db.getAllPurchaseOrders();
-
-            int approvedCount = 0;
-            int paidCount = 0;
-            double outstanding = 0;
-            double totalSpent = 0;
-            double totalcompleted = 0;
-
-            FileWriter writer = new FileWriter("finance_report.txt");
-
-            writer.write("APPROVED PURCHASE ORDERS:\n");
-            writer.write("--------------------------------------------------\n");
-            for (PurchaseOrder po : orders) {
-               if (STATUS_COMPLETED.equalsIgnoreCase(po.getStatus())) {
-                   System.out.println("Matched PAID order: " + po.getOrderId());
-                    approvedCount++;
-                    totalSpent += po.getTotalAmount();
-                    writer.write("Order ID: " + po.getOrderId() + "\n");
-                    writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
-                    writer.write("Item Code: " + po.getItemCode() + "\n");
-                    writer.write("Item Name: " + po.getItemName() + "\n");
-                    writer.write("Quantity: " + po.getQuantity() + "\n");
-                    writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
-                    writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
-                    writer.write("Order Date: " + po.getOrderDate() + "\n");
-                    writer.write("Supplier ID: " + po.getSupplierId() + "\n");
-                    writer.write("Status: Approved\n");
-                    writer.write("--------------------------------------------------\n");
-                }
+        loader().load("report", this::writeReport, summary -> {
+            approvedLabel.setText(String.valueOf(summary.approvedCount));
+            paidLabel.setText(String.valueOf(summary.paidCount));
+            outstandingLabel.setText("RM " + String.format("%.2f", summary.outstanding));
+            expenditureLabel.setText("RM " + String.format("%.2f", summary.totalSpent));
+        });
+    }
+
+    /**
+     * Writes finance_report.txt and returns the figures for the summary labels. Runs off the EDT.
+     */
+    private Summary writeReport() throws IOException {
+        DatabaseHelper db = DatabaseContext.db();
+        List<PurchaseOrder> orders = db.getAllPurchaseOrders();
+
+        int approvedCount = 0;
+        int paidCount = 0;
+        double outstanding = 0;
+        double totalSpent = 0;
+        double totalcompleted = 0;
+
+        FileWriter writer = new FileWriter("finance_report.txt");
+
+        writer.write("APPROVED PURCHASE ORDERS:\n");
+        writer.write("--------------------------------------------------\n");
+        for (PurchaseOrder po : orders) {
+           if (STATUS_COMPLETED.equalsIgnoreCase(po.getStatus())) {
+               System.out.println("Matched PAID order: " + po.getOrderId());
+                approvedCount++;
+                totalSpent += po.getTotalAmount();
+                writer.write("Order ID: " + po.getOrderId() + "\n");
+                writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
+                writer.write("Item Code: " + po.getItemCode() + "\n");
+                writer.write("Item Name: " + po.getItemName() + "\n");
+                writer.write("Quantity: " + po.getQuantity() + "\n");
+                writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
+                writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
+                writer.write("Order Date: " + po.getOrderDate() + "\n");
+                writer.write("Supplier ID: " + po.getSupplierId() + "\n");
+                writer.write("Status: Approved\n");
+                writer.write("--------------------------------------------------\n");
             }
+        }
 
-            writer.write("\nPAID PURCHASE ORDERS:\n");
-            writer.write("--------------------------------------------------\n");
-            for (PurchaseOrder po : orders) {
-                if (po.getStatus() != null && po.getStatus().trim().equalsIgnoreCase(STATUS_PAID)) {
-                    paidCount++;
-                    totalcompleted += po.getTotalAmount();
-                    writer.write("Order ID: " + po.getOrderId() + "\n");
-                    writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
-                    writer.write("Item Code: " + po.getItemCode() + "\n");
-                    writer.write("Item Name: " + po.getItemName() + "\n");
-                    writer.write("Quantity: " + po.getQuantity() + "\n");
-                    writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
-                    writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
-                    writer.write("Order Date: " + po.getOrderDate() + "\n");
-                    writer.write("Supplier ID: " + po.getSupplierId() + "\n");
-                    writer.write("Status: Paid\n");
-                    writer.write("--------------------------------------------------\n");
-                }
+        writer.write("\nPAID PURCHASE ORDERS:\n");
+        writer.write("--------------------------------------------------\n");
+        for (PurchaseOrder po : orders) {
+            if (po.getStatus() != null && po.getStatus().trim().equalsIgnoreCase(STATUS_PAID)) {
+                paidCount++;
+                totalcompleted += po.getTotalAmount();
+                writer.write("Order ID: " + po.getOrderId() + "\n");
+                writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
+                writer.write("Item Code: " + po.getItemCode() + "\n");
+                writer.write("Item Name: " + po.getItemName() + "\n");
+                writer.write("Quantity: " + po.getQuantity() + "\n");
+                writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
+                writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
+                writer.write("Order Date: " + po.getOrderDate() + "\n");
+                writer.write("Supplier ID: " + po.getSupplierId() + "\n");
+                writer.write("Status: Paid\n");
+                writer.write("--------------------------------------------------\n");
             }
+        }
 
-            writer.write("\nOUTSTANDING PAYMENTS:\n");
-            writer.write("--------------------------------------------------\n");
-            for (PurchaseOrder po : orders) {
-                if (po.getStatus() != null && po.getStatus().trim().equalsIgnoreCase(STATUS_PENDING)) {
-                    outstanding += po.getTotalAmount();
-                    writer.write("Order ID: " + po.getOrderId() + "\n");
-                    writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
-                    writer.write("Item Code: " + po.getItemCode() + "\n");
-                    writer.write("Item Name: " + po.getItemName() + "\n");
-                    writer.write("Quantity: " + po.getQuantity() + "\n");
-                    writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
-                    writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
-                    writer.write("Order Date: " + po.getOrderDate() + "\n");
-                    writer.write("Supplier ID: " + po.getSupplierId() + "\n");
-                    writer.write("Status: Pending\n");
-                    writer.write("--------------------------------------------------\n");
-                }
+        writer.write("\nOUTSTANDING PAYMENTS:\n");
+        writer.write("--------------------------------------------------\n");
+        for (PurchaseOrder po : orders) {
+            if (po.getStatus() != null && po.getStatus().trim().equalsIgnoreCase(STATUS_PENDING)) {
+                outstanding += po.getTotalAmount();
+                writer.write("Order ID: " + po.getOrderId() + "\n");
+                writer.write("Requisition ID: " + po.getRequisitionId() + "\n");
+                writer.write("Item Code: " + po.getItemCode() + "\n");
+                writer.write("Item Name: " + po.getItemName() + "\n");
+                writer.write("Quantity: " + po.getQuantity() + "\n");
+                writer.write("Unit Price: RM " + String.format("%.2f", po.getUnitPrice()) + "\n");
+                writer.write("Total Amount: RM " + String.format("%.2f", po.getTotalAmount()) + "\n");
+                writer.write("Order Date: " + po.getOrderDate() + "\n");
+                writer.write("Supplier ID: " + po.getSupplierId() + "\n");
+                writer.write("Status: Pending\n");
+                writer.write("--------------------------------------------------\n");
             }
+        }
 
-            writer.write("\nSUMMARY:\n");
-            writer.write("--------------------------------------------------\n");
-            writer.write(String.format("Approved POs: %d\n", approvedCount));
-            writer.write(String.format("Paid POs: %d\n", paidCount));
-            writer.write(String.format("Outstanding Payments: RM %.2f\n", outstanding));
-            writer.write(String.format("Total Expenditure: RM %.2f\n", totalSpent));
+        writer.write("\nSUMMARY:\n");
+        writer.write("--------------------------------------------------\n");
+        writer.write(String.format("Approved POs: %d\n", approvedCount));
+        writer.write(String.format("Paid POs: %d\n", paidCount));
+        writer.write(String.format("Outstanding Payments: RM %.2f\n", outstanding));
+        writer.write(String.format("Total Expenditure: RM %.2f\n", totalSpent));
 
-            writer.close();
+        writer.close();
 
-            approvedLabel.setText(String.valueOf(approvedCount));
-            paidLabel.setText(String.valueOf(paidCount));
-            outstandingLabel.setText("RM " + String.format("%.2f", outstanding));
-            expenditureLabel.setText("RM " + String.format("%.2f", totalSpent));
+        return new Summary(approvedCount, paidCount, outstanding, totalSpent);
+    }
 
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Failed to generate report: " + e.getMessage());
+    private static final class Summary {
+        final int approvedCount;
+        final int paidCount;
+        final double outstanding;
+        final double totalSpent;
+
+        Summary(int approvedCount, int paidCount, double outstanding, double totalSpent) {
+            this.approvedCount = approvedCount;
+            this.paidCount = paidCount;
+            this.outstanding = outstanding;
+            this.totalSpent = totalSpent;
         }
     }
 
@@ -337,9 +356,9 @@ viewBtn.addActionListener(e -> {
     }
     private void logSystemAction(String action, String details) {
         try {
-    DatabaseHelper db = new DatabaseHelper();
+    DatabaseHelper db = DatabaseContext.db();
     SystemLog log = new SystemLog(
-        "LOG" + System.currentTimeMillis(),
+        db.nextLogId(),
         currentUser.getUserId(),
         currentUser.getUsername(),
         action,
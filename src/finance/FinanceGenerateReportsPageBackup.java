@@ -1,6 +1,7 @@
 package finance;
 
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseOrder;
 import models.User;
@@ -162,7 +163,7 @@ public class FinanceGenerateReportsPageBackup extends UIBase {
 
         generateBtn.addActionListener(e -> {
              try {
-        DatabaseHelper db = new DatabaseHelper();
+        DatabaseHelper db = DatabaseContext.db();
 
         FileWriter writer = new FileWriter("finance_report.txt");
         writer.write("PAID PURCHASE ORDERS:\n");
@@ -226,7 +227,7 @@ viewBtn.addActionListener(e -> {
 
     private void updateSummary() {
      try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             List<PurchaseOrder> orders = db.getAllPurchaseOrders();
 
             int approvedCount = 0;
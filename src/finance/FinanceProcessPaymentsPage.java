@@ -1,6 +1,8 @@
 package finance;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseOrder;
 import models.User;
@@ -14,7 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDateTime;
 
-public class FinanceProcessPaymentsPage extends UIBase {
+public class FinanceProcessPaymentsPage extends UIBase implements Navigator.Refreshable {
 
     private final User currentUser;
     private JTable orderTable;
@@ -63,8 +65,7 @@ public class FinanceProcessPaymentsPage extends UIBase {
         JPanel dashboard = createMenuItem("Dashboard", false);
         dashboard.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new FinanceDashboardPage(currentUser).setVisible(true);
+                Navigator.open(FinanceProcessPaymentsPage.this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
             }
         });
 
@@ -201,27 +202,26 @@ public class FinanceProcessPaymentsPage extends UIBase {
         return panel;
     }
 
+    @Override
+    public void refresh() {
+        loadApprovedOrders();
+    }
+
     private void loadApprovedOrders() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<PurchaseOrder> orders = db.getAllPurchaseOrders();
+        loader().load("approved POs", () -> DatabaseContext.db().getPurchaseOrdersByStatus(STATUS_COMPLETED), orders -> {
             tableModel.setRowCount(0);
 
             for (PurchaseOrder po : orders) {
-                if (STATUS_COMPLETED.equalsIgnoreCase(po.getStatus())) {
-                    tableModel.addRow(new Object[]{
-                        po.getOrderId(),
-                        po.getItemName(),
-                        po.getQuantity(),
-                        String.format("RM %.2f", po.getTotalAmount()),
-                        po.getSupplierId(),
-                        po.getStatus()
-                    });
-                }
+                tableModel.addRow(new Object[]{
+                    po.getOrderId(),
+                    po.getItemName(),
+                    po.getQuantity(),
+                    String.format("RM %.2f", po.getTotalAmount()),
+                    po.getSupplierId(),
+                    po.getStatus()
+                });
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading approved POs: " + e.getMessage());
-        }
+        });
     }
 
     private void markAsPaid() {
@@ -256,33 +256,11 @@ public class FinanceProcessPaymentsPage extends UIBase {
 
    
     private void updateStatusDirectly(String orderId, String newStatus) {
-    File file = new File("src/database/purchase_order.txt");
-    List<String> updatedLines = new ArrayList<>();
-    String[] updatedOrder = null;
-
-    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-        String line;
-        while ((line = reader.readLine()) != null) {
-            String[] parts = line.split(",");
-            if (parts.length > 0 && parts[0].equals(orderId)) {
-                parts[10] = newStatus; 
-                updatedOrder = parts;
-                line = String.join(",", parts);
-            }
-            updatedLines.add(line);
-        }
-    } catch (Exception e) {
-        JOptionPane.showMessageDialog(this, "Error reading PO file: " + e.getMessage());
-        return;
-    }
-
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-        for (String updatedLine : updatedLines) {
-            writer.write(updatedLine);
-            writer.newLine();
-        }
+    PurchaseOrder updatedOrder;
+    try {
+        updatedOrder = DatabaseContext.db().modifyPurchaseOrder(orderId, po -> po.setStatus(newStatus));
     } catch (Exception e) {
-        JOptionPane.showMessageDialog(this, "Error writing PO file: " + e.getMessage());
+        JOptionPane.showMessageDialog(this, "Error updating PO: " + e.getMessage());
         return;
     }
 
@@ -291,7 +269,7 @@ public class FinanceProcessPaymentsPage extends UIBase {
         try (BufferedWriter logWriter = new BufferedWriter(new FileWriter("src/database/finance_log.txt", true))) {
             String timestamp = java.time.LocalDateTime.now().toString();
             String log = String.format("[%s] User %s marked PO %s as PAID - Amount: %s",
-                    timestamp, currentUser.getUsername(), updatedOrder[0], updatedOrder[3]);
+                    timestamp, currentUser.getUsername(), updatedOrder.getOrderId(), updatedOrder.getQuantity());
             logWriter.write(log);
             logWriter.newLine();
         } catch (IOException e) {
@@ -301,9 +279,9 @@ public class FinanceProcessPaymentsPage extends UIBase {
     }
     private void logSystemAction(String action, String details) {
         try {
-    DatabaseHelper db = new DatabaseHelper();
+    DatabaseHelper db = DatabaseContext.db();
     SystemLog log = new SystemLog(
-        "LOG" + System.currentTimeMillis(),
+        db.nextLogId(),
         currentUser.getUserId(),
         currentUser.getUsername(),
         action,
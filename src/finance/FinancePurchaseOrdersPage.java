@@ -1,6 +1,8 @@
 package finance;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseOrder;
 import models.User;
@@ -13,17 +15,18 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
-public class FinancePurchaseOrdersPage extends UIBase {
+public class FinancePurchaseOrdersPage extends UIBase implements Navigator.Refreshable {
 
     private final User currentUser;
     private JTable poTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> orders;
+    private List<PurchaseOrder> orders = new ArrayList<>();
 
     public FinancePurchaseOrdersPage(User user) {
         super("Approve/Modify Purchase Orders");
@@ -70,8 +73,7 @@ public class FinancePurchaseOrdersPage extends UIBase {
         JPanel dashboardItem = createMenuItem("Dashboard", false);
         dashboardItem.addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
-                dispose();
-                new FinanceDashboardPage(currentUser).setVisible(true);
+                Navigator.open(FinancePurchaseOrdersPage.this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
             }
         });
 
@@ -147,8 +149,7 @@ public class FinancePurchaseOrdersPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
     @Override
     public void mouseClicked(MouseEvent e) {
-        dispose();
-        new admin.MyProfilePage(currentUser).setVisible(true);
+        Navigator.open(FinancePurchaseOrdersPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
     }
 });
 
@@ -252,10 +253,14 @@ public class FinancePurchaseOrdersPage extends UIBase {
         return btn;
     }
 
+    @Override
+    public void refresh() {
+        loadPendingOrders();
+    }
+
     private void loadPendingOrders() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            orders = db.getAllPurchaseOrders();
+        loader().load("purchase orders", () -> DatabaseContext.db().getAllPurchaseOrders(), rows -> {
+            orders = rows;
             tableModel.setRowCount(0);
             for (PurchaseOrder po : orders) {
                 if (PurchaseOrder.STATUS_PENDING.equals(po.getStatus())) {
@@ -266,9 +271,7 @@ public class FinancePurchaseOrdersPage extends UIBase {
                     });
                 }
             }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading data: " + e.getMessage());
-        }
+        });
     }
 
     private void updateStatus(String status) {
@@ -281,11 +284,9 @@ public class FinancePurchaseOrdersPage extends UIBase {
         String id = (String) tableModel.getValueAt(row, 0);
 
         try {
-            DatabaseHelper db = new DatabaseHelper();
-            PurchaseOrder po = db.getPurchaseOrderById(id);
-            if (po != null) {
-                po.setStatus(status);
-                db.updatePurchaseOrder(po);
+            DatabaseHelper db = DatabaseContext.db();
+            if (db.getPurchaseOrderById(id) != null) {
+                db.modifyPurchaseOrder(id, po -> po.setStatus(status));
                 JOptionPane.showMessageDialog(this, "Status updated.");
                 loadPendingOrders();
             }
@@ -308,7 +309,7 @@ public class FinancePurchaseOrdersPage extends UIBase {
             int qty = Integer.parseInt(qtyStr);
             if (qty <= 0) throw new NumberFormatException();
 
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             PurchaseOrder po = db.getPurchaseOrderById(id);
             if (po != null) {
                 po.setQuantity(qty);
@@ -317,7 +318,7 @@ public class FinancePurchaseOrdersPage extends UIBase {
                 JOptionPane.showMessageDialog(this, "Quantity updated.");
                 loadPendingOrders();
                SystemLog log = new SystemLog(
-    "LOG" + System.currentTimeMillis(),
+    db.nextLogId(),
     currentUser.getUserId(),
     currentUser.getUsername(),
     SystemLog.ACTION_UPDATE,
@@ -346,7 +347,7 @@ db.addSystemLog(log);
         try {
             if (newId == null || newId.isBlank()) return;
 
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             PurchaseOrder po = db.getPurchaseOrderById(id);
             if (po != null) {
                 po.setSupplierId(newId.trim());
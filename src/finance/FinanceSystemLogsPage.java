@@ -1,6 +1,8 @@
 package finance;
 
 import admin.*;
+import admin.Navigator;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.SystemLog;
 import models.User;
@@ -14,6 +16,7 @@ import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDateTime;
@@ -23,12 +26,14 @@ public class FinanceSystemLogsPage extends UIBase {
     private JTable logsTable;
     private JTextField searchField;
     private JComboBox<String> actionFilter;
-    private List<SystemLog> logsList;
+    private TableSearch search;
+    private List<SystemLog> logsList = new ArrayList<>();
     private DefaultTableModel tableModel;
     private static final DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String[] TABLE_COLUMNS = {
             "Log ID", "Action", "Details", "Timestamp"
 };
+    private static final int RECENT_LOG_LIMIT = 500;
     public FinanceSystemLogsPage(User user) {
         super("Finance System Logs");
          this.currentUser = user;
@@ -44,9 +49,7 @@ public class FinanceSystemLogsPage extends UIBase {
     }
 
    private void loadLogs() {
-    try {
-        DatabaseHelper db = new DatabaseHelper();
-        List<SystemLog> allLogs = db.getAllSystemLogs();
+    loader().load("logs", () -> DatabaseContext.db().getLatestSystemLogsByUser(currentUser.getUserId(), RECENT_LOG_LIMIT), allLogs -> {
         tableModel.setRowCount(0);
 
        for (SystemLog log : allLogs) {
@@ -74,9 +77,7 @@ public class FinanceSystemLogsPage extends UIBase {
 });
     }
 }
-    } catch (IOException e) {
-        JOptionPane.showMessageDialog(this, "Failed to load logs: " + e.getMessage());
-    }
+    });
 }
 
     @Override
@@ -92,8 +93,7 @@ public class FinanceSystemLogsPage extends UIBase {
         backButton.setFont(new Font("SansSerif", Font.BOLD, 12));
         backButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         backButton.addActionListener(e -> {
-            dispose();
-            new FinanceDashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
         });
         backButtonPanel.add(backButton);
         mainPanel.add(backButtonPanel, BorderLayout.NORTH);
@@ -134,7 +134,6 @@ public class FinanceSystemLogsPage extends UIBase {
         
         JLabel searchLabel = new JLabel("Search:");
         searchField = new JTextField(20);
-        searchField.addActionListener(e -> filterLogs());
 
         
         JLabel actionLabel = new JLabel("Action:");
@@ -142,7 +141,7 @@ public class FinanceSystemLogsPage extends UIBase {
                 SystemLog.ACTION_CREATE, SystemLog.ACTION_UPDATE,
                 SystemLog.ACTION_DELETE, SystemLog.ACTION_VIEW};
         actionFilter = new JComboBox<>(actionOptions);
-        actionFilter.addActionListener(e -> filterLogs());
+        actionFilter.addActionListener(e -> filterByAction());
 
         
         
@@ -236,53 +235,14 @@ public class FinanceSystemLogsPage extends UIBase {
         JScrollPane scrollPane = new JScrollPane(logsTable);
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(220, 220, 220)));
         tablePanel.add(scrollPane, BorderLayout.CENTER);
+        search = new TableSearch(logsTable, searchField);
         return tablePanel;
     }
 
-    private void filterLogs() {
-        String searchText = searchField.getText().toLowerCase();
+    private void filterByAction() {
         String selectedAction = (String) actionFilter.getSelectedItem();
-        
-
-        try {
-            List<SystemLog> filteredList = logsList.stream()
-                    .filter(log ->
-                            (searchText.isEmpty() ||
-                                    log.getLogId().toLowerCase().contains(searchText) ||
-                                    log.getUsername().toLowerCase().contains(searchText) ||
-                                    log.getDetails().toLowerCase().contains(searchText)) &&
-                                    ("All".equals(selectedAction) || log.getAction().equals(selectedAction)))
-                    .toList();
-
-            updateTable(filteredList);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error filtering logs: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
-    }
-
-    private void updateTable(List<SystemLog> logs) {
-        tableModel.setRowCount(0);
-
-        for (SystemLog log : logs) {
-            try {
-                tableModel.addRow(new Object[]{
-                        log.getLogId(),
-                        log.getUserId(),
-                        log.getUsername(),
-                        log.getAction(),
-                        log.getDetails(),
-                        log.getTimestamp().format(displayFormatter),
-                        log.getUserRole()
-                });
-            } catch (Exception e) {
-                System.out.println("Warning: Error formatting row data for log " + log.getLogId());
-                e.printStackTrace();
-            }
-        }
+        search.setFilter("All".equals(selectedAction) ? null
+                : RowFilter.regexFilter("^" + Pattern.quote(selectedAction) + "$", 1));
     }
 
     public static void main(String[] args) {
@@ -294,9 +254,9 @@ public class FinanceSystemLogsPage extends UIBase {
     }
     private void logSystemAction(String action, String details) {
         try {
-    DatabaseHelper db = new DatabaseHelper();
+    DatabaseHelper db = DatabaseContext.db();
     SystemLog log = new SystemLog(
-        "LOG" + System.currentTimeMillis(),
+        db.nextLogId(),
         currentUser.getUserId(),
         currentUser.getUsername(),
         action,
@@ -1,6 +1,7 @@
 package finance;
 
 import admin.*;
+import admin.Navigator;
 import java.awt.*;
 import javax.swing.*;
 import javax.swing.border.*;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import models.PurchaseOrder;
 import models.User;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -25,7 +27,7 @@ public class FinanceViewPurchaseOrdersPage extends UIBase {
     private final User currentUser;
     private JTable ordersTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> ordersList;
+    private List<PurchaseOrder> ordersList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance();
     
@@ -43,30 +45,10 @@ public class FinanceViewPurchaseOrdersPage extends UIBase {
     }
 
     public void loadOrders() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            ordersList = dbHelper.getAllPurchaseOrders();
-            
-            if (ordersList == null) {
-                ordersList = new ArrayList<>();
-            } else {
-                filterOrders(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading orders: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("orders", () -> DatabaseContext.db().getAllPurchaseOrders(), rows -> {
+            ordersList = rows != null ? rows : new ArrayList<>();
+            filterOrders(null);
+        });
     }
 
     private void filterOrders(String status) {
@@ -215,8 +197,7 @@ public class FinanceViewPurchaseOrdersPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
     @Override
     public void mouseClicked(MouseEvent e) {
-        dispose();
-        new admin.MyProfilePage(currentUser).setVisible(true);
+        Navigator.open(FinanceViewPurchaseOrdersPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
     }
 });
         
@@ -459,11 +440,7 @@ public class FinanceViewPurchaseOrdersPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            FinanceDashboardPage dashboard = new FinanceDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
     }
     
     public static void main(String[] args) {
@@ -475,9 +452,9 @@ public class FinanceViewPurchaseOrdersPage extends UIBase {
     }
     private void logSystemAction(String action, String details) {
         try {
-    DatabaseHelper db = new DatabaseHelper();
+    DatabaseHelper db = DatabaseContext.db();
     SystemLog log = new SystemLog(
-        "LOG" + System.currentTimeMillis(),
+        db.nextLogId(),
         currentUser.getUserId(),
         currentUser.getUsername(),
         action,
@@ -1,5 +1,6 @@
 package finance;
 
+import admin.Navigator;
 import admin.UIBase;
 import java.awt.*;
 import javax.swing.*;
@@ -15,6 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 import models.PurchaseRequisition;
 import models.User;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import finance.FinanceDashboardPage;
 import java.awt.event.MouseAdapter;
@@ -25,7 +27,7 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
     private final User currentUser;
     private JTable requisitionsTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseRequisition> requisitionsList;
+    private List<PurchaseRequisition> requisitionsList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -43,30 +45,10 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
     }
 
     public void loadRequisitions() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            requisitionsList = dbHelper.getAllPurchaseRequisitions();
-            
-            if (requisitionsList == null) {
-                requisitionsList = new ArrayList<>();
-            } else {
-                filterRequisitions(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading requisitions: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("requisitions", () -> DatabaseContext.db().getAllPurchaseRequisitions(), rows -> {
+            requisitionsList = rows != null ? rows : new ArrayList<>();
+            filterRequisitions(null);
+        });
     }
 
     private void filterRequisitions(String status) {
@@ -138,8 +120,7 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
         dashboardItem.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new FinanceDashboardPage(currentUser).setVisible(true);
+                Navigator.open(FinanceViewPurchaseRequisitionsPage.this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
             }
         });
         
@@ -213,8 +194,7 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
     @Override
     public void mouseClicked(MouseEvent e) {
-        dispose();
-        new admin.MyProfilePage(currentUser).setVisible(true);
+        Navigator.open(FinanceViewPurchaseRequisitionsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
     }
 });
         
@@ -416,7 +396,7 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
                     
                     if (choice == 0 || choice == 1) { 
                         try {
-                            DatabaseHelper dbHelper = new DatabaseHelper();
+                            DatabaseHelper dbHelper = DatabaseContext.db();
                             PurchaseRequisition requisition = dbHelper.getPurchaseRequisitionById(requisitionId);
                             
                             if (requisition != null) {
@@ -498,16 +478,13 @@ public class FinanceViewPurchaseRequisitionsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-                new FinanceDashboardPage(currentUser).setVisible(true);
-        });
+        Navigator.open(this, currentUser, FinanceDashboardPage.class, FinanceDashboardPage::new);
     }
  private void logSystemAction(String action, String details) {
         try {
-    DatabaseHelper db = new DatabaseHelper();
+    DatabaseHelper db = DatabaseContext.db();
     SystemLog log = new SystemLog(
-        "LOG" + System.currentTimeMillis(),
+        db.nextLogId(),
         currentUser.getUserId(),
         currentUser.getUsername(),
         action,
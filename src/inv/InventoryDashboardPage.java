@@ -1,5 +1,6 @@
 package inv;
 
+import admin.Navigator;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
@@ -74,6 +75,7 @@ public class InventoryDashboardPage extends UIBase {
             JOptionPane.QUESTION_MESSAGE
     );
     if (response == JOptionPane.YES_OPTION) {
+        Navigator.endSession();
         dispose();
         SwingUtilities.invokeLater(() -> {
             try {
@@ -123,8 +125,7 @@ public class InventoryDashboardPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(InventoryDashboardPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -150,52 +151,28 @@ public class InventoryDashboardPage extends UIBase {
         contentPanel.setBackground(Color.WHITE);
 
         contentPanel.add(createCard("View\nCurrent\nStock", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                ViewCurrentStockPage viewStockPage = new ViewCurrentStockPage(currentUser);
-                viewStockPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, ViewCurrentStockPage.class, ViewCurrentStockPage::new);
         }));
 
         contentPanel.add(createCard("Update\nStock\nLevels", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                UpdateStockFromPOPage updateStockPage = new UpdateStockFromPOPage(currentUser);
-                updateStockPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, UpdateStockFromPOPage.class, UpdateStockFromPOPage::new);
         }));
 
         contentPanel.add(createCard("Manual\nStock\nAdjustment", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                ManualStockAdjustmentPage adjustmentPage = new ManualStockAdjustmentPage(currentUser);
-                adjustmentPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, ManualStockAdjustmentPage.class, ManualStockAdjustmentPage::new);
         }));
 
         contentPanel.add(createCard("View\nStock\nHistory", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                StockHistoryPage stockHistoryPage = new StockHistoryPage(currentUser);
-                stockHistoryPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, StockHistoryPage.class, StockHistoryPage::new);
         }));
 
         contentPanel.add(createCard("Generate\nStock\nReports", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                StockReportPage reportPage = new StockReportPage(currentUser);
-                reportPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, StockReportPage.class, StockReportPage::new);
         }));
 
 
         contentPanel.add(createCard("View\nSystem\nLogs", () -> {
-            dispose();
-            SwingUtilities.invokeLater(() -> {
-                ViewInventoryLogsPage logsPage = new ViewInventoryLogsPage(currentUser);
-                logsPage.setVisible(true);
-            });
+            Navigator.open(this, currentUser, ViewInventoryLogsPage.class, ViewInventoryLogsPage::new);
         }));
 
 
@@ -1,5 +1,7 @@
 package inv;
 
+import admin.Navigator;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.Stock;
 import models.SystemLog;
@@ -8,11 +10,10 @@ import javax.swing.*;
 import javax.swing.border.LineBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public class ManualStockAdjustmentPage extends admin.UIBase {
+public class ManualStockAdjustmentPage extends admin.UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable stockTable;
     private DefaultTableModel tableModel;
@@ -135,8 +136,7 @@ public class ManualStockAdjustmentPage extends admin.UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ManualStockAdjustmentPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -242,11 +242,10 @@ public class ManualStockAdjustmentPage extends admin.UIBase {
                 int adjust = Integer.parseInt(adjustmentField.getText().trim());
                 String reason = reasonField.getText().trim();
                 if (reason.isEmpty()) throw new IllegalArgumentException("Reason is required");
-                int newQty = currentQty + adjust;
 
-                DatabaseHelper db = new DatabaseHelper();
-                db.updateStockQuantity(itemCode, newQty);
-                db.addInventoryLog(new SystemLog("LOG" + System.currentTimeMillis(), currentUser.getUserId(), currentUser.getUsername(), SystemLog.ACTION_UPDATE,
+                DatabaseHelper db = DatabaseContext.db();
+                db.updateStockQuantity(itemCode, adjust, true);
+                db.addInventoryLog(new SystemLog(db.nextLogId(), currentUser.getUserId(), currentUser.getUsername(), SystemLog.ACTION_UPDATE,
                         "Manual adjustment on " + itemCode + " by " + adjust + ". Reason: " + reason, LocalDateTime.now(), currentUser.getRole()));
 
                 JOptionPane.showMessageDialog(this, "Stock adjusted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -260,21 +259,21 @@ public class ManualStockAdjustmentPage extends admin.UIBase {
         }
     }
 
+    @Override
+    public void refresh() {
+        loadStockData();
+    }
+
     private void loadStockData() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<Stock> stocks = db.getAllStock();
+        loader().load("stock", () -> DatabaseContext.db().getAllStock(), stocks -> {
             tableModel.setRowCount(0);
             for (Stock s : stocks) {
                 tableModel.addRow(new Object[]{s.getItemCode(), s.getItemName(), s.getQuantity()});
             }
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this, "Error loading stock: " + ex.getMessage());
-        }
+        });
     }
 
     private void goBackToDashboard() {
-        dispose();
-        new InventoryDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
     }
 }
\ No newline at end of file
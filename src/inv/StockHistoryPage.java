@@ -1,21 +1,22 @@
 package inv;
 
-import database.DatabaseHelper;
+import admin.Navigator;
+import admin.RowTableModel;
+import admin.TableSearch;
+import database.DatabaseContext;
 import models.SystemLog;
 import models.User;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
-import java.io.IOException;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.time.LocalDateTime;
 
-public class StockHistoryPage extends admin.UIBase {
+public class StockHistoryPage extends admin.UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable historyTable;
-    private DefaultTableModel tableModel;
+    private RowTableModel<SystemLog> tableModel;
     private JTextField searchField;
+    private TableSearch search;
 
     public StockHistoryPage(User user) {
         super("Stock History");
@@ -43,14 +44,17 @@ public class StockHistoryPage extends admin.UIBase {
         mainPanel.add(headerPanel, BorderLayout.NORTH);
 
         // Create table with simplified columns
-        tableModel = new DefaultTableModel(new Object[]{"Log ID", "User", "Action", "Activity Details", "Date & Time"}, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new RowTableModel<SystemLog>()
+                .column("Log ID", String.class, log -> log.getLogId() != null ? log.getLogId() : "N/A", null)
+                .column("User", String.class, log -> log.getUsername() != null ? log.getUsername() : "Unknown", null)
+                .column("Action", String.class, log -> log.getAction() != null ? log.getAction() : "N/A", null)
+                .column("Activity Details", String.class,
+                        log -> log.getDetails() != null ? log.getDetails() : "No details available", null)
+                .column("Date & Time", LocalDateTime.class, SystemLog::getTimestamp,
+                        RowTableModel.dateTime("yyyy-MM-dd HH:mm:ss"));
         
         historyTable = new JTable(tableModel);
+        tableModel.installRenderers(historyTable);
         historyTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         historyTable.getTableHeader().setReorderingAllowed(false);
         historyTable.setFillsViewportHeight(true);
@@ -111,16 +115,13 @@ public class StockHistoryPage extends admin.UIBase {
         searchPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
         
         searchField = new JTextField(25);
-        searchField.addActionListener(e -> searchHistory());
+        search = new TableSearch(historyTable, searchField);
         
         JButton searchButton = new JButton("Search");
         searchButton.addActionListener(e -> searchHistory());
         
         JButton clearButton = new JButton("Show All");
-        clearButton.addActionListener(e -> {
-            searchField.setText("");
-            loadStockHistory();
-        });
+        clearButton.addActionListener(e -> search.clear());
         
         searchPanel.add(new JLabel("Search:"));
         searchPanel.add(searchField);
@@ -136,113 +137,38 @@ public class StockHistoryPage extends admin.UIBase {
         loadStockHistory();
     }
 
-    private void loadStockHistory() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            List<SystemLog> inventoryLogs = dbHelper.getInventoryLogs();
-
-            tableModel.setRowCount(0);
-            
-            if (inventoryLogs != null) {
-                for (SystemLog log : inventoryLogs) {
-                    if (log != null) {
-                        try {
-                            String logId = log.getLogId() != null ? log.getLogId() : "N/A";
-                            String user = log.getUsername() != null ? log.getUsername() : "Unknown";
-                            String action = log.getAction() != null ? log.getAction() : "N/A";
-                            String details = log.getDetails() != null ? log.getDetails() : "No details available";
-                            String timestamp = log.getTimestamp() != null ? 
-                                log.getTimestamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "N/A";
+    @Override
+    public void refresh() {
+        loadStockHistory();
+    }
 
-                            Object[] rowData = {logId, user, action, details, timestamp};
-                            tableModel.addRow(rowData);
-                            
-                        } catch (Exception e) {
-                            // Skip malformed entries
-                            System.out.println("Skipping malformed log entry: " + e.getMessage());
-                        }
-                    }
-                }
-            }
+    private void loadStockHistory() {
+        loader().load("stock history", () -> DatabaseContext.db().getInventoryLogs(), inventoryLogs -> {
+            tableModel.setRows(inventoryLogs);
             
             // Show count
             JOptionPane.showMessageDialog(this, 
                 "Loaded " + tableModel.getRowCount() + " stock history records", 
                 "History Loaded", 
                 JOptionPane.INFORMATION_MESSAGE);
-                
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this, 
-                "Error loading stock history: " + ex.getMessage(),
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void searchHistory() {
-        String searchText = searchField.getText().trim().toLowerCase();
+        search.apply();
         
-        if (searchText.isEmpty()) {
-            loadStockHistory();
-            return;
-        }
-
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            List<SystemLog> inventoryLogs = dbHelper.getInventoryLogs();
-
-            tableModel.setRowCount(0);
-            int matchCount = 0;
-            
-            if (inventoryLogs != null) {
-                for (SystemLog log : inventoryLogs) {
-                    if (log != null) {
-                        try {
-                            String logId = log.getLogId() != null ? log.getLogId() : "";
-                            String user = log.getUsername() != null ? log.getUsername() : "";
-                            String action = log.getAction() != null ? log.getAction() : "";
-                            String details = log.getDetails() != null ? log.getDetails() : "";
-                            String timestamp = log.getTimestamp() != null ? 
-                                log.getTimestamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "";
-
-                            // Check if any field contains the search text
-                            if (logId.toLowerCase().contains(searchText) ||
-                                user.toLowerCase().contains(searchText) ||
-                                action.toLowerCase().contains(searchText) ||
-                                details.toLowerCase().contains(searchText) ||
-                                timestamp.toLowerCase().contains(searchText)) {
-                                
-                                Object[] rowData = {logId, user, action, details, timestamp};
-                                tableModel.addRow(rowData);
-                                matchCount++;
-                            }
-                            
-                        } catch (Exception e) {
-                            // Skip malformed entries
-                        }
-                    }
-                }
-            }
-            
-            // Show search results count
-            if (matchCount == 0) {
-                JOptionPane.showMessageDialog(this, 
-                    "No records found matching: " + searchText, 
-                    "Search Results", 
-                    JOptionPane.INFORMATION_MESSAGE);
-            }
-            
-        } catch (IOException ex) {
+        // Show search results count
+        String searchText = searchField.getText().trim();
+        if (!searchText.isEmpty() && search.getRowCount() == 0) {
             JOptionPane.showMessageDialog(this, 
-                "Error searching stock history: " + ex.getMessage(),
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
+                "No records found matching: " + searchText, 
+                "Search Results", 
+                JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     private void goBackToDashboard() {
-        dispose();
-        new InventoryDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
     }
 
     public static void main(String[] args) {
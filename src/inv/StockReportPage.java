@@ -1,17 +1,17 @@
 package inv;
 
+import admin.Navigator;
 import admin.UIBase;
-import database.DatabaseHelper;
+import database.DatabaseContext;
 import models.Stock;
 import models.User;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.io.IOException;
 import java.util.List;
 
-public class StockReportPage extends UIBase {
+public class StockReportPage extends UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable stockTable;
     private DefaultTableModel tableModel;
@@ -32,8 +32,7 @@ public class StockReportPage extends UIBase {
         topPanel.setBackground(Color.WHITE);
         JButton backBtn = new JButton("← Back to Dashboard");
         backBtn.addActionListener(e -> {
-            dispose();
-            new InventoryDashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
         });
 
         JLabel title = new JLabel("📦 Stock Report", SwingConstants.CENTER);
@@ -69,10 +68,13 @@ public class StockReportPage extends UIBase {
         loadStockData();
     }
 
+    @Override
+    public void refresh() {
+        loadStockData();
+    }
+
     private void loadStockData() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<Stock> stockList = db.getAllStock();
+        loader().load("stock data", () -> DatabaseContext.db().getAllStock(), stockList -> {
             tableModel.setRowCount(0);
             for (Stock s : stockList) {
                 tableModel.addRow(new Object[]{
@@ -80,10 +82,7 @@ public class StockReportPage extends UIBase {
                     s.getLocation(), s.getLastUpdated(), s.getStatus()
                 });
             }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading stock data: " + e.getMessage(),
-                    "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void showReportPopup() {
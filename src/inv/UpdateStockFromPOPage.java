@@ -1,6 +1,9 @@
 package inv;
 
+import admin.Navigator;
+import database.DatabaseContext;
 import database.DatabaseHelper;
+import database.Transaction;
 import models.PurchaseOrder;
 import models.Stock;
 import models.SystemLog;
@@ -11,17 +14,17 @@ import javax.swing.border.LineBorder;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class UpdateStockFromPOPage extends admin.UIBase {
+public class UpdateStockFromPOPage extends admin.UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable poTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> allPurchaseOrders;
+    private List<PurchaseOrder> allPurchaseOrders = new ArrayList<>();
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private JComboBox<String> supplierFilter;
@@ -384,27 +387,19 @@ public class UpdateStockFromPOPage extends admin.UIBase {
         return btn;
     }
 
+    @Override
+    public void refresh() {
+        loadPurchaseOrders();
+    }
+
     private void loadPurchaseOrders() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            allPurchaseOrders = db.getAllPurchaseOrders();
-            if (allPurchaseOrders == null) {
-                allPurchaseOrders = List.of();
-            }
-            
+        loader().load("purchase orders", () -> DatabaseContext.db().getAllPurchaseOrders(), orders -> {
+            allPurchaseOrders = orders != null ? orders : List.of();
+
             // Populate supplier filter first, before applying filters
-            SwingUtilities.invokeLater(() -> {
-                updateSupplierFilter();
-                applyFilters();
-            });
-            
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error loading purchase orders: " + e.getMessage(),
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
-            allPurchaseOrders = List.of();
-        }
+            updateSupplierFilter();
+            applyFilters();
+        });
     }
 
     private void updateSupplierFilter() {
@@ -543,14 +538,11 @@ public class UpdateStockFromPOPage extends admin.UIBase {
                 JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                DatabaseHelper db = new DatabaseHelper();
-                
-                // Update stock quantity (add to existing stock)
-                db.updateStockQuantity(itemCode, receivedQty, true);
+                DatabaseHelper db = DatabaseContext.db();
 
-                // Log the action
+                // Stock and the inventory log are committed together
                 SystemLog log = new SystemLog(
-                        "LOG" + System.currentTimeMillis(),
+                        db.nextLogId(),
                         currentUser.getUserId(),
                         currentUser.getUsername(),
                         SystemLog.ACTION_UPDATE,
@@ -558,7 +550,11 @@ public class UpdateStockFromPOPage extends admin.UIBase {
                         LocalDateTime.now(),
                         currentUser.getRole()
                 );
-                db.addInventoryLog(log);
+                try (Transaction tx = db.beginTransaction()) {
+                    tx.updateStockQuantity(itemCode, receivedQty, true)
+                            .addInventoryLog(log);
+                    tx.commit();
+                }
 
                 JOptionPane.showMessageDialog(this,
                     "Stock receipt confirmed successfully!\nItem: " + itemCode + "\nQuantity added: " + receivedQty,
@@ -690,7 +686,6 @@ public class UpdateStockFromPOPage extends admin.UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        new InventoryDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
     }
 }
\ No newline at end of file
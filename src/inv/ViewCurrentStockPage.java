@@ -1,6 +1,7 @@
 package inv;
 
-import database.DatabaseHelper;
+import admin.Navigator;
+import database.DatabaseContext;
 import models.Stock;
 import models.User;
 
@@ -9,15 +10,15 @@ import javax.swing.border.LineBorder;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ViewCurrentStockPage extends admin.UIBase {
+public class ViewCurrentStockPage extends admin.UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable stockTable;
     private DefaultTableModel tableModel;
-    private List<Stock> allStockList;
+    private List<Stock> allStockList = new ArrayList<>();
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private JComboBox<String> quantityFilter;
@@ -298,21 +299,16 @@ public class ViewCurrentStockPage extends admin.UIBase {
         return btn;
     }
 
+    @Override
+    public void refresh() {
+        loadStockData();
+    }
+
     private void loadStockData() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            allStockList = db.getAllStock();
-            if (allStockList == null) {
-                allStockList = List.of();
-            }
+        loader().load("stock data", () -> DatabaseContext.db().getAllStock(), stock -> {
+            allStockList = stock != null ? stock : List.of();
             applyFilters();
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this, 
-                "Error loading stock data: " + ex.getMessage(),
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
-            allStockList = List.of();
-        }
+        });
     }
 
     private void applyFilters() {
@@ -398,7 +394,6 @@ public class ViewCurrentStockPage extends admin.UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        new InventoryDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
     }
 }
\ No newline at end of file
@@ -1,18 +1,19 @@
 package inv;
 
+import admin.Navigator;
 import admin.UIBase;
-import database.DatabaseHelper;
+import database.DatabaseContext;
 import models.SystemLog;
 import models.User;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.io.IOException;
 import java.util.List;
 
-public class ViewInventoryLogsPage extends UIBase {
+public class ViewInventoryLogsPage extends UIBase implements Navigator.Refreshable {
     private final User currentUser;
+    private static final int RECENT_LOG_LIMIT = 500;
     private JTable logTable;
     private DefaultTableModel tableModel;
 
@@ -33,8 +34,7 @@ public class ViewInventoryLogsPage extends UIBase {
 
         JButton backBtn = new JButton("← Back to Dashboard");
         backBtn.addActionListener(e -> {
-            dispose();
-            new InventoryDashboardPage(currentUser).setVisible(true);
+            Navigator.open(this, currentUser, InventoryDashboardPage.class, InventoryDashboardPage::new);
         });
 
         JLabel title = new JLabel("🧾 Inventory Logs", SwingConstants.CENTER);
@@ -61,27 +61,24 @@ public class ViewInventoryLogsPage extends UIBase {
         loadInventoryLogs();
     }
 
-    private void loadInventoryLogs() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<SystemLog> logs = db.getInventoryLogs();
+    @Override
+    public void refresh() {
+        loadInventoryLogs();
+    }
 
+    private void loadInventoryLogs() {
+        loader().load("inventory logs", () -> DatabaseContext.db().getLatestInventoryLogs(RECENT_LOG_LIMIT,
+                log -> log.getUserRole().equalsIgnoreCase("inventory")), logs -> {
             tableModel.setRowCount(0);
             for (SystemLog log : logs) {
-                if (log.getUserRole().equalsIgnoreCase("inventory")) {
-                    tableModel.addRow(new Object[]{
-                        log.getLogId(),
-                        log.getUsername(),
-                        log.getAction(),
-                        log.getDetails(),
-                        log.getTimestamp().toString()
-                    });
-                }
+                tableModel.addRow(new Object[]{
+                    log.getLogId(),
+                    log.getUsername(),
+                    log.getAction(),
+                    log.getDetails(),
+                    log.getTimestamp().toString()
+                });
             }
-
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading logs: " + e.getMessage(),
-                    "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
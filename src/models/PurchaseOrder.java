@@ -15,6 +15,7 @@ public class PurchaseOrder {
     private String supplierId;
     private String purchaseManagerId;
     private String status;
+    private int version;
     
     public static final String STATUS_PENDING = "Pending";
     public static final String STATUS_COMPLETED = "Completed";
@@ -154,6 +155,14 @@ public class PurchaseOrder {
         this.status = status;
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "PurchaseOrder [orderId=" + orderId + ", requisitionId=" + requisitionId + 
@@ -7,6 +7,7 @@ public class Stock {
     private String location;
     private String lastUpdated;
     private String status;
+    private int version;
 
     public static final String STATUS_IN_STOCK = "In Stock";
     public static final String STATUS_LOW_STOCK = "Low Stock";
@@ -73,6 +74,14 @@ public class Stock {
         this.status = status;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     private void updateStatus() {
         if (this.quantity <= 0) {
             this.status = STATUS_OUT_OF_STOCK;
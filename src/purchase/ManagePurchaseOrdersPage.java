@@ -1,27 +1,32 @@
 package purchase;
 
+import admin.Navigator;
+import admin.PageLoader;
+import admin.RowTableModel;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import models.PurchaseOrder;
 import models.SystemLog;
 import models.User;
 
-public class ManagePurchaseOrdersPage extends JFrame {
+public class ManagePurchaseOrdersPage extends JFrame implements Navigator.Refreshable {
     private final User currentUser;
     private JTable poTable;
-    private DefaultTableModel tableModel;
-    private List<PurchaseOrder> orders;
+    private RowTableModel<PurchaseOrder> tableModel;
+    private String searchText = "";
     private final Color primaryColor = new Color(60, 141, 188);
     private final Font headerFont = new Font("SansSerif", Font.BOLD, 24);
     private final int APP_WINDOW_HEIGHT = 700;
+    private final PageLoader loader = new PageLoader(this);
 
     public ManagePurchaseOrdersPage(User user) {
         super("Manage Purchase Orders");
@@ -82,8 +87,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
         
         dashboardItem.addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
-                dispose();
-                new PurchaseDashboardPage(currentUser).setVisible(true);
+                Navigator.open(ManagePurchaseOrdersPage.this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
             }
         });
 
@@ -156,8 +160,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
         userLabel.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ManagePurchaseOrdersPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -206,12 +209,18 @@ public class ManagePurchaseOrdersPage extends JFrame {
         panel.add(searchPanel, BorderLayout.NORTH);
 
         
-        String[] cols = {"Order ID", "Requisition ID", "Item Code", "Item Name",
-                "Quantity", "Unit Price", "Total", "Status", "Order Date", "Supplier ID"};
-
-        tableModel = new DefaultTableModel(cols, 0) {
-            public boolean isCellEditable(int r, int c) { return false; }
-        };
+        tableModel = new RowTableModel<PurchaseOrder>()
+                .column("Order ID", PurchaseOrder::getOrderId)
+                .column("Requisition ID", PurchaseOrder::getRequisitionId)
+                .column("Item Code", PurchaseOrder::getItemCode)
+                .column("Item Name", PurchaseOrder::getItemName)
+                .column("Quantity", PurchaseOrder::getQuantity)
+                .column("Unit Price", Object.class, PurchaseOrder::getUnitPrice, RowTableModel.number("$%.2f"))
+                .column("Total", Object.class, PurchaseOrder::getTotalAmount, RowTableModel.number("$%.2f"))
+                .column("Status", PurchaseOrder::getStatus)
+                .column("Order Date", PurchaseOrder::getOrderDate)
+                .column("Supplier ID", PurchaseOrder::getSupplierId)
+                .follow(this, PurchaseOrder.class, PurchaseOrder::getOrderId, po -> matchesSearch(po, searchText));
 
         poTable = new JTable(tableModel);
         poTable.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
@@ -245,6 +254,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
                 return c;
             }
         });
+        tableModel.installRenderers(poTable);
         poTable.setRowHeight(28);
         JScrollPane scroll = new JScrollPane(poTable);
         scroll.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
@@ -293,60 +303,42 @@ public class ManagePurchaseOrdersPage extends JFrame {
         return btn;
     }
 
+    @Override
+    public void refresh() {
+        loadPendingOrders();
+    }
+
     private void loadPendingOrders() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            orders = db.getAllPurchaseOrders();
-            tableModel.setRowCount(0);
-            for (PurchaseOrder po : orders) {
-                tableModel.addRow(new Object[]{
-                    po.getOrderId(),
-                    po.getRequisitionId(),
-                    po.getItemCode(),
-                    po.getItemName(),
-                    po.getQuantity(),
-                    String.format("$%.2f", po.getUnitPrice()),
-                    String.format("$%.2f", po.getTotalAmount()),
-                    po.getStatus(),
-                    po.getOrderDate(),
-                    po.getSupplierId()
-                });
-            }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error loading data: " + e.getMessage());
-        }
+        searchText = "";
+        loader.load("purchase orders", () -> DatabaseContext.db().getAllPurchaseOrders(), tableModel::setRows);
     }
 
-    private void searchOrders(String searchText) {
-        if (searchText.isEmpty()) {
+    private void searchOrders(String text) {
+        if (text.isEmpty()) {
             loadPendingOrders();
             return;
         }
-        
-        String searchLower = searchText.toLowerCase();
-        tableModel.setRowCount(0);
-        
-        for (PurchaseOrder po : orders) {
-            if (po.getOrderId().toLowerCase().contains(searchLower) ||
-                po.getRequisitionId().toLowerCase().contains(searchLower) ||
-                po.getItemCode().toLowerCase().contains(searchLower) ||
-                po.getItemName().toLowerCase().contains(searchLower) ||
-                po.getSupplierId().toLowerCase().contains(searchLower)) {
-                
-                tableModel.addRow(new Object[]{
-                    po.getOrderId(),
-                    po.getRequisitionId(),
-                    po.getItemCode(),
-                    po.getItemName(),
-                    po.getQuantity(),
-                    String.format("$%.2f", po.getUnitPrice()),
-                    String.format("$%.2f", po.getTotalAmount()),
-                    po.getStatus(),
-                    po.getOrderDate(),
-                    po.getSupplierId()
-                });
+
+        String searchLower = text.toLowerCase();
+        searchText = searchLower;
+        loader.load("purchase orders", () -> {
+            List<PurchaseOrder> matches = new ArrayList<>();
+            for (PurchaseOrder po : DatabaseContext.db().getAllPurchaseOrders()) {
+                if (matchesSearch(po, searchLower)) {
+                    matches.add(po);
+                }
             }
-        }
+            return matches;
+        }, tableModel::setRows);
+    }
+
+    private boolean matchesSearch(PurchaseOrder po, String searchLower) {
+        return searchLower.isEmpty() ||
+            po.getOrderId().toLowerCase().contains(searchLower) ||
+            po.getRequisitionId().toLowerCase().contains(searchLower) ||
+            po.getItemCode().toLowerCase().contains(searchLower) ||
+            po.getItemName().toLowerCase().contains(searchLower) ||
+            po.getSupplierId().toLowerCase().contains(searchLower);
     }
 
     private void updateStatus(String status) {
@@ -359,14 +351,14 @@ public class ManagePurchaseOrdersPage extends JFrame {
         String id = (String) tableModel.getValueAt(row, 0);
 
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             PurchaseOrder po = db.getPurchaseOrderById(id);
             if (po != null) {
                 po.setStatus(status);
                 db.updatePurchaseOrder(po);
                 
                 SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     SystemLog.ACTION_UPDATE,
@@ -377,7 +369,6 @@ public class ManagePurchaseOrdersPage extends JFrame {
                 db.addSystemLog(log);
                 
                 JOptionPane.showMessageDialog(this, "Status updated.");
-                loadPendingOrders();
             }
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Failed: " + e.getMessage());
@@ -440,7 +431,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
                 throw new NumberFormatException("Quantity and price must be positive numbers");
             }
 
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             if (db.getPurchaseRequisitionById(reqId) == null) {
                 throw new IllegalArgumentException("Invalid Requisition ID");
             }
@@ -452,7 +443,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
             }
 
             PurchaseOrder newPO = new PurchaseOrder(
-                "PO" + System.currentTimeMillis(),
+                db.nextPurchaseOrderId(),
                 reqId,
                 itemCode,
                 itemName,
@@ -467,7 +458,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
             db.addPurchaseOrder(newPO);
 
             SystemLog log = new SystemLog(
-                "LOG" + System.currentTimeMillis(),
+                db.nextLogId(),
                 currentUser.getUserId(),
                 currentUser.getUsername(),
                 SystemLog.ACTION_CREATE,
@@ -512,7 +503,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
         String orderId = (String) tableModel.getValueAt(selectedRow, 0);
         
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             PurchaseOrder po = db.getPurchaseOrderById(orderId);
             
             if (po == null) {
@@ -601,7 +592,7 @@ public class ManagePurchaseOrdersPage extends JFrame {
                     
                     
                     SystemLog log = new SystemLog(
-                        "LOG" + System.currentTimeMillis(),
+                        db.nextLogId(),
                         currentUser.getUserId(),
                         currentUser.getUsername(),
                         SystemLog.ACTION_UPDATE,
@@ -612,7 +603,6 @@ public class ManagePurchaseOrdersPage extends JFrame {
                     db.addSystemLog(log);
                     
                     editDialog.dispose();
-                    loadPendingOrders();
                     JOptionPane.showMessageDialog(this, "Purchase order updated successfully!");
                     
                 } catch (NumberFormatException ex) {
@@ -665,11 +655,11 @@ public class ManagePurchaseOrdersPage extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                DatabaseHelper db = new DatabaseHelper();
+                DatabaseHelper db = DatabaseContext.db();
                 db.deletePurchaseOrder(orderId);
                 
                 SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     SystemLog.ACTION_DELETE,
@@ -679,7 +669,6 @@ public class ManagePurchaseOrdersPage extends JFrame {
                 );
                 db.addSystemLog(log);
                 
-                loadPendingOrders();
                 JOptionPane.showMessageDialog(this, "Purchase order deleted successfully!");
                 
             } catch (IOException ex) {
@@ -1,5 +1,6 @@
 package purchase;
 
+import admin.Navigator;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
@@ -72,6 +73,7 @@ public class PurchaseDashboardPage extends UIBase {
             JOptionPane.QUESTION_MESSAGE
     );
     if (response == JOptionPane.YES_OPTION) {
+        Navigator.endSession();
         dispose();
         SwingUtilities.invokeLater(() -> {
             try {
@@ -117,8 +119,7 @@ public class PurchaseDashboardPage extends UIBase {
         userLabel.addMouseListener(new MouseAdapter() {
     @Override
     public void mouseClicked(MouseEvent e) {
-        dispose();
-        new admin.MyProfilePage(currentUser).setVisible(true);
+        Navigator.open(PurchaseDashboardPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
     }
 });
 
@@ -144,34 +145,28 @@ public class PurchaseDashboardPage extends UIBase {
     contentPanel.setBackground(Color.WHITE);
 
     contentPanel.add(createCard("View Items\n&\nSuppliers", () -> {
-        dispose();
-        new purchase.ViewSupplierandItemsPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.ViewSupplierandItemsPage.class, purchase.ViewSupplierandItemsPage::new);
     }));
 
     contentPanel.add(createCard("View\nPurchase\nRequisitions", () -> {
-        dispose();
-        new purchase.ViewPurchaseRequisitionsPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.ViewPurchaseRequisitionsPage.class, purchase.ViewPurchaseRequisitionsPage::new);
     })); 
     
     
     contentPanel.add(createCard("Manage\nPurchase\nOrders", () -> {
-        dispose();
-        new purchase.ManagePurchaseOrdersPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.ManagePurchaseOrdersPage.class, purchase.ManagePurchaseOrdersPage::new);
     }));
 
     contentPanel.add(createCard("View\nPurchase\nOrderList", () -> {
-        dispose();
-        new purchase.ViewPurchaseOrderListPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.ViewPurchaseOrderListPage.class, purchase.ViewPurchaseOrderListPage::new);
     }));
 
     contentPanel.add(createCard("Track\nPurchase\nOrders", () -> {
-        dispose();
-        new purchase.TrackPurchaseOrderPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.TrackPurchaseOrderPage.class, purchase.TrackPurchaseOrderPage::new);
     }));
 
     contentPanel.add(createCard("View\nSystem\nLogs", () -> {
-        dispose();
-        new purchase.ViewSystemLogsPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, purchase.ViewSystemLogsPage.class, purchase.ViewSystemLogsPage::new);
     }));
 
     return contentPanel;
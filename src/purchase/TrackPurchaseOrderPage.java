@@ -1,22 +1,22 @@
 package purchase;
 
+import admin.Navigator;
 import admin.UIBase;
-import database.DatabaseHelper;
+import database.DatabaseContext;
 import models.PurchaseOrder;
 import models.User;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.border.LineBorder;
 
-public class TrackPurchaseOrderPage extends UIBase {
+public class TrackPurchaseOrderPage extends UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable ordersTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> ordersList;
+    private List<PurchaseOrder> ordersList = new ArrayList<>();
 
     public TrackPurchaseOrderPage(User user) {
         super("Track Purchase Orders");
@@ -142,8 +142,7 @@ public class TrackPurchaseOrderPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(TrackPurchaseOrderPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -206,14 +205,14 @@ public class TrackPurchaseOrderPage extends UIBase {
         return contentPanel;
     }
 
-    public void loadOrders() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            ordersList = dbHelper.getAllPurchaseOrders();
+    @Override
+    public void refresh() {
+        loadOrders();
+    }
 
-            if (ordersList == null) {
-                ordersList = new ArrayList<>();
-            }
+    public void loadOrders() {
+        loader().load("orders", () -> DatabaseContext.db().getAllPurchaseOrders(), rows -> {
+            ordersList = rows != null ? rows : new ArrayList<>();
 
             tableModel.setRowCount(0);
             for (PurchaseOrder order : ordersList) {
@@ -224,13 +223,7 @@ public class TrackPurchaseOrderPage extends UIBase {
                     order.getStatus()
                 });
             }
-
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this,
-                "Error loading orders: " + ex.getMessage(),
-                "Database Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void styleTable(JTable table) {
@@ -268,8 +261,7 @@ public class TrackPurchaseOrderPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        this.dispose();
-        new PurchaseDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
     }
 
     
@@ -1,7 +1,9 @@
 
 package purchase;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseOrder;
 import models.User;
@@ -27,7 +29,7 @@ public class ViewPurchaseOrderListPage extends UIBase {
     private final User currentUser;
     private JTable ordersTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseOrder> ordersList;
+    private List<PurchaseOrder> ordersList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
 
@@ -45,30 +47,10 @@ public class ViewPurchaseOrderListPage extends UIBase {
     }
 
     public void loadOrders() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            ordersList = dbHelper.getAllPurchaseOrders();
-
-            if (ordersList == null) {
-                ordersList = new ArrayList<>();
-            }
-            filterOrders(null); 
-
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading orders: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            ordersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("orders", () -> DatabaseContext.db().getAllPurchaseOrders(), rows -> {
+            ordersList = rows != null ? rows : new ArrayList<>();
+            filterOrders(null);
+        });
     }
 
     private void filterOrders(String status) {
@@ -214,8 +196,7 @@ public class ViewPurchaseOrderListPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ViewPurchaseOrderListPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -365,17 +346,13 @@ public class ViewPurchaseOrderListPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            PurchaseDashboardPage dashboard = new PurchaseDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
     }
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
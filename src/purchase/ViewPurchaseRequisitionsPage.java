@@ -1,7 +1,10 @@
 package purchase;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
+import database.Transaction;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -39,7 +42,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
     private final User currentUser;
     private JTable requisitionsTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseRequisition> requisitionsList;
+    private List<PurchaseRequisition> requisitionsList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
     public ViewPurchaseRequisitionsPage(User user) {
@@ -75,13 +78,13 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
     }
 
     public void loadRequisitions() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            requisitionsList = dbHelper.getAllPurchaseRequisitions();
-
-            if (requisitionsList == null) {
-                requisitionsList = new ArrayList<>();
-            }
+        loader().load("requisitions", () -> {
+            DatabaseHelper db = DatabaseContext.db();
+            // Warms the item cache, so the per-row item lookups when filling the table stay in memory.
+            db.getAllItems();
+            return db.getAllPurchaseRequisitions();
+        }, rows -> {
+            requisitionsList = rows != null ? rows : new ArrayList<>();
 
             System.out.println("Loaded " + requisitionsList.size() + " requisitions");
 
@@ -92,22 +95,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
             }
 
             filterRequisitions(null);
-
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading requisitions: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            requisitionsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void filterRequisitions(String status) {
@@ -130,7 +118,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                     String itemName = requisition.getItemName();
                     if (itemName == null || itemName.isEmpty()) {
                         try {
-                            DatabaseHelper db = new DatabaseHelper();
+                            DatabaseHelper db = DatabaseContext.db();
                             models.Item item = db.getItemByCode(requisition.getItemCode());
                             if (item != null) {
                                 itemName = item.getItemName();
@@ -145,7 +133,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                     
                     String salesManagerName = requisition.getSalesManagerId();
                     try {
-                        DatabaseHelper db = new DatabaseHelper();
+                        DatabaseHelper db = DatabaseContext.db();
                         models.User salesManager = db.getUserById(requisition.getSalesManagerId());
                         if (salesManager != null) {
                             salesManagerName = salesManager.getUsername();
@@ -157,7 +145,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                     
                     String supplierInfo = "N/A";
                     try {
-                        DatabaseHelper db = new DatabaseHelper();
+                        DatabaseHelper db = DatabaseContext.db();
                         models.Item item = db.getItemByCode(requisition.getItemCode());
                         if (item != null && item.getSupplierId() != null) {
                             models.Supplier supplier = db.getSupplierById(item.getSupplierId());
@@ -330,8 +318,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ViewPurchaseRequisitionsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -517,7 +504,8 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                     JOptionPane.QUESTION_MESSAGE);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                updateRequisitionStatus(requisitionId, PurchaseRequisition.STATUS_APPROVED);
+                updateRequisitionStatus(requisitionId, PurchaseRequisition.STATUS_APPROVED,
+                        "Approved purchase requisition: " + requisitionId);
                 
                 
                 requisitionsTable.setValueAt("Approved", selectedRow, 7);
@@ -527,7 +515,6 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                         "Requisition approved successfully!",
                         "Approval Complete",
                         JOptionPane.INFORMATION_MESSAGE);
-                logSystemAction(SystemLog.ACTION_UPDATE, "Approved purchase requisition: " + requisitionId);
                 
                 
                 loadRequisitions();
@@ -575,7 +562,8 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                     JOptionPane.QUESTION_MESSAGE);
 
             if (reason != null && !reason.trim().isEmpty()) {
-                updateRequisitionStatus(requisitionId, PurchaseRequisition.STATUS_REJECTED);
+                updateRequisitionStatus(requisitionId, PurchaseRequisition.STATUS_REJECTED,
+                        "Rejected purchase requisition: " + requisitionId + " - Reason: " + reason);
                 
                 
                 requisitionsTable.setValueAt("Rejected", selectedRow, 7);
@@ -585,7 +573,6 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                         "Requisition rejected successfully!\n\nReason: " + reason,
                         "Rejection Complete",
                         JOptionPane.INFORMATION_MESSAGE);
-                logSystemAction(SystemLog.ACTION_UPDATE, "Rejected purchase requisition: " + requisitionId + " - Reason: " + reason);
                 
                 
                 loadRequisitions();
@@ -626,7 +613,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
             String status = (String) requisitionsTable.getValueAt(selectedRow, 7); 
 
             
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             PurchaseRequisition pr = dbHelper.getPurchaseRequisitionById(requisitionId);
             
             String details = String.format(
@@ -656,13 +643,19 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
         }
     }
 
-    private void updateRequisitionStatus(String requisitionId, String newStatus) throws IOException {
-        DatabaseHelper dbHelper = new DatabaseHelper();
+    private void updateRequisitionStatus(String requisitionId, String newStatus, String logDetails) throws IOException {
+        DatabaseHelper dbHelper = DatabaseContext.db();
         PurchaseRequisition requisition = dbHelper.getPurchaseRequisitionById(requisitionId);
         
         if (requisition != null) {
             requisition.setStatus(newStatus);
-            dbHelper.updatePurchaseRequisition(requisition);
+            try (Transaction tx = dbHelper.beginTransaction()) {
+                tx.updatePurchaseRequisition(requisition);
+                if (currentUser != null) {
+                    tx.addSystemLog(createLog(SystemLog.ACTION_UPDATE, logDetails));
+                }
+                tx.commit();
+            }
         } else {
             throw new IOException("Requisition not found: " + requisitionId);
         }
@@ -679,30 +672,18 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            PurchaseDashboardPage dashboard = new PurchaseDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
     }
 
-    private void logSystemAction(String action, String details) {
-        try {
-            if (currentUser == null) return;
-
-            DatabaseHelper db = new DatabaseHelper();
-            SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
-                    currentUser.getUserId(),
-                    currentUser.getUsername(),
-                    action,
-                    details,
-                    LocalDateTime.now(),
-                    currentUser.getRole()
-            );
-            db.addSystemLog(log);
-        } catch (IOException e) {
-            System.out.println("Failed to log system action: " + e.getMessage());
-        }
+    private SystemLog createLog(String action, String details) throws IOException {
+        return new SystemLog(
+                DatabaseContext.db().nextLogId(),
+                currentUser.getUserId(),
+                currentUser.getUsername(),
+                action,
+                details,
+                LocalDateTime.now(),
+                currentUser.getRole()
+        );
     }
 }
\ No newline at end of file
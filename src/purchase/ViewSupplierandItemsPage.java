@@ -1,5 +1,7 @@
 package purchase;
 
+import admin.Navigator;
+import admin.PageLoader;
 import admin.UIBase;
 import models.User;
 import javax.swing.*;
@@ -10,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.swing.border.LineBorder;
 
-public class ViewSupplierandItemsPage extends UIBase {
+public class ViewSupplierandItemsPage extends UIBase implements Navigator.Refreshable {
     private final User currentUser;
     private JTable suppliersTable;
     private JTable itemsTable;
@@ -18,6 +20,7 @@ public class ViewSupplierandItemsPage extends UIBase {
     private DefaultTableModel itemsTableModel;
     private final String suppliersFile = "database/supplier.txt";
     private final String itemsFile = "database/item.txt";
+    private PageLoader itemsLoader;
     
 
     public ViewSupplierandItemsPage(User user) {
@@ -144,8 +147,7 @@ public class ViewSupplierandItemsPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ViewSupplierandItemsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -223,12 +225,12 @@ public class ViewSupplierandItemsPage extends UIBase {
         
         JButton refreshBtn = new JButton("Refresh " + title);
         refreshBtn.addActionListener(e -> {
+            Runnable refreshed = () -> JOptionPane.showMessageDialog(this, title + " data refreshed");
             if (title.equals("Suppliers")) {
-                loadSuppliersFromFile();
+                loadSuppliersFromFile(refreshed);
             } else {
-                loadItemsFromFile();
+                loadItemsFromFile(refreshed);
             }
-            JOptionPane.showMessageDialog(this, title + " data refreshed");
         });
         styleButton(refreshBtn);
         buttonPanel.add(refreshBtn);
@@ -271,69 +273,78 @@ public class ViewSupplierandItemsPage extends UIBase {
         return menuItem;
     }
 
+    @Override
+    public void refresh() {
+        loadData();
+    }
+
     private void loadData() {
-        loadSuppliersFromFile();
-        loadItemsFromFile();
+        loadSuppliersFromFile(null);
+        loadItemsFromFile(null);
     }
 
-    private void loadSuppliersFromFile() {
-        try (BufferedReader br = new BufferedReader(new FileReader(suppliersFile))) {
-            suppliersTableModel.setRowCount(0);
-            
-            
-            br.readLine();
-            
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(",");
-                if (data.length >= 9) { 
-                    suppliersTableModel.addRow(new Object[]{
-                        data[0], 
-                        data[1], 
-                        data[2], 
-                        data[3], 
-                        data[4], 
-                        data[10]  
-                    });
+    private void loadSuppliersFromFile(Runnable then) {
+        loader().load("suppliers", () -> {
+            List<Object[]> rows = new ArrayList<>();
+            try (BufferedReader br = new BufferedReader(new FileReader(suppliersFile))) {
+                br.readLine();
+
+                String line;
+                while ((line = br.readLine()) != null) {
+                    String[] data = line.split(",");
+                    if (data.length >= 11) {
+                        rows.add(new Object[]{
+                            data[0], 
+                            data[1], 
+                            data[2], 
+                            data[3], 
+                            data[4], 
+                            data[10]  
+                        });
+                    }
                 }
             }
-        } catch (IOException e) {
-            showError("Error loading suppliers: " + e.getMessage());
-        }
+            return rows;
+        }, rows -> showRows(suppliersTableModel, rows, then));
     }
 
-    private void loadItemsFromFile() {
-        try (BufferedReader br = new BufferedReader(new FileReader(itemsFile))) {
-            itemsTableModel.setRowCount(0);
-            
-            
-            br.readLine();
-            
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] data = line.split(",");
-                if (data.length >= 3) { 
-                    itemsTableModel.addRow(new Object[]{
-                        data[0], 
-                        data[1], 
-                        data[2]  
-                    });
+    private void loadItemsFromFile(Runnable then) {
+        // Separate loader, so loading items does not cancel the suppliers load.
+        if (itemsLoader == null) {
+            itemsLoader = new PageLoader(this);
+        }
+        itemsLoader.load("items", () -> {
+            List<Object[]> rows = new ArrayList<>();
+            try (BufferedReader br = new BufferedReader(new FileReader(itemsFile))) {
+                br.readLine();
+
+                String line;
+                while ((line = br.readLine()) != null) {
+                    String[] data = line.split(",");
+                    if (data.length >= 3) {
+                        rows.add(new Object[]{
+                            data[0], 
+                            data[1], 
+                            data[2]  
+                        });
+                    }
                 }
             }
-        } catch (IOException e) {
-            showError("Error loading items: " + e.getMessage());
-        }
+            return rows;
+        }, rows -> showRows(itemsTableModel, rows, then));
     }
 
-    private void showError(String message) {
-        JOptionPane.showMessageDialog(this, 
-            message, 
-            "Error", 
-            JOptionPane.ERROR_MESSAGE);
+    private static void showRows(DefaultTableModel model, List<Object[]> rows, Runnable then) {
+        model.setRowCount(0);
+        for (Object[] row : rows) {
+            model.addRow(row);
+        }
+        if (then != null) {
+            then.run();
+        }
     }
 
     private void goBackToDashboard() {
-        this.dispose();
-        new PurchaseDashboardPage(currentUser).setVisible(true);
+        Navigator.open(this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
     }
 }
\ No newline at end of file
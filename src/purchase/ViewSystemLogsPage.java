@@ -1,6 +1,9 @@
 package purchase;
 
+import admin.Navigator;
+import admin.TableSearch;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.SystemLog;
 import models.User;
@@ -14,6 +17,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 import javax.swing.border.LineBorder;
 
 public class ViewSystemLogsPage extends UIBase {
@@ -21,12 +25,14 @@ public class ViewSystemLogsPage extends UIBase {
     private JTable logsTable;
     private JTextField searchField;
     private JComboBox<String> actionFilter;
-    private List<SystemLog> logsList;
+    private TableSearch search;
+    private List<SystemLog> logsList = new ArrayList<>();
     private DefaultTableModel tableModel;
     private static final DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String[] TABLE_COLUMNS = {
             "Log ID", "Action", "Details", "Timestamp"
     };
+    private static final int RECENT_LOG_LIMIT = 500;
 
     public ViewSystemLogsPage(User user) {
         super("Sales System Logs");
@@ -43,24 +49,7 @@ public class ViewSystemLogsPage extends UIBase {
     }
 
     private void loadLogs() {
-        try {
-            DatabaseHelper db = new DatabaseHelper();
-            List<SystemLog> allLogs = db.getAllSystemLogs();
-            tableModel.setRowCount(0);
-
-            for (SystemLog log : allLogs) {
-                if (log.getUserId().equals(currentUser.getUserId())) {
-                    tableModel.addRow(new Object[]{
-                            log.getLogId(),
-                            log.getAction(),
-                            log.getDetails(),
-                            log.getTimestamp().format(displayFormatter)
-                    });
-                }
-            }
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load logs: " + e.getMessage());
-        }
+        loader().load("logs", () -> DatabaseContext.db().getLatestSystemLogsByUser(currentUser.getUserId(), RECENT_LOG_LIMIT), this::updateTable);
     }
 
 
@@ -192,8 +181,7 @@ public class ViewSystemLogsPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ViewSystemLogsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -244,7 +232,6 @@ public class ViewSystemLogsPage extends UIBase {
 
         JLabel searchLabel = new JLabel("Search:");
         searchField = new JTextField(20);
-        searchField.addActionListener(e -> filterLogs());
 
 
         JLabel actionLabel = new JLabel("Action:");
@@ -252,7 +239,7 @@ public class ViewSystemLogsPage extends UIBase {
         String[] actionOptions = {"All", SystemLog.ACTION_LOGIN, SystemLog.ACTION_LOGOUT,
                 SystemLog.ACTION_CREATE, SystemLog.ACTION_UPDATE, SystemLog.ACTION_DELETE, SystemLog.ACTION_VIEW};
         actionFilter = new JComboBox<>(actionOptions);
-        actionFilter.addActionListener(e -> filterLogs());
+        actionFilter.addActionListener(e -> filterByAction());
 
 
         JButton refreshButton = new JButton("Refresh");
@@ -342,34 +329,14 @@ public class ViewSystemLogsPage extends UIBase {
         JScrollPane scrollPane = new JScrollPane(logsTable);
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(220, 220, 220)));
         tablePanel.add(scrollPane, BorderLayout.CENTER);
+        search = new TableSearch(logsTable, searchField);
         return tablePanel;
     }
 
-    private void filterLogs() {
-        String searchText = searchField.getText().toLowerCase();
+    private void filterByAction() {
         String selectedAction = (String) actionFilter.getSelectedItem();
-
-
-        try {
-            
-            List<SystemLog> dbLogs = new DatabaseHelper().getAllSystemLogs(); 
-            List<SystemLog> filteredList = dbLogs.stream()
-                    .filter(log ->
-                            log.getUserId().equals(currentUser.getUserId()) && 
-                                    (searchText.isEmpty() ||
-                                            log.getLogId().toLowerCase().contains(searchText) ||
-                                            log.getDetails().toLowerCase().contains(searchText)) &&
-                                    ("All".equals(selectedAction) || log.getAction().equals(selectedAction)))
-                    .toList();
-
-            updateTable(filteredList);
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error filtering logs: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        search.setFilter("All".equals(selectedAction) ? null
+                : RowFilter.regexFilter("^" + Pattern.quote(selectedAction) + "$", 1));
     }
 
     private void updateTable(List<SystemLog> logs) {
@@ -401,17 +368,13 @@ public class ViewSystemLogsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            PurchaseDashboardPage dashboard = new PurchaseDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, PurchaseDashboardPage.class, PurchaseDashboardPage::new);
     }
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
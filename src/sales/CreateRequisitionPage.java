@@ -1,7 +1,9 @@
 
 package sales;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.io.IOException;
@@ -141,8 +143,7 @@ public class CreateRequisitionPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(CreateRequisitionPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -311,18 +312,14 @@ public class CreateRequisitionPage extends UIBase {
             return;
         }
 
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            Item item = dbHelper.getItemByCode(itemCode);
+        supplierCodeField.setText("");
+        loader().load("supplier", () -> DatabaseContext.db().getItemByCode(itemCode), item -> {
             if (item != null && item.getSupplierId() != null) {
                 supplierCodeField.setText(item.getSupplierId());
             } else {
                 supplierCodeField.setText("Supplier not found for this item");
             }
-        } catch (IOException ex) {
-            supplierCodeField.setText("Error fetching supplier");
-            ex.printStackTrace();
-        }
+        });
     }
 
     private void handleSaveRequisition() {
@@ -344,7 +341,7 @@ public class CreateRequisitionPage extends UIBase {
             LocalDate requiredDate = LocalDate.parse(deliveryDateStr);
 
             
-            String requisitionId = "REQ" + System.currentTimeMillis();
+            String requisitionId = DatabaseContext.db().nextRequisitionId();
 
             PurchaseRequisition newRequisition = new PurchaseRequisition(
                     requisitionId,
@@ -356,7 +353,7 @@ public class CreateRequisitionPage extends UIBase {
             );
 
             
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             try {
                 Item item = dbHelper.getItemByCode(itemCode);
                 if (item != null) {
@@ -395,17 +392,13 @@ public class CreateRequisitionPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesDashboardPage dashboard = new SalesDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesDashboardPage.class, SalesDashboardPage::new);
     }
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
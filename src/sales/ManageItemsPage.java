@@ -1,6 +1,8 @@
 
 package sales;
 
+import admin.Navigator;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.io.IOException;
@@ -19,7 +21,7 @@ public class ManageItemsPage extends UIBase {
     private final User currentUser;
     private JTable itemsTable;
     private DefaultTableModel tableModel;
-    private List<Item> itemsList;
+    private List<Item> itemsList = new ArrayList<>();
 
     public ManageItemsPage(User user) {
         super("Manage Items");
@@ -35,30 +37,10 @@ public class ManageItemsPage extends UIBase {
     }
 
     public void loadItems() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            itemsList = dbHelper.getAllItems();
-
-            if (itemsList == null) {
-                itemsList = new ArrayList<>();
-            }
+        loader().load("items", () -> DatabaseContext.db().getAllItems(), rows -> {
+            itemsList = rows != null ? rows : new ArrayList<>();
             updateTable(itemsList);
-
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            itemsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading items: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            itemsList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Unexpected error: " + ex.getMessage(),
-                    "System Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
    private void updateTable(List<Item> items) {
@@ -237,8 +219,7 @@ public class ManageItemsPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ManageItemsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -349,11 +330,7 @@ public class ManageItemsPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesDashboardPage dashboard = new SalesDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesDashboardPage.class, SalesDashboardPage::new);
     }
 
     private void handleAddItem() {
@@ -393,7 +370,7 @@ public class ManageItemsPage extends UIBase {
                     return;
                 }
 
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 List<Item> allItems = dbHelper.getAllItems();
                 boolean duplicateExists = allItems.stream().anyMatch(item ->
                         item.getItemName().equalsIgnoreCase(itemName) &&
@@ -407,7 +384,7 @@ public class ManageItemsPage extends UIBase {
                     return;
                 }
 
-                String newItemCode = "ITEM" + String.format("%03d", allItems.size() + 1);
+                String newItemCode = dbHelper.nextItemCode();
                 Item newItem = new Item(newItemCode, itemName, supplierId, stockQuantity, pricePerUnit);
                 dbHelper.addItem(newItem);
 
@@ -472,7 +449,7 @@ public class ManageItemsPage extends UIBase {
                     return;
                 }
 
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 Item updatedItem = new Item(itemCode, newItemName, newSupplierId, newStockQuantity, newPricePerUnit);
                 dbHelper.updateItem(updatedItem);
                 JOptionPane.showMessageDialog(this, "Item updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -504,7 +481,7 @@ public class ManageItemsPage extends UIBase {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 dbHelper.deleteItem(itemCode);
 
                 tableModel.removeRow(selectedRow);
@@ -525,7 +502,7 @@ public class ManageItemsPage extends UIBase {
 
     private void handleSaveChanges() {
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             boolean hasChanges = false;
             
             
@@ -605,9 +582,9 @@ public class ManageItemsPage extends UIBase {
     
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
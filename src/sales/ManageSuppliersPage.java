@@ -1,6 +1,8 @@
 package sales;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.io.IOException;
@@ -22,7 +24,7 @@ public class ManageSuppliersPage extends UIBase {
     private final User currentUser;
     private JTable suppliersTable;
     private DefaultTableModel tableModel;
-    private List<Supplier> suppliersList;
+    private List<Supplier> suppliersList = new ArrayList<>();
 
     public ManageSuppliersPage(User user) {
         super("Manage Suppliers");
@@ -38,23 +40,10 @@ public class ManageSuppliersPage extends UIBase {
     }
 
     public void loadSuppliers() {
-        try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            suppliersList = dbHelper.getAllSuppliers();
-
-            if (suppliersList == null) {
-                suppliersList = new ArrayList<>();
-            } else {
-                filterSuppliers(null);
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            suppliersList = new ArrayList<>();
-            JOptionPane.showMessageDialog(this,
-                    "Error loading suppliers: " + ex.getMessage(),
-                    "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        loader().load("suppliers", () -> DatabaseContext.db().getAllSuppliers(), rows -> {
+            suppliersList = rows != null ? rows : new ArrayList<>();
+            filterSuppliers(null);
+        });
     }
 
     private void filterSuppliers(String status) {
@@ -196,8 +185,7 @@ public class ManageSuppliersPage extends UIBase {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(ManageSuppliersPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -302,7 +290,7 @@ public class ManageSuppliersPage extends UIBase {
 
             String supplierId = (String) suppliersTable.getValueAt(selectedRow, 0);
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 Supplier supplier = dbHelper.getSupplierById(supplierId);
                 if (supplier != null) {
                     
@@ -340,7 +328,7 @@ public class ManageSuppliersPage extends UIBase {
 
             if (confirm == JOptionPane.YES_OPTION) {
                 try {
-                    DatabaseHelper dbHelper = new DatabaseHelper();
+                    DatabaseHelper dbHelper = DatabaseContext.db();
                     dbHelper.deleteSupplier(supplierId);
                     tableModel.removeRow(selectedRow);
                     JOptionPane.showMessageDialog(this,
@@ -452,7 +440,16 @@ public class ManageSuppliersPage extends UIBase {
             }
         }
 
-        String supplierId = "SUP" + System.currentTimeMillis();
+        String supplierId;
+        try {
+            supplierId = DatabaseContext.db().nextSupplierId();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this,
+                "Error allocating supplier ID: " + e.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
         Supplier newSupplier = new Supplier(
             supplierId,
@@ -467,7 +464,7 @@ public class ManageSuppliersPage extends UIBase {
         );
 
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             List<Supplier> existingSuppliers = dbHelper.getAllSuppliers();
 
             boolean duplicateExists = existingSuppliers.stream().anyMatch(s ->
@@ -587,7 +584,7 @@ public class ManageSuppliersPage extends UIBase {
 
             
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 dbHelper.updateSupplier(supplier);
 
                 
@@ -618,15 +615,14 @@ public class ManageSuppliersPage extends UIBase {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> new SalesDashboardPage(currentUser).setVisible(true));
+        Navigator.open(this, currentUser, SalesDashboardPage.class, SalesDashboardPage::new);
     }
 
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
@@ -1,5 +1,6 @@
 package sales;
 
+import admin.Navigator;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -122,6 +123,7 @@ public class SalesDashboardPage extends UIBase {
             JOptionPane.QUESTION_MESSAGE
     );
     if (response == JOptionPane.YES_OPTION) {
+        Navigator.endSession();
         dispose();
         SwingUtilities.invokeLater(() -> {
             try {
@@ -310,67 +312,35 @@ public class SalesDashboardPage extends UIBase {
     }
 
     private void navigateToManageSuppliers() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            ManageSuppliersPage manageSuppliersPage = new ManageSuppliersPage(currentUser);
-            manageSuppliersPage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, ManageSuppliersPage.class, ManageSuppliersPage::new);
     }
 
     private void navigateToManageItems() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            ManageItemsPage manageItemsPage = new ManageItemsPage(currentUser);
-            manageItemsPage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, ManageItemsPage.class, ManageItemsPage::new);
     }
 
     private void navigateToPurchaseRequisitions() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            ViewPurchaseRequisitionsPage requisitionsPage = new ViewPurchaseRequisitionsPage(currentUser);
-            requisitionsPage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, ViewPurchaseRequisitionsPage.class, ViewPurchaseRequisitionsPage::new);
     }
 
     private void navigateToPurchaseOrders() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            ViewPurchaseOrdersPage ordersPage = new ViewPurchaseOrdersPage(currentUser);
-            ordersPage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, ViewPurchaseOrdersPage.class, ViewPurchaseOrdersPage::new);
     }
 
     private void navigateToSalesDataEntry() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesDataEntryPage page = new SalesDataEntryPage(currentUser);
-            page.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesDataEntryPage.class, SalesDataEntryPage::new);
     }
 
     private void navigateToCreateRequisition() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            CreateRequisitionPage page = new CreateRequisitionPage(currentUser);
-            page.setVisible(true);
-        });
+        Navigator.open(this, currentUser, CreateRequisitionPage.class, CreateRequisitionPage::new);
     }
 
     private void navigateToSystemLogs() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesSystemLogsPage page = new SalesSystemLogsPage(currentUser);
-            page.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesSystemLogsPage.class, SalesSystemLogsPage::new);
     }
 
     private void navigateToMyProfile() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            MyProfilePage profilePage = new MyProfilePage(currentUser);
-            profilePage.setVisible(true);
-        });
+        Navigator.open(this, currentUser, MyProfilePage.class, MyProfilePage::new);
     }
 
 
@@ -1,7 +1,10 @@
 
 package sales;
 
+import admin.Navigator;
+import admin.RowTableModel;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import java.awt.*;
 import java.io.IOException;
@@ -12,7 +15,6 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
-import javax.swing.table.DefaultTableModel;
 import models.SalesEntry;
 import models.SystemLog;
 import models.User;
@@ -21,7 +23,7 @@ public class SalesDataEntryPage extends UIBase {
 
     private final User currentUser;
     private JTable salesTable;
-    private DefaultTableModel tableModel;
+    private RowTableModel<SalesEntry> tableModel;
     private JTextField dateField, itemCodeField, quantityField;
 
     public SalesDataEntryPage(User user) {
@@ -40,70 +42,35 @@ public class SalesDataEntryPage extends UIBase {
     
 
 public void loadSalesEntries() {
-    try {
-        DatabaseHelper dbHelper = new DatabaseHelper();
-        List<SalesEntry> allEntries = dbHelper.getAllSalesEntries();
-        
-        if (allEntries == null) {
-            allEntries = new ArrayList<>();
+    loader().load("sales entries", () -> {
+        List<SalesEntry> allEntries = DatabaseContext.db().getAllSalesEntries();
+        if (currentUser == null) {
+            System.out.println("Warning: Current user is null, showing all entries");
+            return allEntries;
         }
-        
-        
+
         List<SalesEntry> userEntries = new ArrayList<>();
-        if (currentUser != null) {
-            for (SalesEntry entry : allEntries) {
-                if (entry != null && entry.getSalesManagerId() != null && 
-                    entry.getSalesManagerId().equals(currentUser.getUserId())) {
-                    userEntries.add(entry);
-                }
+        for (SalesEntry entry : allEntries) {
+            if (entry != null && entry.getSalesManagerId() != null && 
+                entry.getSalesManagerId().equals(currentUser.getUserId())) {
+                userEntries.add(entry);
             }
-        } else {
-            
-            System.out.println("Warning: Current user is null, showing all entries");
-            userEntries = allEntries;
         }
-        
+        return userEntries;
+    }, userEntries -> {
         updateTable(userEntries);
         System.out.println("Loaded " + userEntries.size() + " sales entries for user: " + 
                           (currentUser != null ? currentUser.getUsername() : "null"));
-
-    } catch (Exception ex) {
-        ex.printStackTrace();
-        JOptionPane.showMessageDialog(this,
-                "Error loading sales entries: " + ex.getMessage(),
-                "Data Error",
-                JOptionPane.ERROR_MESSAGE);
-    }
+    });
 }
 
 
 private void updateTable(List<SalesEntry> entries) {
-    if (tableModel == null) {
-        
-        String[] columnNames = {"Date", "Item ID", "Item Name", "Quantity", "Category", "Price per unit", "Total price"};
-        tableModel = new DefaultTableModel(columnNames, 0);
-    }
-
-    tableModel.setRowCount(0);
-
-    if (entries == null) {
-        return; 
-    }
+    tableModel.setRows(entries);
+}
 
-    for (SalesEntry entry : entries) {
-        if (entry != null) {
-            Object[] rowData = {
-                    entry.getDate(),
-                    entry.getItemId(),
-                    entry.getItemName() != null ? entry.getItemName() : "",
-                    entry.getQuantity(),
-                    entry.getCategory() != null ? entry.getCategory() : "",
-                    String.format("%.2f", entry.getPricePerUnit()),
-                    String.format("%.2f", entry.getTotalPrice())
-            };
-            tableModel.addRow(rowData);
-        }
-    }
+private boolean isOwnEntry(SalesEntry entry) {
+    return currentUser == null || currentUser.getUserId().equals(entry.getSalesManagerId());
 }
 
     @Override
@@ -225,8 +192,7 @@ private void updateTable(List<SalesEntry> entries) {
         userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                dispose();
-                new admin.MyProfilePage(currentUser).setVisible(true);
+                Navigator.open(SalesDataEntryPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
             }
         });
 
@@ -294,22 +260,18 @@ private void updateTable(List<SalesEntry> entries) {
     contentPanel.add(formContainer, BorderLayout.NORTH);
 
     
-    String[] columnNames = {"Date", "Item ID", "Item Name", "Quantity", "Category", "Price per unit", "Total price"};
-    tableModel = new DefaultTableModel(columnNames, 0) {
-        @Override
-        public boolean isCellEditable(int row, int column) {
-            return false; 
-        }
-        @Override
-        public Class<?> getColumnClass(int column) {
-            if (column == 3 || column == 5 || column == 6) {
-                return Object.class;
-            }
-            return String.class;
-        }
-    };
+    tableModel = new RowTableModel<SalesEntry>()
+            .column("Date", LocalDate.class, SalesEntry::getDate, null)
+            .column("Item ID", String.class, SalesEntry::getItemId, null)
+            .column("Item Name", String.class, entry -> entry.getItemName() != null ? entry.getItemName() : "", null)
+            .column("Quantity", Integer.class, SalesEntry::getQuantity, null)
+            .column("Category", String.class, entry -> entry.getCategory() != null ? entry.getCategory() : "", null)
+            .column("Price per unit", Double.class, SalesEntry::getPricePerUnit, RowTableModel.number("%.2f"))
+            .column("Total price", Double.class, SalesEntry::getTotalPrice, RowTableModel.number("%.2f"))
+            .follow(this, SalesEntry.class, SalesEntry::getEntryId, this::isOwnEntry);
 
     salesTable = new JTable(tableModel);
+    tableModel.installRenderers(salesTable);
     salesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     salesTable.getTableHeader().setBackground(new Color(240, 240, 240));
     salesTable.getTableHeader().setFont(new Font("SansSerif", Font.BOLD, 12));
@@ -372,8 +334,9 @@ private void updateTable(List<SalesEntry> entries) {
     }
 
     
-    String itemId = (String) tableModel.getValueAt(selectedRow, 1); 
-    String itemName = (String) tableModel.getValueAt(selectedRow, 2); 
+    SalesEntry selected = tableModel.getRow(salesTable.convertRowIndexToModel(selectedRow));
+    String itemId = selected.getItemId();
+    String itemName = selected.getItemName();
     
     int confirm = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to delete this sales entry?\n\n" +
@@ -384,27 +347,10 @@ private void updateTable(List<SalesEntry> entries) {
 
     if (confirm == JOptionPane.YES_OPTION) {
         try {
-            DatabaseHelper dbHelper = new DatabaseHelper();
-            List<SalesEntry> allEntries = dbHelper.getAllSalesEntries();
-            
-            
-            boolean entryFound = false;
-            for (int i = 0; i < allEntries.size(); i++) {
-                SalesEntry entry = allEntries.get(i);
-                if (entry != null && 
-                    entry.getItemId().equals(itemId) && 
-                    entry.getSalesManagerId().equals(currentUser.getUserId())) {
-                    
-                    
-                    dbHelper.deleteSalesEntry(entry.getEntryId());
-                    entryFound = true;
-                    break;
-                }
-            }
-            
+            DatabaseHelper dbHelper = DatabaseContext.db();
+            boolean entryFound = currentUser.getUserId().equals(selected.getSalesManagerId());
             if (entryFound) {
-                
-                tableModel.removeRow(selectedRow);
+                dbHelper.deleteSalesEntry(selected.getEntryId());
                 JOptionPane.showMessageDialog(this, 
                     "Sales entry deleted successfully!", 
                     "Success", 
@@ -444,7 +390,7 @@ private void handleCreateEntry() {
             throw new NumberFormatException("Quantity must be positive.");
         }
 
-        DatabaseHelper dbHelper = new DatabaseHelper();
+        DatabaseHelper dbHelper = DatabaseContext.db();
         String itemName = "";
         String category = "";
         double pricePerUnit = 0.0;
@@ -486,24 +432,19 @@ private void handleCreateEntry() {
         double totalPrice = quantity * pricePerUnit;
 
         
-        String entryId = "SALE" + System.currentTimeMillis();
+        String entryId;
+        try {
+            entryId = dbHelper.nextSalesEntryId();
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Error allocating sales entry ID: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
         SalesEntry newEntry = new SalesEntry(entryId, date, itemCode, itemName, quantity, category, pricePerUnit, totalPrice, currentUser.getUserId());
 
         
         try {
             dbHelper.addSalesEntry(newEntry);
-            
-            
-            tableModel.addRow(new Object[]{
-                    newEntry.getDate(),
-                    newEntry.getItemId(),
-                    newEntry.getItemName(),
-                    newEntry.getQuantity(),
-                    newEntry.getCategory(),
-                    String.format("%.2f", newEntry.getPricePerUnit()),
-                    String.format("%.2f", newEntry.getTotalPrice())
-            });
 
             JOptionPane.showMessageDialog(this, "Sales entry created and saved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
             logSystemAction(SystemLog.ACTION_CREATE, "Created new sales entry for item: " + itemCode);
@@ -534,12 +475,13 @@ private void handleEditEntry() {
     }
 
     
-    Object dateObj = tableModel.getValueAt(selectedRow, 0);
-    Object itemCodeObj = tableModel.getValueAt(selectedRow, 1);
-    Object itemNameObj = tableModel.getValueAt(selectedRow, 2);
-    Object quantityObj = tableModel.getValueAt(selectedRow, 3);
-    Object categoryObj = tableModel.getValueAt(selectedRow, 4);
-    Object pricePerUnitObj = tableModel.getValueAt(selectedRow, 5);
+    SalesEntry selected = tableModel.getRow(salesTable.convertRowIndexToModel(selectedRow));
+    Object dateObj = selected.getDate();
+    Object itemCodeObj = selected.getItemId();
+    Object itemNameObj = selected.getItemName();
+    Object quantityObj = selected.getQuantity();
+    Object categoryObj = selected.getCategory();
+    Object pricePerUnitObj = String.format("%.2f", selected.getPricePerUnit());
 
     
     JTextField editDateField = new JTextField(dateObj != null ? dateObj.toString() : "");
@@ -586,7 +528,7 @@ private void handleEditEntry() {
             }
 
             
-            DatabaseHelper dbHelper = new DatabaseHelper();
+            DatabaseHelper dbHelper = DatabaseContext.db();
             String newItemName = "";
             String newCategory = "";
             double newPricePerUnit = 0.0;
@@ -629,43 +571,12 @@ private void handleEditEntry() {
 
             
             try {
-                List<SalesEntry> allEntries = dbHelper.getAllSalesEntries();
-                String originalItemCode = (String) itemCodeObj;
-                
-                
-                SalesEntry entryToUpdate = null;
-                for (SalesEntry entry : allEntries) {
-                    if (entry != null && 
-                        entry.getItemId().equals(originalItemCode) && 
-                        entry.getSalesManagerId().equals(currentUser.getUserId()) &&
-                        entry.getDate().toString().equals(dateObj.toString())) {
-                        entryToUpdate = entry;
-                        break;
-                    }
-                }
-
-                if (entryToUpdate != null) {
-                    
-                    entryToUpdate.setDate(newDate);
-                    entryToUpdate.setItemId(newItemCode);
-                    entryToUpdate.setItemName(newItemName);
-                    entryToUpdate.setQuantity(newQuantity);
-                    entryToUpdate.setCategory(newCategory);
-                    entryToUpdate.setPricePerUnit(newPricePerUnit);
-                    entryToUpdate.setTotalPrice(newTotalPrice);
-                    
-                    
+                // The table row is the shared cached instance, so the update goes through a new object.
+                if (currentUser.getUserId().equals(selected.getSalesManagerId())) {
+                    SalesEntry entryToUpdate = new SalesEntry(selected.getEntryId(), newDate, newItemCode, newItemName,
+                            newQuantity, newCategory, newPricePerUnit, newTotalPrice, selected.getSalesManagerId());
                     dbHelper.updateSalesEntry(entryToUpdate);
 
-                    
-                    tableModel.setValueAt(newDate, selectedRow, 0);
-                    tableModel.setValueAt(newItemCode, selectedRow, 1);
-                    tableModel.setValueAt(newItemName, selectedRow, 2);
-                    tableModel.setValueAt(newQuantity, selectedRow, 3);
-                    tableModel.setValueAt(newCategory, selectedRow, 4);
-                    tableModel.setValueAt(String.format("%.2f", newPricePerUnit), selectedRow, 5);
-                    tableModel.setValueAt(String.format("%.2f", newTotalPrice), selectedRow, 6);
-
                     JOptionPane.showMessageDialog(this, "Sales entry updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                     logSystemAction(SystemLog.ACTION_UPDATE, "Edited sales entry for item: " + newItemCode);
                 } else {
@@ -719,17 +630,13 @@ private void handleEditEntry() {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesDashboardPage dashboard = new SalesDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesDashboardPage.class, SalesDashboardPage::new);
     }
     private void logSystemAction(String action, String details) {
         try {
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
@@ -1,5 +1,6 @@
 package sales;
 
+import admin.PageLoader;
 import admin.WindowManager;
 import java.awt.*;
 import javax.swing.*;
@@ -38,6 +39,7 @@ public abstract class UIBase extends JFrame {
 
     protected WindowManager windowManager;
     protected String frameTitle;
+    private PageLoader pageLoader;
 
     public UIBase(String title) {
         super(title);
@@ -52,4 +54,16 @@ public abstract class UIBase extends JFrame {
         this.windowManager.initWindow(this, this.frameTitle);
     }
 
-    protected abstract void initUI();}
\ No newline at end of file
+    protected abstract void initUI();
+
+    /**
+     * Background loader for this page's data. Created on first use, because the constructor
+     * already shows the window and may start loading before subclass fields are set.
+     */
+    protected PageLoader loader() {
+        if (pageLoader == null) {
+            pageLoader = new PageLoader(this);
+        }
+        return pageLoader;
+    }
+}
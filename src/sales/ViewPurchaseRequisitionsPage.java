@@ -1,6 +1,8 @@
 package sales;
 
+import admin.Navigator;
 import admin.UIBase;
+import database.DatabaseContext;
 import database.DatabaseHelper;
 import models.PurchaseRequisition;
 import models.User;
@@ -26,7 +28,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
     private final User currentUser;
     private JTable requisitionsTable;
     private DefaultTableModel tableModel;
-    private List<PurchaseRequisition> requisitionsList;
+    private List<PurchaseRequisition> requisitionsList = new ArrayList<>();
     private final DateTimeFormatter displayDateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
     public ViewPurchaseRequisitionsPage(User user) {
@@ -63,13 +65,13 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
 
 
     public void loadRequisitions() {
-    try {
-        DatabaseHelper dbHelper = new DatabaseHelper();
-        requisitionsList = dbHelper.getAllPurchaseRequisitions();
-
-        if (requisitionsList == null) {
-            requisitionsList = new ArrayList<>();
-        }
+    loader().load("requisitions", () -> {
+        DatabaseHelper db = DatabaseContext.db();
+        // Warms the item cache, so the per-row item lookups when filling the table stay in memory.
+        db.getAllItems();
+        return db.getAllPurchaseRequisitions();
+    }, rows -> {
+        requisitionsList = rows != null ? rows : new ArrayList<>();
 
         System.out.println("Loaded " + requisitionsList.size() + " requisitions");
 
@@ -80,28 +82,9 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
         }
 
         filterRequisitions(null);
-        
-        
-        SwingUtilities.invokeLater(() -> {
-            repaint();
-            revalidate();
-        });
-
-    } catch (IOException ex) {
-        ex.printStackTrace();
-        requisitionsList = new ArrayList<>();
-        JOptionPane.showMessageDialog(this,
-                "Error loading requisitions: " + ex.getMessage(),
-                "Database Error",
-                JOptionPane.ERROR_MESSAGE);
-    } catch (Exception ex) {
-        ex.printStackTrace();
-        requisitionsList = new ArrayList<>();
-        JOptionPane.showMessageDialog(this,
-                "Unexpected error: " + ex.getMessage(),
-                "System Error",
-                JOptionPane.ERROR_MESSAGE);
-    }
+        repaint();
+        revalidate();
+    });
 }
 
     
@@ -139,7 +122,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                 String itemName = requisition.getItemName();
                 if (itemName == null || itemName.isEmpty()) {
                     try {
-                        DatabaseHelper db = new DatabaseHelper();
+                        DatabaseHelper db = DatabaseContext.db();
                         models.Item item = db.getItemByCode(requisition.getItemCode());
                         if (item != null) {
                             itemName = item.getItemName();
@@ -154,7 +137,7 @@ public class ViewPurchaseRequisitionsPage extends UIBase {
                 
                 String supplierCode = "";
                 try {
-                    DatabaseHelper db = new DatabaseHelper();
+                    DatabaseHelper db = DatabaseContext.db();
                     models.Item item = db.getItemByCode(requisition.getItemCode());
                     if (item != null) {
                         supplierCode = item.getSupplierId();
@@ -359,8 +342,7 @@ private JPanel createTopBar() {
     userLabel.addMouseListener(new java.awt.event.MouseAdapter() {
         @Override
         public void mouseClicked(java.awt.event.MouseEvent e) {
-            dispose();
-            new admin.MyProfilePage(currentUser).setVisible(true);
+            Navigator.open(ViewPurchaseRequisitionsPage.this, currentUser, admin.MyProfilePage.class, admin.MyProfilePage::new);
         }
     });
 
@@ -519,20 +501,16 @@ private JPanel createTopBar() {
     }
 
     private void goBackToDashboard() {
-        dispose();
-        SwingUtilities.invokeLater(() -> {
-            SalesDashboardPage dashboard = new SalesDashboardPage(currentUser);
-            dashboard.setVisible(true);
-        });
+        Navigator.open(this, currentUser, SalesDashboardPage.class, SalesDashboardPage::new);
     }
 
     private void logSystemAction(String action, String details) {
         try {
             if (currentUser == null) return;
 
-            DatabaseHelper db = new DatabaseHelper();
+            DatabaseHelper db = DatabaseContext.db();
             SystemLog log = new SystemLog(
-                    "LOG" + System.currentTimeMillis(),
+                    db.nextLogId(),
                     currentUser.getUserId(),
                     currentUser.getUsername(),
                     action,
@@ -620,7 +598,7 @@ private JPanel createTopBar() {
                 }
 
                 
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 PurchaseRequisition requisition = dbHelper.getPurchaseRequisitionById(requisitionId);
                 
                 if (requisition != null) {
@@ -739,7 +717,7 @@ private void handleDeleteRequisition() {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
+                DatabaseHelper dbHelper = DatabaseContext.db();
                 dbHelper.deletePurchaseRequisition(requisitionId);
 
                 JOptionPane.showMessageDialog(this,